@@ -0,0 +1,92 @@
+package benchmark;
+
+import game.Game;
+import game.tile.Hex;
+import game.tile.Location;
+import game.tile.Terrain;
+import game.tile.Tile;
+import game.tile.orientation.TileOrientation;
+import game.world.CoordinateSystemHelper;
+import game.world.World;
+import game.world.rules.exceptions.IllegalTilePlacementException;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+public class Boards {
+    private static final Terrain[] HABITABLE_TERRAINS = {Terrain.JUNGLE, Terrain.LAKE, Terrain.GRASSLANDS, Terrain.ROCKY};
+
+    public static World buildWorld(int numberOfTiles, long seed) {
+        World world = new World();
+        populate(world, numberOfTiles, new Random(seed));
+        return world;
+    }
+
+    public static Game buildGame(int numberOfTiles, int numberOfSettlements, long seed) {
+        Game game = new Game();
+        Random random = new Random(seed);
+        populate(game.world, numberOfTiles, random);
+
+        ArrayList<Hex> allHexes = game.world.getAllHexesInWorld();
+        int settlementsFounded = 0;
+        for (int attempt = 0; settlementsFounded < numberOfSettlements && attempt < allHexes.size() * 4; attempt++) {
+            Hex hex = allHexes.get(random.nextInt(allHexes.size()));
+            try {
+                game.theAI.foundSettlement(hex);
+                settlementsFounded++;
+            }
+            catch (Exception e) {
+                continue;
+            }
+        }
+
+        return game;
+    }
+
+    public static int[] getBounds(World world) {
+        int minX = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, minY = Integer.MAX_VALUE, maxY = Integer.MIN_VALUE;
+        for (Hex hex : world.getAllHexesInWorld()) {
+            minX = Math.min(minX, hex.getLocation().getxCoordinate());
+            maxX = Math.max(maxX, hex.getLocation().getxCoordinate());
+            minY = Math.min(minY, hex.getLocation().getyCoordinate());
+            maxY = Math.max(maxY, hex.getLocation().getyCoordinate());
+        }
+
+        return new int[] {minX - 1, maxX + 1, minY - 1, maxY + 1};
+    }
+
+    private static void populate(World world, int numberOfTiles, Random random) {
+        TileOrientation[] orientations = TileOrientation.values();
+
+        int tilesPlaced = 0;
+        while (tilesPlaced < numberOfTiles) {
+            ArrayList<Hex> allHexes = world.getAllHexesInWorld();
+            Hex anchor = allHexes.get(random.nextInt(allHexes.size()));
+            TileOrientation orientation = orientations[random.nextInt(orientations.length)];
+
+            Location locationOfVolcano;
+            if (anchor.getTerrain() == Terrain.VOLCANO && random.nextInt(3) == 0) {
+                locationOfVolcano = Location.incrementZ(anchor.getLocation());
+            }
+            else {
+                int direction = random.nextInt(CoordinateSystemHelper.NUMBER_OF_ADJACENT_HEXES);
+                int x = CoordinateSystemHelper.getAdjacentXCoordinate(anchor.getLocation().getxCoordinate(), direction);
+                int y = CoordinateSystemHelper.getAdjacentYCoordinate(anchor.getLocation().getyCoordinate(), direction);
+                locationOfVolcano = new Location(x, y, 0);
+            }
+
+            Tile tile = new Tile(HABITABLE_TERRAINS[random.nextInt(HABITABLE_TERRAINS.length)],
+                    HABITABLE_TERRAINS[random.nextInt(HABITABLE_TERRAINS.length)]);
+
+            if (world.ableToInsertTileIntoTileManager(tile, locationOfVolcano, orientation)) {
+                try {
+                    world.insertTileIntoTileManager(tile, locationOfVolcano, orientation);
+                    tilesPlaced++;
+                }
+                catch (IllegalTilePlacementException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package io;
+
+import thread.Dispatcher;
+import thread.RingBufferQueue;
+import thread.WaitStrategy;
+
+import java.net.ServerSocket;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Arguments: matches, games per match, moves per game, move time, pause in ms, or --log <client log>.
+ */
+public class ReplayHarness {
+    public static void main(String[] args) throws Exception {
+        ReplaySettings settings = new ReplaySettings();
+        if (args.length >= 2 && args[0].equals("--log")) {
+            settings.recordedLines = ReplayServer.readRecordedLines(args[1]);
+        }
+        else {
+            if (args.length >= 1) settings.numberOfMatches = Integer.parseInt(args[0]);
+            if (args.length >= 2) settings.gamesPerMatch = Integer.parseInt(args[1]);
+            if (args.length >= 3) settings.movesPerGame = Integer.parseInt(args[2]);
+            if (args.length >= 4) settings.moveTimeInSeconds = Double.parseDouble(args[3]);
+            if (args.length >= 5) settings.pauseBetweenMovesInMilliseconds = Long.parseLong(args[4]);
+        }
+
+        System.out.println(run(settings));
+    }
+
+    public static ReplayReport run(ReplaySettings settings) throws Exception {
+        ReplayServer server = new ReplayServer(new ServerSocket(0), settings);
+        server.start();
+
+        BlockingQueue<String> stringsFromServerQueue = new RingBufferQueue<>(RingBufferQueue.DEFAULT_CAPACITY, WaitStrategy.SPIN_THEN_PARK);
+        BlockingQueue<String> stringsToServerQueue = new RingBufferQueue<>(RingBufferQueue.DEFAULT_CAPACITY, WaitStrategy.SPIN_THEN_PARK);
+
+        Client client = new Client("localhost", server.getPort(), stringsFromServerQueue, stringsToServerQueue);
+        client.setDaemon(true);
+        client.start();
+
+        Dispatcher dispatcher = new Dispatcher(stringsFromServerQueue, stringsToServerQueue, client::disconnect);
+        Thread dispatcherThread = new Thread(dispatcher::run);
+        dispatcherThread.setDaemon(true);
+        dispatcherThread.start();
+
+        server.join();
+        return server.getReport();
+    }
+}
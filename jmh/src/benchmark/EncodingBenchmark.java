@@ -0,0 +1,54 @@
+package benchmark;
+
+import game.settlements.BuildAction;
+import game.tile.Location;
+import game.tile.Terrain;
+import game.tile.Tile;
+import game.tile.orientation.TileOrientation;
+import io.LegacyClientToServerParser;
+import io.ServerStringEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import thread.message.GameActionMessage;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class EncodingBenchmark {
+    @Param({"FOUNDED_SETTLEMENT", "EXPANDED_SETTLEMENT", "BUILT_TOTORO_SANCTUARY", "UNABLE_TO_BUILD"})
+    public BuildAction buildAction;
+
+    private GameActionMessage move;
+    private ServerStringEncoder encoder;
+
+    @Setup
+    public void buildMove() {
+        move = new GameActionMessage("g12", 31, "7", new Tile(Terrain.LAKE, Terrain.JUNGLE), new Location(1, -2, 1),
+                TileOrientation.EAST_NORTHEAST, buildAction, new Location(2, -2, 0), Terrain.JUNGLE);
+        encoder = new ServerStringEncoder();
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode(move);
+    }
+
+    @Benchmark
+    public String legacyEncode() {
+        return LegacyClientToServerParser.getStringFromGameActionMessage(move);
+    }
+}
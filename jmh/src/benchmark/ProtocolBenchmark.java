@@ -0,0 +1,54 @@
+package benchmark;
+
+import io.LegacyServerToClientParser;
+import io.ServerToClientParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import thread.message.Message;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ProtocolBenchmark {
+    private static final Map<String, String> SERVER_LINES = Map.of(
+            "makeYourMove", "MAKE YOUR MOVE IN GAME 3 WITHIN 1.5 SECONDS: MOVE 12 PLACE LAKE+JUNGLE",
+            "founded", "GAME 3 MOVE 12 PLAYER 7 PLACED LAKE+JUNGLE AT 1 -2 1 3 FOUNDED SETTLEMENT AT 2 -2 0",
+            "expanded", "GAME 3 MOVE 13 PLAYER 12 PLACED ROCK+GRASS AT -1 2 -1 5 EXPANDED SETTLEMENT AT 0 1 -1 GRASS",
+            "totoro", "GAME 3 MOVE 14 PLAYER 12 PLACED ROCK+GRASS AT -1 2 -1 5 BUILD TOTORO SANCTUARY AT 0 1 -1",
+            "gameOver", "GAME 3 OVER PLAYER 7 45 PLAYER 12 38");
+
+    @Param({"makeYourMove", "founded", "expanded", "totoro", "gameOver"})
+    public String message;
+
+    private String serverLine;
+
+    @Setup
+    public void pickServerLine() {
+        serverLine = SERVER_LINES.get(message);
+    }
+
+    @Benchmark
+    public Message parseServerInputAndComposeMessage() {
+        return ServerToClientParser.parseServerInputAndComposeMessage(serverLine);
+    }
+
+    @Benchmark
+    public Message legacyParseServerInputAndComposeMessage() {
+        return LegacyServerToClientParser.parseServerInputAndComposeMessage(serverLine);
+    }
+}
@@ -0,0 +1,70 @@
+package benchmark;
+
+import game.Game;
+import game.search.SearchAi;
+import game.tile.Terrain;
+import game.tile.Tile;
+import game.world.UndoJournal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import thread.message.GameActionMessage;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SearchAiBenchmark {
+    private static final int SETTLEMENTS_PER_BOARD = 6;
+    private static final long SEED = 42L;
+    private static final long NO_DEADLINE_IN_NANOSECONDS = TimeUnit.HOURS.toNanos(1);
+
+    @Param({"12", "24", "48"})
+    public int tilesOnBoard;
+
+    @Param({"1"})
+    public int searchDepth;
+
+    private Game game;
+    private UndoJournal undoJournal;
+    private Tile tile;
+    private SearchAi searchAi;
+
+    @Setup
+    public void buildBoard() {
+        game = Boards.buildGame(tilesOnBoard, SETTLEMENTS_PER_BOARD, SEED);
+        undoJournal = game.world.undoJournal;
+        tile = new Tile(Terrain.GRASSLANDS, Terrain.JUNGLE);
+    }
+
+    @Setup(Level.Invocation)
+    public void createSearchAi() {
+        searchAi = new SearchAi(game, 1);
+        searchAi.setMaximumDepth(searchDepth);
+    }
+
+    @Benchmark
+    public GameActionMessage searchMove() {
+        int mark = undoJournal.mark();
+        game.theAI.recordPiecesAndScore(undoJournal);
+        try {
+            return searchAi.searchMove("1", 1, "7", tile, System.nanoTime() + NO_DEADLINE_IN_NANOSECONDS);
+        }
+        finally {
+            undoJournal.undoTo(mark);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package benchmark;
+
+import game.Game;
+import game.settlements.Settlement;
+import game.settlements.exceptions.NoHexesToExpandToException;
+import game.settlements.exceptions.SettlementCannotBeBuiltOnVolcanoException;
+import game.tile.Terrain;
+import game.world.UndoJournal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SettlementBenchmark {
+    private static final int SETTLEMENTS_PER_BOARD = 6;
+    private static final long SEED = 42L;
+
+    private static final Terrain[] HABITABLE_TERRAINS = {Terrain.JUNGLE, Terrain.LAKE, Terrain.GRASSLANDS, Terrain.ROCKY};
+
+    @Param({"12", "24", "48"})
+    public int tilesOnBoard;
+
+    private Game game;
+    private UndoJournal undoJournal;
+    private ArrayList<Settlement> settlements;
+    private int nextExpansion;
+    private int nextMerge;
+
+    @Setup
+    public void buildBoard() {
+        game = Boards.buildGame(tilesOnBoard, SETTLEMENTS_PER_BOARD, SEED);
+        undoJournal = game.world.undoJournal;
+        settlements = new ArrayList<>(game.theAI.settlementManager.settlements);
+        nextExpansion = 0;
+        nextMerge = 0;
+    }
+
+    @Benchmark
+    public void getHexesToExpandTo(Blackhole blackhole) {
+        Settlement settlement = settlements.get(nextExpansion / HABITABLE_TERRAINS.length);
+        Terrain terrain = HABITABLE_TERRAINS[nextExpansion % HABITABLE_TERRAINS.length];
+        nextExpansion = (nextExpansion + 1) % (settlements.size() * HABITABLE_TERRAINS.length);
+
+        try {
+            blackhole.consume(settlement.getHexesToExpandTo(game.world, terrain));
+        }
+        catch (SettlementCannotBeBuiltOnVolcanoException | NoHexesToExpandToException e) {
+            blackhole.consume(e);
+        }
+    }
+
+    @Benchmark
+    public int tryToMergeAfterExpanding() {
+        Settlement settlement = settlements.get(nextMerge);
+        nextMerge = (nextMerge + 1) % settlements.size();
+
+        int mark = undoJournal.mark();
+        try {
+            game.theAI.settlementManager.tryToMergeAfterExpanding(settlement);
+            return settlement.getSettlementSize();
+        }
+        finally {
+            undoJournal.undoTo(mark);
+        }
+    }
+}
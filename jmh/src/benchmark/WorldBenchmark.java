@@ -0,0 +1,107 @@
+package benchmark;
+
+import game.tile.Location;
+import game.tile.Terrain;
+import game.tile.Tile;
+import game.tile.orientation.TileOrientation;
+import game.world.CoordinateSystemHelper;
+import game.world.TilePlacement;
+import game.world.UndoJournal;
+import game.world.World;
+import game.world.rules.exceptions.IllegalTilePlacementException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class WorldBenchmark {
+    private static final long SEED = 42L;
+
+    @Param({"12", "24", "48"})
+    public int tilesOnBoard;
+
+    private World world;
+    private UndoJournal undoJournal;
+    private Tile tile;
+    private ArrayList<Location[]> candidateLocations;
+    private ArrayList<TilePlacement> legalPlacements;
+    private int nextCandidate;
+    private int nextPlacement;
+
+    @Setup
+    public void buildBoard() {
+        world = Boards.buildWorld(tilesOnBoard, SEED);
+        undoJournal = world.undoJournal;
+        tile = new Tile(Terrain.JUNGLE, Terrain.LAKE);
+
+        int[] bounds = Boards.getBounds(world);
+        candidateLocations = new ArrayList<>();
+        for (int x = bounds[0]; x <= bounds[1]; x++) {
+            for (int y = bounds[2]; y <= bounds[3]; y++) {
+                for (TileOrientation orientation : TileOrientation.values()) {
+                    Location volcano = new Location(x, y, 0);
+                    candidateLocations.add(new Location[] {volcano,
+                            CoordinateSystemHelper.getTentativeLeftHexLocation(volcano, orientation),
+                            CoordinateSystemHelper.getTentativeRightHexLocation(volcano, orientation)});
+                }
+            }
+        }
+
+        legalPlacements = world.getLegalTilePlacements();
+        nextCandidate = 0;
+        nextPlacement = 0;
+    }
+
+    @Benchmark
+    public void ableToPlaceTileAtLocation(Blackhole blackhole) {
+        Location[] locations = candidateLocations.get(nextCandidate);
+        nextCandidate = (nextCandidate + 1) % candidateLocations.size();
+
+        try {
+            blackhole.consume(world.tileRulesManager.ableToPlaceTileAtLocation(tile, locations));
+        }
+        catch (IllegalTilePlacementException e) {
+            blackhole.consume(e);
+        }
+    }
+
+    @Benchmark
+    public boolean checkTilePlacement() {
+        Location[] locations = candidateLocations.get(nextCandidate);
+        nextCandidate = (nextCandidate + 1) % candidateLocations.size();
+
+        return world.tileRulesManager.checkTilePlacement(locations).isLegal();
+    }
+
+    @Benchmark
+    public void insertTileIntoTileManager() throws IllegalTilePlacementException {
+        TilePlacement placement = legalPlacements.get(nextPlacement);
+        nextPlacement = (nextPlacement + 1) % legalPlacements.size();
+
+        int mark = undoJournal.mark();
+        try {
+            world.insertTileIntoTileManager(new Tile(Terrain.GRASSLANDS, Terrain.ROCKY),
+                    placement.getLocationOfVolcano(), placement.getTileOrientation());
+        }
+        finally {
+            undoJournal.undoTo(mark);
+        }
+    }
+}
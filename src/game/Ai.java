@@ -10,6 +10,7 @@ import game.tile.Location;
 import game.tile.Tile;
 import game.world.World;
 import game.world.rules.exceptions.IllegalTilePlacementException;
+import metrics.MetricsRegistry;
 import thread.message.GameActionMessage;
 
 import static game.settlements.BuildAction.FOUNDED_SETTLEMENT;
@@ -25,6 +26,7 @@ public class Ai {
     }
 
     public GameActionMessage chooseMove(String gameID, int moveNumber, String playerID, Tile tileToBePlaced) throws IllegalTilePlacementException {
+        long startTime = System.nanoTime();
         Hex hexToBePlacedNextTo = world.getLeftMostHex();
         int newTileXCoordinate = hexToBePlacedNextTo.getLocation().getxCoordinate() - 1;
         int newTileYCoordinate = hexToBePlacedNextTo.getLocation().getyCoordinate();
@@ -40,6 +42,8 @@ public class Ai {
         catch (Exception e) {
 
         }
+
+        MetricsRegistry.get().moveChosen(gameID, System.nanoTime() - startTime);
         return new GameActionMessage(gameID, moveNumber, playerID, tileToBePlaced, locationOfNewTile, NORTHWEST_WEST, FOUNDED_SETTLEMENT, locationOnWhichToBuild, GRASSLANDS);
 
     }
@@ -5,7 +5,12 @@ import game.player.exceptions.*;
 import game.settlements.*;
 import game.settlements.exceptions.*;
 import game.world.*;
+import game.world.rules.exceptions.IllegalTilePlacementException;
 import game.tile.*;
+import logging.Log;
+import thread.message.GameActionMessage;
+
+import java.util.ArrayList;
 
 public class Game {
     public World world;
@@ -13,11 +18,16 @@ public class Game {
     public Player theAI;
     public Ai ai;
 
+    private ArrayList<PlayedAction> playedActions;
+    private ArrayList<Integer> undoMarks;
+
     public Game() {
         this.world = new World();
         this.opponent = new Player(this.world);
         this.theAI = new Player(this.world);
         this.ai = new Ai(this.world, theAI);
+        this.playedActions = new ArrayList<>();
+        this.undoMarks = new ArrayList<>();
     }
 
     public Tile drawTile() {
@@ -54,4 +64,129 @@ public class Game {
     public void buildShangrila(Player currentActivePlayer, Hex shangrilaHex) throws Exception {
         currentActivePlayer.foundSettlementUsingShaman(shangrilaHex);
     }
+
+    public Player getOtherPlayer(Player player) {
+        return player == theAI ? opponent : theAI;
+    }
+
+    public boolean applyAction(Player playerMakingMove, GameActionMessage action) throws IllegalTilePlacementException {
+        return applyAction(playerMakingMove, action, action.getTilePlaced());
+    }
+
+    public boolean simulateAction(Player playerMakingMove, GameActionMessage action) throws IllegalTilePlacementException {
+        Tile tilePlaced = action.getTilePlaced();
+        Tile copyOfTile = new Tile(tilePlaced.getLeftHexTerrain(), tilePlaced.getRightHexTerrain());
+
+        return applyAction(playerMakingMove, action, copyOfTile);
+    }
+
+    public boolean makeMove(Player playerMakingMove, GameActionMessage action) throws IllegalTilePlacementException {
+        UndoJournal undoJournal = world.undoJournal;
+        undoMarks.add(undoJournal.mark());
+        theAI.recordPiecesAndScore(undoJournal);
+        opponent.recordPiecesAndScore(undoJournal);
+
+        try {
+            return simulateAction(playerMakingMove, action);
+        }
+        catch (IllegalTilePlacementException e) {
+            unmakeMove();
+            throw e;
+        }
+    }
+
+    public void unmakeMove() {
+        if (undoMarks.isEmpty()) {
+            throw new IllegalStateException("There is no move to unmake");
+        }
+
+        world.undoJournal.undoTo(undoMarks.remove(undoMarks.size() - 1));
+    }
+
+    public long getPositionHash() {
+        return world.tileManager.getZobristHash() ^ theAI.getZobristHash() ^ Long.rotateLeft(opponent.getZobristHash(), 1);
+    }
+
+    public Game copy() {
+        Game copy = new Game();
+
+        for (PlayedAction playedAction : playedActions) {
+            Player playerMakingMove = playedAction.playedByTheAI ? copy.theAI : copy.opponent;
+
+            try {
+                copy.simulateAction(playerMakingMove, playedAction.action);
+            }
+            catch (IllegalTilePlacementException e) {
+                throw new IllegalStateException("Could not replay a move that was legal when it was played: " + e.getMessage());
+            }
+        }
+
+        return copy;
+    }
+
+    public int getNumberOfPlayedActions() {
+        return playedActions.size();
+    }
+
+    private boolean applyAction(Player playerMakingMove, GameActionMessage action, Tile tilePlaced) throws IllegalTilePlacementException {
+        Location locationOfVolcano = action.getLocationOfVolcano();
+        int xOfVolcano = locationOfVolcano.getxCoordinate();
+        int yOfVolcano = locationOfVolcano.getyCoordinate();
+
+        Hex hexBelowVolcano = world.findHexRegardlessOfHeight(xOfVolcano, yOfVolcano);
+        int heightOfVolcano = hexBelowVolcano == null ? 0 : hexBelowVolcano.getHeight() + 1;
+
+        world.insertTileIntoTileManager(tilePlaced, new Location(xOfVolcano, yOfVolcano, heightOfVolcano), action.getTileOrientationPlaced());
+        playedActions.add(new PlayedAction(playerMakingMove == theAI, action));
+        world.undoJournal.record(() -> playedActions.remove(playedActions.size() - 1));
+
+        return performBuildAction(playerMakingMove, action);
+    }
+
+    private boolean performBuildAction(Player playerMakingMove, GameActionMessage action) {
+        if (action.getBuildActionPerformed() == BuildAction.UNABLE_TO_BUILD) {
+            return true;
+        }
+
+        Location locationOfBuildAction = action.getLocationOfBuildAction();
+
+        try {
+            Hex hexBeingBuiltOn = world.getHexRegardlessOfHeight(locationOfBuildAction.getxCoordinate(), locationOfBuildAction.getyCoordinate());
+
+            switch (action.getBuildActionPerformed()) {
+                case FOUNDED_SETTLEMENT:
+                    foundSettlement(playerMakingMove, hexBeingBuiltOn);
+                    break;
+                case EXPANDED_SETTLEMENT:
+                    Settlement settlementBeingExpanded = playerMakingMove.settlementManager.getSettlementFromHex(hexBeingBuiltOn);
+                    expandSettlement(playerMakingMove, settlementBeingExpanded, action.getTerrainExpandedOnto());
+                    break;
+                case BUILT_TIGER_PLAYGROUND:
+                    buildTigerPlayground(playerMakingMove, hexBeingBuiltOn);
+                    break;
+                case BUILT_TOTORO_SANCTUARY:
+                    buildTotoroSanctuary(playerMakingMove, hexBeingBuiltOn);
+                    break;
+                case SHANGRILA:
+                    buildShangrila(playerMakingMove, hexBeingBuiltOn);
+                    break;
+            }
+        }
+        catch (Exception e) {
+            Log.debug(e.getMessage());
+            return false;
+        }
+
+        return true;
+    }
+
+    private static class PlayedAction {
+        private final boolean playedByTheAI;
+        private final GameActionMessage action;
+
+        private PlayedAction(boolean playedByTheAI, GameActionMessage action) {
+            this.playedByTheAI = playedByTheAI;
+            this.action = action;
+        }
+    }
 }
@@ -0,0 +1,47 @@
+package game;
+
+import game.tile.Terrain;
+import game.tile.Tile;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+
+public class TileBag {
+    public static final int NUMBER_OF_TILES = 48;
+    public static final int COPIES_OF_EACH_TILE = 3;
+
+    private static final Terrain[] TILE_TERRAINS = {Terrain.JUNGLE, Terrain.LAKE, Terrain.GRASSLANDS, Terrain.ROCKY};
+
+    private ArrayList<Tile> tiles;
+
+    public TileBag(long seed) {
+        this.tiles = new ArrayList<>(NUMBER_OF_TILES);
+
+        for (Terrain leftTerrain : TILE_TERRAINS) {
+            for (Terrain rightTerrain : TILE_TERRAINS) {
+                for (int copy = 0; copy < COPIES_OF_EACH_TILE; copy++) {
+                    tiles.add(new Tile(leftTerrain, rightTerrain));
+                }
+            }
+        }
+
+        Collections.shuffle(tiles, new Random(seed));
+    }
+
+    public Tile drawTile() {
+        if (tiles.isEmpty()) {
+            throw new IllegalStateException("The tile bag is empty");
+        }
+
+        return tiles.remove(tiles.size() - 1);
+    }
+
+    public boolean isEmpty() {
+        return tiles.isEmpty();
+    }
+
+    public int getNumberOfTilesLeft() {
+        return tiles.size();
+    }
+}
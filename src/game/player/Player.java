@@ -68,6 +68,26 @@ public class Player {
         this.tigerCount -= 1;
     }
 
+    public long getZobristHash() {
+        return settlementManager.getZobristHash() ^ ZobristKeys.pieces(score, villagerCount, totoroCount, tigerCount, shamanCount);
+    }
+
+    public void recordPiecesAndScore(UndoJournal undoJournal) {
+        int previousScore = score;
+        int previousVillagerCount = villagerCount;
+        int previousTotoroCount = totoroCount;
+        int previousTigerCount = tigerCount;
+        int previousShamanCount = shamanCount;
+
+        undoJournal.record(() -> {
+            score = previousScore;
+            villagerCount = previousVillagerCount;
+            totoroCount = previousTotoroCount;
+            tigerCount = previousTigerCount;
+            shamanCount = previousShamanCount;
+        });
+    }
+
     public Settlement foundSettlement(Hex settlementHex) throws
             NotEnoughPiecesException,
             BuildConditionsNotMetException
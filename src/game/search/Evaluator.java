@@ -0,0 +1,33 @@
+package game.search;
+
+import game.Game;
+import game.Settings;
+import game.player.Player;
+import game.settlements.Settlement;
+
+public class Evaluator {
+    private static final int SANCTUARY_SIZE_REQUIREMENT = 5;
+    private static final int SANCTUARY_PROGRESS_WEIGHT = Settings.BUILD_TOTORO_SANCTUARY_POINTS / (2 * SANCTUARY_SIZE_REQUIREMENT);
+
+    public int evaluate(Game game, Player player) {
+        Player otherPlayer = game.getOtherPlayer(player);
+
+        return evaluatePlayer(player) - evaluatePlayer(otherPlayer);
+    }
+
+    private int evaluatePlayer(Player player) {
+        int value = player.getScore();
+
+        if (player.getTotoroCount() > 0) {
+            int bestProgress = 0;
+            for (Settlement settlement : player.settlementManager.settlements) {
+                if (!settlement.hasTotoroSanctuary()) {
+                    bestProgress = Math.max(bestProgress, Math.min(settlement.getSettlementSize(), SANCTUARY_SIZE_REQUIREMENT));
+                }
+            }
+            value += bestProgress * SANCTUARY_PROGRESS_WEIGHT;
+        }
+
+        return value;
+    }
+}
@@ -0,0 +1,171 @@
+package game.search;
+
+import game.Game;
+import game.Settings;
+import game.player.Player;
+import game.settlements.BuildAction;
+import game.settlements.Settlement;
+import game.tile.*;
+import game.world.BoardLayers;
+import game.world.CoordinateSystemHelper;
+import game.world.PackedCoordinateSet;
+import game.world.TilePlacement;
+import game.world.World;
+import thread.message.GameActionMessage;
+
+import java.util.ArrayList;
+
+public class MoveGenerator {
+    private static final Terrain[] EXPANDABLE_TERRAINS = {
+            Terrain.JUNGLE, Terrain.LAKE, Terrain.GRASSLANDS, Terrain.ROCKY, Terrain.PADDY
+    };
+
+    public ArrayList<TilePlacement> getTilePlacements(Game game) {
+        return game.world.getLegalTilePlacements();
+    }
+
+    public ArrayList<GameActionMessage> getMoves(Game gameWithTilePlaced, Player player, String gameId, int moveNumber,
+                                                 String playerId, Tile tilePlaced, TilePlacement placement)
+    {
+        ArrayList<GameActionMessage> moves = new ArrayList<>();
+        World world = gameWithTilePlaced.world;
+
+        addTotoroSanctuaries(moves, world, player, gameId, moveNumber, playerId, tilePlaced, placement);
+        addTigerPlaygrounds(moves, world, player, gameId, moveNumber, playerId, tilePlaced, placement);
+        addExpansions(moves, world, player, gameId, moveNumber, playerId, tilePlaced, placement);
+        addFoundings(moves, world, player, gameId, moveNumber, playerId, tilePlaced, placement);
+
+        if (moves.isEmpty()) {
+            moves.add(createMove(gameId, moveNumber, playerId, tilePlaced, placement, BuildAction.UNABLE_TO_BUILD, null, null));
+        }
+
+        return moves;
+    }
+
+    private void addTotoroSanctuaries(ArrayList<GameActionMessage> moves, World world, Player player, String gameId, int moveNumber,
+                                      String playerId, Tile tilePlaced, TilePlacement placement)
+    {
+        if (player.getTotoroCount() == 0) {
+            return;
+        }
+
+        BoardLayers boardLayers = world.tileManager.getBoardLayers();
+        PackedCoordinateSet candidates = new PackedCoordinateSet();
+        for (Settlement settlement : player.settlementManager.settlements) {
+            if (settlement.getSettlementSize() < 5 || settlement.hasTotoroSanctuary()) {
+                continue;
+            }
+
+            for (Hex settlementHex : settlement.getHexesFromSettlement()) {
+                for (int orientation = 0; orientation < CoordinateSystemHelper.NUMBER_OF_ADJACENT_HEXES; orientation++) {
+                    long adjacentLocation = CoordinateSystemHelper.getAdjacentPackedLocation(settlementHex.getPackedLocation(), orientation);
+                    int adjacentCell = boardLayers.findCell(adjacentLocation);
+
+                    if (boardLayers.isEmptyHabitable(adjacentCell) && boardLayers.getHeight(adjacentCell) == settlementHex.getHeight()
+                            && candidates.add(adjacentLocation)) {
+                        Hex adjacentHex = boardLayers.getTopHex(adjacentCell);
+                        moves.add(createMove(gameId, moveNumber, playerId, tilePlaced, placement,
+                                BuildAction.BUILT_TOTORO_SANCTUARY, adjacentHex.getLocation(), null));
+                    }
+                }
+            }
+        }
+    }
+
+    private void addTigerPlaygrounds(ArrayList<GameActionMessage> moves, World world, Player player, String gameId, int moveNumber,
+                                     String playerId, Tile tilePlaced, TilePlacement placement)
+    {
+        if (player.getTigerCount() == 0) {
+            return;
+        }
+
+        BoardLayers boardLayers = world.tileManager.getBoardLayers();
+        PackedCoordinateSet candidates = new PackedCoordinateSet();
+        for (Settlement settlement : player.settlementManager.settlements) {
+            if (settlement.hasTigerPlayground()) {
+                continue;
+            }
+
+            for (Hex settlementHex : settlement.getHexesFromSettlement()) {
+                for (int orientation = 0; orientation < CoordinateSystemHelper.NUMBER_OF_ADJACENT_HEXES; orientation++) {
+                    long adjacentLocation = CoordinateSystemHelper.getAdjacentPackedLocation(settlementHex.getPackedLocation(), orientation);
+                    int adjacentCell = boardLayers.findCell(adjacentLocation);
+
+                    if (boardLayers.isEmptyHabitable(adjacentCell)
+                            && boardLayers.getHeight(adjacentCell) >= Settings.START_PLAYGROUND_HEX_HEIGHT_REQUIREMENT
+                            && candidates.add(adjacentLocation)) {
+                        Hex adjacentHex = boardLayers.getTopHex(adjacentCell);
+                        moves.add(createMove(gameId, moveNumber, playerId, tilePlaced, placement,
+                                BuildAction.BUILT_TIGER_PLAYGROUND, adjacentHex.getLocation(), null));
+                    }
+                }
+            }
+        }
+    }
+
+    private void addExpansions(ArrayList<GameActionMessage> moves, World world, Player player, String gameId, int moveNumber,
+                               String playerId, Tile tilePlaced, TilePlacement placement)
+    {
+        for (Settlement settlement : player.settlementManager.settlements) {
+            for (Terrain terrain : EXPANDABLE_TERRAINS) {
+                int villagersRequired = getNumberOfVillagersRequiredToExpand(world, settlement, terrain);
+
+                if (villagersRequired > 0 && villagersRequired <= player.getVillagerCount()) {
+                    Location settlementLocation = settlement.getHexesFromSettlement().get(0).getLocation();
+                    moves.add(createMove(gameId, moveNumber, playerId, tilePlaced, placement,
+                            BuildAction.EXPANDED_SETTLEMENT, settlementLocation, terrain));
+                }
+            }
+        }
+    }
+
+    private void addFoundings(ArrayList<GameActionMessage> moves, World world, Player player, String gameId, int moveNumber,
+                              String playerId, Tile tilePlaced, TilePlacement placement)
+    {
+        if (player.getVillagerCount() == 0) {
+            return;
+        }
+
+        PackedCoordinateSet candidates = new PackedCoordinateSet();
+
+        Location volcanoLocation = placement.getLocationOfVolcano();
+        addFoundingCandidate(candidates, world, volcanoLocation.getPackedLocation());
+        for (int orientation = 0; orientation < CoordinateSystemHelper.NUMBER_OF_ADJACENT_HEXES; orientation++) {
+            addFoundingCandidate(candidates, world, CoordinateSystemHelper.getAdjacentPackedLocation(volcanoLocation.getPackedLocation(), orientation));
+        }
+
+        for (Settlement settlement : player.settlementManager.settlements) {
+            for (Hex settlementHex : settlement.getHexesFromSettlement()) {
+                for (int orientation = 0; orientation < CoordinateSystemHelper.NUMBER_OF_ADJACENT_HEXES; orientation++) {
+                    addFoundingCandidate(candidates, world, CoordinateSystemHelper.getAdjacentPackedLocation(settlementHex.getPackedLocation(), orientation));
+                }
+            }
+        }
+
+        candidates.forEach(packedLocation -> {
+            Hex hex = world.findHexRegardlessOfHeight(packedLocation);
+            moves.add(createMove(gameId, moveNumber, playerId, tilePlaced, placement,
+                    BuildAction.FOUNDED_SETTLEMENT, hex.getLocation(), null));
+        });
+    }
+
+    private void addFoundingCandidate(PackedCoordinateSet candidates, World world, long packedLocation) {
+        BoardLayers boardLayers = world.tileManager.getBoardLayers();
+        int cell = boardLayers.findCell(packedLocation);
+
+        if (boardLayers.isEmptyHabitable(cell) && boardLayers.getHeight(cell) == Settings.START_SETTLEMENT_HEX_HEIGHT_REQUIREMENT) {
+            candidates.add(packedLocation);
+        }
+    }
+
+    public int getNumberOfVillagersRequiredToExpand(World world, Settlement settlement, Terrain terrain) {
+        return settlement.getExpansionIndex(world).getVillagersRequired(terrain);
+    }
+
+    private GameActionMessage createMove(String gameId, int moveNumber, String playerId, Tile tilePlaced, TilePlacement placement,
+                                         BuildAction buildAction, Location locationOfBuildAction, Terrain terrainToExpandOnto)
+    {
+        return new GameActionMessage(gameId, moveNumber, playerId, tilePlaced, placement.getLocationOfVolcano(),
+                placement.getTileOrientation(), buildAction, locationOfBuildAction, terrainToExpandOnto);
+    }
+}
@@ -0,0 +1,341 @@
+package game.search;
+
+import game.Game;
+import game.search.exceptions.SearchTimeoutException;
+import game.settlements.BuildAction;
+import game.tile.Location;
+import game.tile.Tile;
+import game.world.CoordinateSystemHelper;
+import game.world.TilePlacement;
+import game.world.rules.exceptions.IllegalTilePlacementException;
+import logging.Log;
+import metrics.MetricsRegistry;
+import profiling.MoveContext;
+import thread.message.GameActionMessage;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Iterative deepening search that always has a legal move ready before its deadline.
+ */
+public class SearchAi {
+    public static final long NANOSECONDS_PER_MILLISECOND = 1000000L;
+    public static final int MAXIMUM_SEARCH_DEPTH = 4;
+    public static final int DEFAULT_MAXIMUM_WORKERS =
+            Integer.getInteger("search.workers", Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+
+    private static final ForkJoinPool SEARCH_POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    private Game game;
+    private MoveGenerator moveGenerator;
+    private TranspositionTable transpositionTable;
+    private int maximumWorkers;
+    private int maximumDepth;
+
+    private ArrayList<SearchWorker> workers;
+    private volatile GameActionMessage bestMoveSoFar;
+    private volatile boolean cancelled;
+    private int depthCompleted;
+
+    public SearchAi(Game game) {
+        this(game, DEFAULT_MAXIMUM_WORKERS);
+    }
+
+    public SearchAi(Game game, int maximumWorkers) {
+        this.game = game;
+        this.moveGenerator = new MoveGenerator();
+        this.transpositionTable = new TranspositionTable();
+        this.maximumWorkers = Math.max(1, maximumWorkers);
+        this.maximumDepth = MAXIMUM_SEARCH_DEPTH;
+        this.workers = new ArrayList<>();
+    }
+
+    public GameActionMessage chooseMove(String gameId, int moveNumber, String playerId, Tile tileToPlace, long deadline) {
+        GameActionMessage chosenMove = searchMove(gameId, moveNumber, playerId, tileToPlace, deadline);
+        applyChosenMove(gameId, chosenMove);
+
+        return chosenMove;
+    }
+
+    public GameActionMessage searchMove(String gameId, int moveNumber, String playerId, Tile tileToPlace, long deadline) {
+        long startTime = System.nanoTime();
+        this.depthCompleted = 0;
+        this.bestMoveSoFar = null;
+        this.bestMoveSoFar = createFallbackMove(gameId, moveNumber, playerId, tileToPlace);
+
+        workers.clear();
+        SearchWorker mainWorker = new SearchWorker(game, transpositionTable, this::isCancelled, deadline);
+        workers.add(mainWorker);
+
+        try {
+            ArrayList<ScoredMove> rootMoves = searchFirstDepth(mainWorker, gameId, moveNumber, playerId, tileToPlace);
+            depthCompleted = 1;
+
+            for (int depth = 2; depth <= maximumDepth && rootMoves.size() > 1; depth++) {
+                if (!searchRootAtDepth(rootMoves, depth, deadline)) {
+                    break;
+                }
+                depthCompleted = depth;
+            }
+        }
+        catch (SearchTimeoutException e) {
+            Log.debug(e.getMessage());
+        }
+
+        MetricsRegistry.get().moveChosen(gameId, System.nanoTime() - startTime);
+        return bestMoveSoFar;
+    }
+
+    public void applyChosenMove(String gameId, GameActionMessage chosenMove) {
+        if (chosenMove == null) {
+            return;
+        }
+
+        try {
+            if (!game.applyAction(game.theAI, chosenMove)) {
+                Log.warn(String.format("Game %s: the build of our move %d could not be applied, our board may be out of sync",
+                        gameId, chosenMove.getMoveNumber()));
+            }
+        }
+        catch (IllegalTilePlacementException e) {
+            Log.error(String.format("Game %s: the chosen move could not be applied", gameId), e);
+        }
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public GameActionMessage getBestMoveSoFar() {
+        return bestMoveSoFar;
+    }
+
+    public int getDepthCompleted() {
+        return depthCompleted;
+    }
+
+    public void setMaximumDepth(int maximumDepth) {
+        this.maximumDepth = Math.max(1, Math.min(MAXIMUM_SEARCH_DEPTH, maximumDepth));
+    }
+
+    public int getMaximumWorkers() {
+        return maximumWorkers;
+    }
+
+    public int getNumberOfWorkersUsed() {
+        return workers.size();
+    }
+
+    public long getNodesSearched() {
+        long nodesSearched = 0;
+        for (SearchWorker worker : workers) {
+            nodesSearched += worker.getNodesSearched();
+        }
+        return nodesSearched;
+    }
+
+    public long getTranspositionHits() {
+        long transpositionHits = 0;
+        for (SearchWorker worker : workers) {
+            transpositionHits += worker.getTranspositionHits();
+        }
+        return transpositionHits;
+    }
+
+    private ArrayList<ScoredMove> searchFirstDepth(SearchWorker mainWorker, String gameId, int moveNumber, String playerId,
+                                                   Tile tileToPlace) throws SearchTimeoutException
+    {
+        ArrayList<ScoredMove> rootMoves = new ArrayList<>();
+        int bestScore = -SearchWorker.INFINITY;
+
+        for (TilePlacement placement : moveGenerator.getTilePlacements(game)) {
+            for (GameActionMessage move : mainWorker.generateMoves(game.theAI, gameId, moveNumber, playerId, tileToPlace, placement)) {
+                int score = mainWorker.evaluateRootMove(move);
+                if (score == -SearchWorker.INFINITY) {
+                    continue;
+                }
+
+                rootMoves.add(new ScoredMove(move, score, 1));
+
+                if (score > bestScore) {
+                    bestScore = score;
+                    bestMoveSoFar = move;
+                }
+            }
+        }
+
+        return rootMoves;
+    }
+
+    private boolean searchRootAtDepth(ArrayList<ScoredMove> rootMoves, int depth, long deadline) {
+        rootMoves.sort((first, second) -> Integer.compare(second.score, first.score));
+
+        int numberOfWorkers = Math.min(maximumWorkers, rootMoves.size());
+        while (workers.size() < numberOfWorkers) {
+            workers.add(new SearchWorker(game.copy(), transpositionTable, this::isCancelled, deadline));
+        }
+
+        AtomicInteger nextRootMove = new AtomicInteger(0);
+        AtomicInteger alpha = new AtomicInteger(-SearchWorker.INFINITY);
+        String gameId = MoveContext.getGameId();
+        int moveNumber = MoveContext.getMoveNumber();
+        ArrayList<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int i = 0; i < numberOfWorkers; i++) {
+            SearchWorker worker = workers.get(i);
+            tasks.add(() -> {
+                String previousGameId = MoveContext.getGameId();
+                int previousMoveNumber = MoveContext.getMoveNumber();
+
+                MoveContext.enter(gameId, moveNumber);
+                try {
+                    return searchRootMoves(worker, rootMoves, depth, nextRootMove, alpha);
+                }
+                finally {
+                    MoveContext.enter(previousGameId, previousMoveNumber);
+                }
+            });
+        }
+
+        boolean allRootMovesSearched = true;
+        try {
+            for (Future<Boolean> result : SEARCH_POOL.invokeAll(tasks)) {
+                allRootMovesSearched &= result.get();
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            allRootMovesSearched = false;
+        }
+        catch (ExecutionException e) {
+            throw new IllegalStateException("A search worker failed: " + e.getCause().getMessage(), e.getCause());
+        }
+
+        ScoredMove bestRootMove = null;
+        for (ScoredMove rootMove : rootMoves) {
+            if (rootMove.depthSearched == depth && (bestRootMove == null || rootMove.score > bestRootMove.score)) {
+                bestRootMove = rootMove;
+            }
+        }
+
+        boolean previousBestMoveWasSearched = rootMoves.get(0).depthSearched == depth;
+        if (bestRootMove != null && (allRootMovesSearched || previousBestMoveWasSearched)) {
+            bestMoveSoFar = bestRootMove.move;
+        }
+
+        return allRootMovesSearched;
+    }
+
+    private boolean searchRootMoves(SearchWorker worker, ArrayList<ScoredMove> rootMoves, int depth,
+                                    AtomicInteger nextRootMove, AtomicInteger alpha)
+    {
+        try {
+            for (int i = nextRootMove.getAndIncrement(); i < rootMoves.size(); i = nextRootMove.getAndIncrement()) {
+                ScoredMove rootMove = rootMoves.get(i);
+                int score = worker.searchRootMove(rootMove.move, depth, alpha.get());
+
+                rootMove.score = score;
+                rootMove.depthSearched = depth;
+                alpha.accumulateAndGet(score, Math::max);
+            }
+        }
+        catch (SearchTimeoutException e) {
+            Log.debug(e.getMessage());
+            return false;
+        }
+
+        return true;
+    }
+
+    public GameActionMessage createFallbackMove(String gameId, int moveNumber, String playerId, Tile tileToPlace) {
+        ArrayList<TilePlacement> placements = moveGenerator.getTilePlacements(game);
+        if (placements.isEmpty()) {
+            return null;
+        }
+
+        for (TilePlacement placement : placements) {
+            Location locationOfVolcano = placement.getLocationOfVolcano();
+
+            if (locationOfVolcano.getHeight() == 0 && game.theAI.getVillagerCount() > 0) {
+                Location locationOfLeftHex = CoordinateSystemHelper.getTentativeLeftHexLocation(locationOfVolcano, placement.getTileOrientation());
+                GameActionMessage founding = new GameActionMessage(gameId, moveNumber, playerId, tileToPlace, locationOfVolcano,
+                        placement.getTileOrientation(), BuildAction.FOUNDED_SETTLEMENT, locationOfLeftHex, null);
+
+                if (isLegal(founding)) {
+                    return founding;
+                }
+            }
+        }
+
+        for (TilePlacement placement : placements) {
+            GameActionMessage build = findLegalBuild(gameId, moveNumber, playerId, tileToPlace, placement);
+            if (build != null) {
+                return build;
+            }
+        }
+
+        TilePlacement placement = placements.get(0);
+        return new GameActionMessage(gameId, moveNumber, playerId, tileToPlace, placement.getLocationOfVolcano(),
+                placement.getTileOrientation(), BuildAction.UNABLE_TO_BUILD, null, null);
+    }
+
+    private GameActionMessage findLegalBuild(String gameId, int moveNumber, String playerId, Tile tileToPlace, TilePlacement placement) {
+        GameActionMessage tileOnly = new GameActionMessage(gameId, moveNumber, playerId, tileToPlace, placement.getLocationOfVolcano(),
+                placement.getTileOrientation(), BuildAction.UNABLE_TO_BUILD, null, null);
+        ArrayList<GameActionMessage> builds;
+
+        try {
+            game.makeMove(game.theAI, tileOnly);
+        }
+        catch (IllegalTilePlacementException e) {
+            return null;
+        }
+
+        try {
+            builds = moveGenerator.getMoves(game, game.theAI, gameId, moveNumber, playerId, tileToPlace, placement);
+        }
+        finally {
+            game.unmakeMove();
+        }
+
+        for (GameActionMessage build : builds) {
+            if (build.getBuildActionPerformed() != BuildAction.UNABLE_TO_BUILD && isLegal(build)) {
+                return build;
+            }
+        }
+
+        return null;
+    }
+
+    private boolean isLegal(GameActionMessage move) {
+        try {
+            boolean buildSucceeded = game.makeMove(game.theAI, move);
+            game.unmakeMove();
+
+            return buildSucceeded;
+        }
+        catch (IllegalTilePlacementException e) {
+            return false;
+        }
+    }
+
+    private static class ScoredMove {
+        private final GameActionMessage move;
+        private int score;
+        private int depthSearched;
+
+        private ScoredMove(GameActionMessage move, int score, int depthSearched) {
+            this.move = move;
+            this.score = score;
+            this.depthSearched = depthSearched;
+        }
+    }
+}
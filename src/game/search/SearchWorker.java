@@ -0,0 +1,265 @@
+package game.search;
+
+import game.Game;
+import game.player.Player;
+import game.search.exceptions.SearchTimeoutException;
+import game.settlements.BuildAction;
+import game.tile.Tile;
+import game.world.TilePlacement;
+import game.world.ZobristKeys;
+import game.world.rules.exceptions.IllegalTilePlacementException;
+import logging.Log;
+import thread.message.GameActionMessage;
+
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.function.BooleanSupplier;
+
+class SearchWorker {
+    static final int INFINITY = Integer.MAX_VALUE / 2;
+
+    private static final int NODE_TIME_SAFETY_FACTOR = 2;
+
+    private Game game;
+    private MoveGenerator moveGenerator;
+    private Evaluator evaluator;
+    private TranspositionTable transpositionTable;
+    private BooleanSupplier cancelled;
+
+    private long deadline;
+    private long longestNodeTime;
+    private long nodesSearched;
+    private long transpositionHits;
+
+    SearchWorker(Game game, TranspositionTable transpositionTable, BooleanSupplier cancelled, long deadline) {
+        this.game = game;
+        this.moveGenerator = new MoveGenerator();
+        this.evaluator = new Evaluator();
+        this.transpositionTable = transpositionTable;
+        this.cancelled = cancelled;
+        this.deadline = deadline;
+        this.longestNodeTime = 0;
+        this.nodesSearched = 0;
+        this.transpositionHits = 0;
+    }
+
+    long getNodesSearched() {
+        return nodesSearched;
+    }
+
+    long getTranspositionHits() {
+        return transpositionHits;
+    }
+
+    int evaluateRootMove(GameActionMessage rootMove) throws SearchTimeoutException {
+        if (!makeMove(game.theAI, rootMove)) {
+            return -INFINITY;
+        }
+
+        try {
+            return evaluator.evaluate(game, game.theAI);
+        }
+        finally {
+            game.unmakeMove();
+        }
+    }
+
+    int searchRootMove(GameActionMessage rootMove, int depth, int alpha) throws SearchTimeoutException {
+        if (!makeMove(game.theAI, rootMove)) {
+            return -INFINITY;
+        }
+
+        try {
+            return -negamax(false, depth - 1, -INFINITY, -alpha);
+        }
+        finally {
+            game.unmakeMove();
+        }
+    }
+
+    private int negamax(boolean theAIToMove, int depth, int alpha, int beta) throws SearchTimeoutException {
+        Player playerToMove = theAIToMove ? game.theAI : game.opponent;
+        Tile tileToPlace = depth == 0 ? null : game.drawTile();
+        long positionKey = getPositionKey(theAIToMove, tileToPlace);
+
+        TranspositionTable.Entry entry = transpositionTable.probe(positionKey);
+        GameActionMessage hashMove = null;
+        if (entry != null) {
+            transpositionHits++;
+
+            if (entry.getDepth() >= depth) {
+                switch (entry.getBound()) {
+                    case EXACT:
+                        return entry.getScore();
+                    case LOWER:
+                        alpha = Math.max(alpha, entry.getScore());
+                        break;
+                    case UPPER:
+                        beta = Math.min(beta, entry.getScore());
+                        break;
+                }
+
+                if (alpha >= beta) {
+                    return entry.getScore();
+                }
+            }
+
+            hashMove = entry.getBestMove();
+        }
+
+        if (depth == 0) {
+            int score = evaluator.evaluate(game, playerToMove);
+            transpositionTable.store(positionKey, 0, score, TranspositionTable.Bound.EXACT, null);
+            return score;
+        }
+
+        int originalAlpha = alpha;
+        int bestScore = -INFINITY;
+        GameActionMessage bestMove = null;
+
+        if (hashMove != null && makeMove(playerToMove, hashMove)) {
+            try {
+                bestScore = -negamax(!theAIToMove, depth - 1, -beta, -alpha);
+            }
+            finally {
+                game.unmakeMove();
+            }
+
+            bestMove = hashMove;
+            alpha = Math.max(alpha, bestScore);
+        }
+
+        searchMoves:
+        for (TilePlacement placement : moveGenerator.getTilePlacements(game)) {
+            if (alpha >= beta) {
+                break;
+            }
+
+            for (GameActionMessage move : generateMoves(playerToMove, null, 0, null, tileToPlace, placement)) {
+                if (isSameMove(move, hashMove) || !makeMove(playerToMove, move)) {
+                    continue;
+                }
+
+                int score;
+                try {
+                    score = -negamax(!theAIToMove, depth - 1, -beta, -alpha);
+                }
+                finally {
+                    game.unmakeMove();
+                }
+
+                if (score > bestScore) {
+                    bestScore = score;
+                    bestMove = move;
+                }
+                alpha = Math.max(alpha, score);
+
+                if (alpha >= beta) {
+                    break searchMoves;
+                }
+            }
+        }
+
+        if (bestScore == -INFINITY) {
+            return evaluator.evaluate(game, playerToMove);
+        }
+
+        TranspositionTable.Bound bound = TranspositionTable.Bound.EXACT;
+        if (bestScore <= originalAlpha) {
+            bound = TranspositionTable.Bound.UPPER;
+        }
+        else if (bestScore >= beta) {
+            bound = TranspositionTable.Bound.LOWER;
+        }
+        transpositionTable.store(positionKey, depth, bestScore, bound, bestMove);
+
+        return bestScore;
+    }
+
+    private long getPositionKey(boolean theAIToMove, Tile tileToPlace) {
+        long positionKey = game.getPositionHash();
+
+        if (!theAIToMove) {
+            positionKey ^= ZobristKeys.OPPONENT_TO_MOVE;
+        }
+        if (tileToPlace != null) {
+            positionKey ^= ZobristKeys.tile(tileToPlace.getLeftHexTerrain(), tileToPlace.getRightHexTerrain());
+        }
+
+        return positionKey;
+    }
+
+    private boolean isSameMove(GameActionMessage move, GameActionMessage otherMove) {
+        return otherMove != null
+                && move.getLocationOfVolcano().equals(otherMove.getLocationOfVolcano())
+                && move.getTileOrientationPlaced() == otherMove.getTileOrientationPlaced()
+                && move.getBuildActionPerformed() == otherMove.getBuildActionPerformed()
+                && Objects.equals(move.getLocationOfBuildAction(), otherMove.getLocationOfBuildAction())
+                && move.getTerrainExpandedOnto() == otherMove.getTerrainExpandedOnto();
+    }
+
+    ArrayList<GameActionMessage> generateMoves(Player playerToMove, String gameId, int moveNumber, String playerId,
+                                                       Tile tileToPlace, TilePlacement placement) throws SearchTimeoutException
+    {
+        long nodeStartTime = startNode();
+
+        GameActionMessage tileOnly = new GameActionMessage(gameId, moveNumber, playerId, tileToPlace, placement.getLocationOfVolcano(),
+                placement.getTileOrientation(), BuildAction.UNABLE_TO_BUILD, null, null);
+        ArrayList<GameActionMessage> moves = new ArrayList<>();
+
+        try {
+            game.makeMove(playerToMove, tileOnly);
+            try {
+                moves = moveGenerator.getMoves(game, playerToMove, gameId, moveNumber, playerId, tileToPlace, placement);
+            }
+            finally {
+                game.unmakeMove();
+            }
+        }
+        catch (IllegalTilePlacementException e) {
+            Log.debug(e.getMessage());
+        }
+
+        finishNode(nodeStartTime);
+        return moves;
+    }
+
+    private boolean makeMove(Player playerMakingMove, GameActionMessage move) throws SearchTimeoutException {
+        long nodeStartTime = startNode();
+
+        boolean buildSucceeded;
+        try {
+            buildSucceeded = game.makeMove(playerMakingMove, move);
+            if (!buildSucceeded) {
+                game.unmakeMove();
+            }
+        }
+        catch (IllegalTilePlacementException e) {
+            buildSucceeded = false;
+        }
+
+        finishNode(nodeStartTime);
+        return buildSucceeded;
+    }
+
+    private long startNode() throws SearchTimeoutException {
+        long now = System.nanoTime();
+
+        if (now + longestNodeTime * NODE_TIME_SAFETY_FACTOR >= deadline) {
+            String errorMessage = String.format("Search stopped after %d nodes to meet the deadline.", nodesSearched);
+            throw new SearchTimeoutException(errorMessage);
+        }
+
+        if (cancelled.getAsBoolean()) {
+            String errorMessage = String.format("Search stopped after %d nodes because the game was cancelled.", nodesSearched);
+            throw new SearchTimeoutException(errorMessage);
+        }
+
+        return now;
+    }
+
+    private void finishNode(long nodeStartTime) {
+        longestNodeTime = Math.max(longestNodeTime, System.nanoTime() - nodeStartTime);
+        nodesSearched++;
+    }
+}
@@ -0,0 +1,92 @@
+package game.search;
+
+import thread.message.GameActionMessage;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free: each slot is one atomic reference to an immutable entry.
+ */
+public class TranspositionTable {
+    public static final int DEFAULT_NUMBER_OF_ENTRIES = 1 << 16;
+
+    public enum Bound {
+        EXACT,
+        LOWER,
+        UPPER
+    }
+
+    private final AtomicReferenceArray<Entry> entries;
+    private final int mask;
+
+    public TranspositionTable() {
+        this(DEFAULT_NUMBER_OF_ENTRIES);
+    }
+
+    public TranspositionTable(int numberOfEntries) {
+        int capacity = Integer.highestOneBit(Math.max(1, numberOfEntries - 1)) << 1;
+        this.entries = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    public Entry probe(long key) {
+        Entry entry = entries.get(indexOf(key));
+
+        if (entry == null || entry.key != key) {
+            return null;
+        }
+
+        return entry;
+    }
+
+    public void store(long key, int depth, int score, Bound bound, GameActionMessage bestMove) {
+        int index = indexOf(key);
+        Entry existing = entries.get(index);
+
+        if (existing != null && existing.key == key && existing.depth > depth) {
+            return;
+        }
+
+        entries.set(index, new Entry(key, depth, score, bound, bestMove));
+    }
+
+    public int capacity() {
+        return entries.length();
+    }
+
+    private int indexOf(long key) {
+        return (int) (key ^ (key >>> 32)) & mask;
+    }
+
+    public static class Entry {
+        private final long key;
+        private final int depth;
+        private final int score;
+        private final Bound bound;
+        private final GameActionMessage bestMove;
+
+        private Entry(long key, int depth, int score, Bound bound, GameActionMessage bestMove) {
+            this.key = key;
+            this.depth = depth;
+            this.score = score;
+            this.bound = bound;
+            this.bestMove = bestMove;
+        }
+
+        public int getDepth() {
+            return depth;
+        }
+
+        public int getScore() {
+            return score;
+        }
+
+        public Bound getBound() {
+            return bound;
+        }
+
+        public GameActionMessage getBestMove() {
+            return bestMove;
+        }
+    }
+}
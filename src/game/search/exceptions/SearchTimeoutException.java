@@ -0,0 +1,7 @@
+package game.search.exceptions;
+
+public class SearchTimeoutException extends Exception {
+    public SearchTimeoutException(String errorMessage) {
+        super(errorMessage);
+    }
+}
@@ -0,0 +1,137 @@
+package game.selfplay;
+
+import game.Game;
+import game.TileBag;
+import game.player.Player;
+import game.search.SearchAi;
+import game.settlements.BuildAction;
+import game.tile.Tile;
+import game.world.rules.exceptions.IllegalTilePlacementException;
+import thread.message.GameActionMessage;
+
+import java.util.Arrays;
+
+public class SelfPlayGame {
+    private static final String FIRST_PLAYER_ID = "1";
+    private static final String SECOND_PLAYER_ID = "2";
+
+    private String gameId;
+    private TileBag tileBag;
+    private long moveTimeInNanoseconds;
+    private boolean firstAiMovesFirst;
+
+    private Game referee;
+    private Side first;
+    private Side second;
+
+    public SelfPlayGame(String gameId, long seed, SelfPlaySettings settings, boolean firstAiMovesFirst) {
+        this.gameId = gameId;
+        this.tileBag = new TileBag(seed);
+        this.moveTimeInNanoseconds = settings.moveTimeInMilliseconds * SearchAi.NANOSECONDS_PER_MILLISECOND;
+        this.firstAiMovesFirst = firstAiMovesFirst;
+
+        this.referee = new Game();
+        this.first = new Side(FIRST_PLAYER_ID, settings.firstSearchDepth, referee.theAI);
+        this.second = new Side(SECOND_PLAYER_ID, settings.secondSearchDepth, referee.opponent);
+    }
+
+    public SelfPlayResult play() {
+        Side current = firstAiMovesFirst ? first : second;
+        int moveNumber = 1;
+
+        while (!tileBag.isEmpty()) {
+            Side other = current == first ? second : first;
+            Tile tileToPlace = tileBag.drawTile();
+
+            long start = System.nanoTime();
+            GameActionMessage move = current.searchAi.chooseMove(gameId, moveNumber, current.playerId, tileToPlace, start + moveTimeInNanoseconds);
+            current.recordMoveTime(System.nanoTime() - start);
+
+            if (!isAcceptedByReferee(current, move)) {
+                return finish(other, SelfPlayResult.Reason.ILLEGAL_MOVE, moveNumber);
+            }
+
+            if (move.getBuildActionPerformed() == BuildAction.UNABLE_TO_BUILD) {
+                return finish(other, SelfPlayResult.Reason.UNABLE_TO_BUILD, moveNumber);
+            }
+
+            showMoveToOpponent(other, move);
+
+            if (hasPlacedTwoTypesOfPieces(current.refereePlayer)) {
+                return finish(current, SelfPlayResult.Reason.PIECES_PLACED, moveNumber);
+            }
+
+            current = other;
+            moveNumber++;
+        }
+
+        int firstScore = first.refereePlayer.getScore();
+        int secondScore = second.refereePlayer.getScore();
+        Side winner = firstScore == secondScore ? null : firstScore > secondScore ? first : second;
+
+        return finish(winner, SelfPlayResult.Reason.SCORE, moveNumber - 1);
+    }
+
+    private boolean isAcceptedByReferee(Side side, GameActionMessage move) {
+        try {
+            return referee.simulateAction(side.refereePlayer, move);
+        }
+        catch (IllegalTilePlacementException e) {
+            return false;
+        }
+    }
+
+    private void showMoveToOpponent(Side opponent, GameActionMessage move) {
+        try {
+            opponent.view.simulateAction(opponent.view.opponent, move);
+        }
+        catch (IllegalTilePlacementException e) {
+            String errorMessage = String.format("Game %s: a move the referee accepted was rejected by the opponent's view", gameId);
+            throw new IllegalStateException(errorMessage, e);
+        }
+    }
+
+    private static boolean hasPlacedTwoTypesOfPieces(Player player) {
+        int typesPlaced = 0;
+        typesPlaced += player.getVillagerCount() == 0 ? 1 : 0;
+        typesPlaced += player.getTotoroCount() == 0 ? 1 : 0;
+        typesPlaced += player.getTigerCount() == 0 ? 1 : 0;
+
+        return typesPlaced >= 2;
+    }
+
+    private SelfPlayResult finish(Side winner, SelfPlayResult.Reason reason, int numberOfMoves) {
+        SelfPlayResult.Outcome outcome = winner == null ? SelfPlayResult.Outcome.DRAW
+                : winner == first ? SelfPlayResult.Outcome.FIRST_AI_WON : SelfPlayResult.Outcome.SECOND_AI_WON;
+
+        return new SelfPlayResult(outcome, reason, first.refereePlayer.getScore(), second.refereePlayer.getScore(),
+                numberOfMoves, first.getMoveTimes(), second.getMoveTimes());
+    }
+
+    private static class Side {
+        private String playerId;
+        private Game view;
+        private SearchAi searchAi;
+        private Player refereePlayer;
+        private long[] moveTimes;
+        private int numberOfMoves;
+
+        private Side(String playerId, int searchDepth, Player refereePlayer) {
+            this.playerId = playerId;
+            this.view = new Game();
+            this.searchAi = new SearchAi(view, 1);
+            this.searchAi.setMaximumDepth(searchDepth);
+            this.refereePlayer = refereePlayer;
+            this.moveTimes = new long[TileBag.NUMBER_OF_TILES];
+            this.numberOfMoves = 0;
+        }
+
+        private void recordMoveTime(long moveTime) {
+            moveTimes[numberOfMoves++] = moveTime;
+        }
+
+        private long[] getMoveTimes() {
+            return Arrays.copyOf(moveTimes, numberOfMoves);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package game.selfplay;
+
+public class SelfPlayResult {
+    public enum Outcome {
+        FIRST_AI_WON,
+        SECOND_AI_WON,
+        DRAW
+    }
+
+    public enum Reason {
+        SCORE,
+        PIECES_PLACED,
+        UNABLE_TO_BUILD,
+        ILLEGAL_MOVE
+    }
+
+    private Outcome outcome;
+    private Reason reason;
+    private int firstScore;
+    private int secondScore;
+    private int numberOfMoves;
+    private long[] firstMoveTimes;
+    private long[] secondMoveTimes;
+
+    public SelfPlayResult(Outcome outcome, Reason reason, int firstScore, int secondScore, int numberOfMoves,
+                          long[] firstMoveTimes, long[] secondMoveTimes) {
+        this.outcome = outcome;
+        this.reason = reason;
+        this.firstScore = firstScore;
+        this.secondScore = secondScore;
+        this.numberOfMoves = numberOfMoves;
+        this.firstMoveTimes = firstMoveTimes;
+        this.secondMoveTimes = secondMoveTimes;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    public int getFirstScore() {
+        return firstScore;
+    }
+
+    public int getSecondScore() {
+        return secondScore;
+    }
+
+    public int getNumberOfMoves() {
+        return numberOfMoves;
+    }
+
+    public long[] getFirstMoveTimes() {
+        return firstMoveTimes;
+    }
+
+    public long[] getSecondMoveTimes() {
+        return secondMoveTimes;
+    }
+}
@@ -0,0 +1,10 @@
+package game.selfplay;
+
+public class SelfPlaySettings {
+    public int numberOfGames = 100;
+    public int firstSearchDepth = 1;
+    public int secondSearchDepth = 1;
+    public long moveTimeInMilliseconds = 10000;
+    public int numberOfThreads = Runtime.getRuntime().availableProcessors();
+    public long seed = 42L;
+}
@@ -0,0 +1,135 @@
+package game.selfplay;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class SelfPlayTournament {
+    private SelfPlaySettings settings;
+    private ArrayList<SelfPlayResult> results;
+    private long elapsedNanoseconds;
+
+    public SelfPlayTournament(SelfPlaySettings settings) {
+        this.settings = settings;
+        this.results = new ArrayList<>();
+    }
+
+    public static void main(String[] args) throws Exception {
+        SelfPlaySettings settings = new SelfPlaySettings();
+        if (args.length >= 1) settings.numberOfGames = Integer.parseInt(args[0]);
+        if (args.length >= 2) settings.firstSearchDepth = Integer.parseInt(args[1]);
+        if (args.length >= 3) settings.secondSearchDepth = Integer.parseInt(args[2]);
+        if (args.length >= 4) settings.seed = Long.parseLong(args[3]);
+
+        SelfPlayTournament tournament = new SelfPlayTournament(settings);
+        tournament.run();
+
+        System.out.println(tournament);
+    }
+
+    public void run() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, settings.numberOfThreads));
+        long start = System.nanoTime();
+
+        try {
+            ArrayList<Callable<SelfPlayResult>> games = new ArrayList<>();
+            for (int i = 0; i < settings.numberOfGames; i++) {
+                SelfPlayGame game = new SelfPlayGame("selfplay-" + i, settings.seed + i, settings, i % 2 == 0);
+                games.add(game::play);
+            }
+
+            for (Future<SelfPlayResult> result : pool.invokeAll(games)) {
+                results.add(result.get());
+            }
+        }
+        catch (ExecutionException e) {
+            throw new IllegalStateException("A self-play game failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        finally {
+            pool.shutdownNow();
+        }
+
+        elapsedNanoseconds = System.nanoTime() - start;
+    }
+
+    public ArrayList<SelfPlayResult> getResults() {
+        return results;
+    }
+
+    public int count(SelfPlayResult.Outcome outcome) {
+        int count = 0;
+        for (SelfPlayResult result : results) {
+            if (result.getOutcome() == outcome) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int count(SelfPlayResult.Reason reason) {
+        int count = 0;
+        for (SelfPlayResult result : results) {
+            if (result.getReason() == reason) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        int games = results.size();
+        StringBuilder report = new StringBuilder();
+
+        report.append(String.format("%d games (depth %d vs depth %d) in %.1f s%n",
+                games, settings.firstSearchDepth, settings.secondSearchDepth, elapsedNanoseconds / 1e9));
+        report.append(String.format("first AI wins %d (%.1f%%), second AI wins %d (%.1f%%), draws %d%n",
+                count(SelfPlayResult.Outcome.FIRST_AI_WON), percentage(count(SelfPlayResult.Outcome.FIRST_AI_WON), games),
+                count(SelfPlayResult.Outcome.SECOND_AI_WON), percentage(count(SelfPlayResult.Outcome.SECOND_AI_WON), games),
+                count(SelfPlayResult.Outcome.DRAW)));
+        report.append(String.format("ended by score %d, pieces placed %d, unable to build %d, illegal move %d%n",
+                count(SelfPlayResult.Reason.SCORE), count(SelfPlayResult.Reason.PIECES_PLACED),
+                count(SelfPlayResult.Reason.UNABLE_TO_BUILD), count(SelfPlayResult.Reason.ILLEGAL_MOVE)));
+        report.append(describeMoveTimes("first AI", true)).append(String.format("%n"));
+        report.append(describeMoveTimes("second AI", false));
+
+        return report.toString();
+    }
+
+    private String describeMoveTimes(String name, boolean firstAi) {
+        int numberOfMoves = 0;
+        for (SelfPlayResult result : results) {
+            numberOfMoves += (firstAi ? result.getFirstMoveTimes() : result.getSecondMoveTimes()).length;
+        }
+
+        long[] moveTimes = new long[numberOfMoves];
+        int index = 0;
+        for (SelfPlayResult result : results) {
+            for (long moveTime : firstAi ? result.getFirstMoveTimes() : result.getSecondMoveTimes()) {
+                moveTimes[index++] = moveTime;
+            }
+        }
+        Arrays.sort(moveTimes);
+
+        return String.format("%s move time ms: p50 %.2f  p90 %.2f  p99 %.2f  max %.2f over %d moves", name,
+                percentile(moveTimes, 50) / 1e6, percentile(moveTimes, 90) / 1e6,
+                percentile(moveTimes, 99) / 1e6, percentile(moveTimes, 100) / 1e6, numberOfMoves);
+    }
+
+    private static long percentile(long[] sortedValues, double percentile) {
+        if (sortedValues.length == 0) {
+            return 0;
+        }
+
+        int index = (int) Math.ceil(percentile / 100 * sortedValues.length) - 1;
+        return sortedValues[Math.max(0, Math.min(sortedValues.length - 1, index))];
+    }
+
+    private static double percentage(int count, int total) {
+        return total == 0 ? 0 : 100.0 * count / total;
+    }
+}
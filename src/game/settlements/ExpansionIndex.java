@@ -0,0 +1,59 @@
+package game.settlements;
+
+import game.tile.Hex;
+import game.tile.Terrain;
+import game.world.BoardLayers;
+
+import java.util.ArrayList;
+
+public class ExpansionIndex {
+    private static final Terrain[] TERRAINS = Terrain.values();
+
+    private BoardLayers boardLayers;
+    private long boardVersion;
+    private int settlementSize;
+
+    private ArrayList<ArrayList<Hex>> hexesByTerrain;
+    private int[] villagersRequiredByTerrain;
+    private int[] scoreByTerrain;
+
+    ExpansionIndex(BoardLayers boardLayers, ArrayList<Hex> settlementHexes) {
+        this.boardLayers = boardLayers;
+        this.boardVersion = boardLayers.getVersion();
+        this.settlementSize = settlementHexes.size();
+
+        this.hexesByTerrain = new ArrayList<>(TERRAINS.length);
+        for (int i = 0; i < TERRAINS.length; i++) {
+            hexesByTerrain.add(new ArrayList<>());
+        }
+        this.villagersRequiredByTerrain = new int[TERRAINS.length];
+        this.scoreByTerrain = new int[TERRAINS.length];
+
+        for (int cell : boardLayers.findExpansionCells(settlementHexes)) {
+            int terrain = boardLayers.getTerrain(cell).ordinal();
+            int villagers = boardLayers.getHeight(cell) + 1;
+
+            hexesByTerrain.get(terrain).add(boardLayers.getTopHex(cell));
+            villagersRequiredByTerrain[terrain] += villagers;
+            scoreByTerrain[terrain] += villagers * villagers;
+        }
+    }
+
+    boolean isCurrent(BoardLayers boardLayers, int settlementSize) {
+        return this.boardLayers == boardLayers
+                && this.boardVersion == boardLayers.getVersion()
+                && this.settlementSize == settlementSize;
+    }
+
+    public ArrayList<Hex> getHexes(Terrain terrain) {
+        return hexesByTerrain.get(terrain.ordinal());
+    }
+
+    public int getVillagersRequired(Terrain terrain) {
+        return villagersRequiredByTerrain[terrain.ordinal()];
+    }
+
+    public int getScore(Terrain terrain) {
+        return scoreByTerrain[terrain.ordinal()];
+    }
+}
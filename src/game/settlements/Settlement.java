@@ -2,37 +2,138 @@ package game.settlements;
 
 import game.settlements.exceptions.*;
 import game.world.*;
-import game.world.rules.exceptions.NoHexAtLocationException;
 import game.tile.*;
+import logging.Log;
 
 import java.util.*;
 
+/**
+ * Merged settlements form a disjoint-set forest; accessors resolve to the representative.
+ */
 public class Settlement {
+    private Settlement parent;
+    private SettlementManager settlementManager;
+
     private ArrayList<Hex> settlementHexes;
     private boolean hasTotoro = false;
     private boolean hasTiger = false;
     private boolean hasShaman = false;
-    private LinkedList<Hex> expansionQueue;
+    private ExpansionIndex expansionIndex;
     private Location totoroLocation = null;
     private Location tigerLocation = null;
     private Location shamanLocation = null;
 
     public Settlement(Hex foundingHex) throws SettlementAlreadyExistsOnHexException {
+        parent = this;
         settlementHexes = new ArrayList<Hex>();
-        expansionQueue = new LinkedList<Hex>();
         this.addHexToSettlement(foundingHex);
     }
 
+    private Settlement() {
+        parent = this;
+        settlementHexes = new ArrayList<Hex>();
+    }
+
+    public Settlement getRepresentative() {
+        Settlement root = this;
+        while (root.parent != root) {
+            root = root.parent;
+        }
+
+        if (root.isRecordingUndo()) {
+            return root;
+        }
+
+        Settlement node = this;
+        while (node.parent != root) {
+            Settlement next = node.parent;
+            node.parent = root;
+            node = next;
+        }
+
+        return root;
+    }
+
+    public boolean isRepresentative() {
+        return parent == this;
+    }
+
+    static Settlement union(Settlement preferredSettlement, Settlement otherSettlement) {
+        Settlement absorbing = preferredSettlement.getRepresentative();
+        Settlement absorbed = otherSettlement.getRepresentative();
+
+        if (absorbing == absorbed) {
+            return absorbing;
+        }
+
+        if (absorbing.settlementHexes.size() < absorbed.settlementHexes.size()) {
+            Settlement larger = absorbed;
+            absorbed = absorbing;
+            absorbing = larger;
+        }
+
+        if (absorbing.isRecordingUndo()) {
+            Settlement absorbingSettlement = absorbing;
+            Settlement absorbedSettlement = absorbed;
+            int sizeBeforeUnion = absorbing.settlementHexes.size();
+
+            absorbing.recordPiecesForUndo();
+            absorbing.getUndoJournal().record(() -> {
+                List<Hex> absorbedHexes = absorbingSettlement.settlementHexes.subList(sizeBeforeUnion, absorbingSettlement.settlementHexes.size());
+                for (Hex hex : absorbedHexes) {
+                    hex.setSettlement(absorbedSettlement);
+                }
+                absorbedSettlement.settlementHexes.addAll(absorbedHexes);
+                absorbedHexes.clear();
+                absorbedSettlement.parent = absorbedSettlement;
+            });
+        }
+
+        absorbing.settlementHexes.addAll(absorbed.settlementHexes);
+        absorbed.settlementHexes.clear();
+        absorbed.parent = absorbing;
+
+        absorbing.hasTotoro |= absorbed.hasTotoro;
+        absorbing.hasTiger |= absorbed.hasTiger;
+        absorbing.hasShaman |= absorbed.hasShaman;
+
+        if (absorbing.totoroLocation == null) {
+            absorbing.totoroLocation = absorbed.totoroLocation;
+        }
+        if (absorbing.tigerLocation == null) {
+            absorbing.tigerLocation = absorbed.tigerLocation;
+        }
+        if (absorbing.shamanLocation == null) {
+            absorbing.shamanLocation = absorbed.shamanLocation;
+        }
+
+        return absorbing;
+    }
+
+    public SettlementManager getSettlementManager() {
+        return getRepresentative().settlementManager;
+    }
+
+    void setSettlementManager(SettlementManager settlementManager) {
+        Settlement root = getRepresentative();
+        root.settlementManager = settlementManager;
+
+        for (Hex hex : root.settlementHexes) {
+            hex.setSettlement(root);
+        }
+    }
+
     public boolean containsHex(Hex hexToSearchFor) {
-        return settlementHexes.contains(hexToSearchFor);
+        Settlement settlementOfHex = hexToSearchFor.getSettlement();
+        return settlementOfHex != null && settlementOfHex == getRepresentative();
     }
 
     public int getSettlementSize(){
-        return settlementHexes.size();
+        return getRepresentative().settlementHexes.size();
     }
 
     public ArrayList<Hex> getHexesFromSettlement() {
-        return settlementHexes;
+        return getRepresentative().settlementHexes;
     }
 
     public void addHexToSettlement(Hex newHex) throws SettlementAlreadyExistsOnHexException {
@@ -41,19 +142,48 @@ public class Settlement {
             throw new SettlementAlreadyExistsOnHexException(errorMessage);
         }
 
-        newHex.setSettlement(this);
-        settlementHexes.add(newHex);
-    }
+        Settlement root = getRepresentative();
+        newHex.setSettlement(root);
+        root.settlementHexes.add(newHex);
 
-    public void addHexToSettlementForMerging(Hex newHex)  {
-        newHex.setSettlement(this);
-        settlementHexes.add(newHex);
+        if (root.settlementManager != null) {
+            root.settlementManager.hexOccupancyChanged(newHex);
+        }
+
+        if (root.isRecordingUndo()) {
+            root.getUndoJournal().record(() -> {
+                root.settlementHexes.remove(root.settlementHexes.size() - 1);
+                newHex.setSettlement(null);
+            });
+        }
+
+        if (root.settlementManager != null) {
+            root.settlementManager.settlementGrew(root);
+        }
     }
 
     public void removeHexFromSettlement(Hex hexToBeRemoved) throws SettlementCannotBeCompletelyWipedOutException {
-        if (settlementHexes.size() > 1) {
-            settlementHexes.remove(hexToBeRemoved);
+        Settlement root = getRepresentative();
+
+        if (root.settlementHexes.size() > 1) {
+            int indexOfHex = root.settlementHexes.indexOf(hexToBeRemoved);
+            root.settlementHexes.remove(indexOfHex);
             hexToBeRemoved.setSettlement(null);
+
+            if (root.settlementManager != null) {
+                root.settlementManager.hexOccupancyChanged(hexToBeRemoved);
+            }
+
+            if (root.isRecordingUndo()) {
+                root.getUndoJournal().record(() -> {
+                    root.settlementHexes.add(indexOfHex, hexToBeRemoved);
+                    hexToBeRemoved.setSettlement(root);
+                });
+            }
+
+            if (root.settlementManager != null) {
+                root.settlementManager.settlementShrank(root);
+            }
         }
 
         else {
@@ -62,60 +192,250 @@ public class Settlement {
         }
     }
 
-    public void removeHexFromSettlementForMerging(Hex hexToBeRemoved)  {
-        settlementHexes.remove(hexToBeRemoved);
-    }
-
     public void setHasTotoroSanctuary() {
-        hasTotoro = true;
+        Settlement root = getRepresentative();
+        root.recordPiecesForUndo();
+        root.hasTotoro = true;
     }
 
     public void setHasTigerPlayground() {
-        hasTiger = true;
+        Settlement root = getRepresentative();
+        root.recordPiecesForUndo();
+        root.hasTiger = true;
     }
 
     public void setHasShaman(boolean hasShaman) {
-        this.hasShaman = hasShaman;
+        Settlement root = getRepresentative();
+        root.recordPiecesForUndo();
+        root.hasShaman = hasShaman;
     }
 
     public boolean getHasShaman() {
-        return this.hasShaman;
+        return getRepresentative().hasShaman;
     }
 
     public void setShamanLocation(Location location) {
-        this.shamanLocation = location;
+        Settlement root = getRepresentative();
+        root.recordPiecesForUndo();
+        root.shamanLocation = location;
     }
 
     public Location getShamanLocation() {
-        return this.shamanLocation;
+        return getRepresentative().shamanLocation;
     }
 
     public Boolean hasTotoroSanctuary() {
-        return this.hasTotoro;
+        return getRepresentative().hasTotoro;
     }
 
     public Boolean hasTigerPlayground() {
-        return this.hasTiger;
+        return getRepresentative().hasTiger;
     }
 
     public Location getTotoroLocation() {
-        return this.totoroLocation;
+        return getRepresentative().totoroLocation;
     }
 
     public void setTotoroLocation(Location totoroLocation) {
-        this.totoroLocation = totoroLocation;
+        Settlement root = getRepresentative();
+        root.recordPiecesForUndo();
+        root.totoroLocation = totoroLocation;
     }
 
     public Location getTigerLocation() {
-        return this.tigerLocation;
+        return getRepresentative().tigerLocation;
     }
 
     public void setTigerLocation(Location tigerLocation) {
-        this.tigerLocation = tigerLocation;
+        Settlement root = getRepresentative();
+        root.recordPiecesForUndo();
+        root.tigerLocation = tigerLocation;
+    }
+
+    public ArrayList<Settlement> splitAfterNuke(World world, ArrayList<Hex> nukedHexes) {
+        Settlement root = getRepresentative();
+        ArrayList<Settlement> fragments = new ArrayList<>();
+
+        if (root.isRecordingUndo()) {
+            ArrayList<Hex> hexesBeforeNuke = new ArrayList<>(root.settlementHexes);
+
+            root.recordPiecesForUndo();
+            root.getUndoJournal().record(() -> {
+                root.settlementHexes.clear();
+                root.settlementHexes.addAll(hexesBeforeNuke);
+                for (Hex hex : hexesBeforeNuke) {
+                    hex.setSettlement(root);
+                }
+            });
+        }
+
+        for (Hex nukedHex : nukedHexes) {
+            nukedHex.setSettlement(null);
+            root.removePiecesAt(nukedHex.getLocation());
+
+            if (root.settlementManager != null) {
+                root.settlementManager.hexOccupancyChanged(nukedHex);
+            }
+        }
+
+        ArrayList<Hex> seeds = new ArrayList<>();
+        for (Hex nukedHex : nukedHexes) {
+            long nukedLocation = nukedHex.getPackedLocation();
+            for (int orientation = 0; orientation < CoordinateSystemHelper.NUMBER_OF_ADJACENT_HEXES; orientation++) {
+                Hex adjacentHex = world.findHexRegardlessOfHeight(CoordinateSystemHelper.getAdjacentPackedLocation(nukedLocation, orientation));
+                if (adjacentHex != null && adjacentHex.getSettlement() == root && !seeds.contains(adjacentHex)) {
+                    seeds.add(adjacentHex);
+                }
+            }
+        }
+
+        if (seeds.size() > 1) {
+            ArrayList<ArrayList<Hex>> components = root.findComponentsContainingSeeds(world, seeds);
+
+            int largestComponent = 0;
+            for (int i = 1; i < components.size(); i++) {
+                if (components.get(i).size() > components.get(largestComponent).size()) {
+                    largestComponent = i;
+                }
+            }
+
+            for (int i = 0; i < components.size(); i++) {
+                if (i != largestComponent) {
+                    fragments.add(root.splitOff(components.get(i)));
+                }
+            }
+        }
+
+        root.settlementHexes.removeIf(hex -> hex.getSettlement() != root);
+
+        return fragments;
+    }
+
+    private ArrayList<ArrayList<Hex>> findComponentsContainingSeeds(World world, ArrayList<Hex> seeds) {
+        ArrayList<ArrayList<Hex>> components = new ArrayList<>();
+        Set<Hex> visited = new HashSet<>();
+
+        for (Hex seed : seeds) {
+            if (visited.contains(seed)) {
+                continue;
+            }
+
+            ArrayList<Hex> component = new ArrayList<>();
+            LinkedList<Hex> queue = new LinkedList<>();
+            int seedsReached = 0;
+
+            visited.add(seed);
+            queue.add(seed);
+
+            while (!queue.isEmpty()) {
+                Hex hex = queue.poll();
+                component.add(hex);
+
+                if (seeds.contains(hex) && ++seedsReached == seeds.size()) {
+                    return components;
+                }
+
+                long hexLocation = hex.getPackedLocation();
+                for (int orientation = 0; orientation < CoordinateSystemHelper.NUMBER_OF_ADJACENT_HEXES; orientation++) {
+                    Hex adjacentHex = world.findHexRegardlessOfHeight(CoordinateSystemHelper.getAdjacentPackedLocation(hexLocation, orientation));
+                    if (adjacentHex != null && adjacentHex.getSettlement() == this && visited.add(adjacentHex)) {
+                        queue.add(adjacentHex);
+                    }
+                }
+            }
+
+            components.add(component);
+        }
+
+        return components;
+    }
+
+    private Settlement splitOff(ArrayList<Hex> fragmentHexes) {
+        Settlement fragment = new Settlement();
+        fragment.settlementManager = this.settlementManager;
+
+        for (Hex hex : fragmentHexes) {
+            hex.setSettlement(fragment);
+            fragment.settlementHexes.add(hex);
+
+            Location hexLocation = hex.getLocation();
+            if (locationsShareCoordinates(totoroLocation, hexLocation)) {
+                fragment.hasTotoro = true;
+                fragment.totoroLocation = totoroLocation;
+                hasTotoro = false;
+                totoroLocation = null;
+            }
+            if (locationsShareCoordinates(tigerLocation, hexLocation)) {
+                fragment.hasTiger = true;
+                fragment.tigerLocation = tigerLocation;
+                hasTiger = false;
+                tigerLocation = null;
+            }
+            if (locationsShareCoordinates(shamanLocation, hexLocation)) {
+                fragment.hasShaman = true;
+                fragment.shamanLocation = shamanLocation;
+                hasShaman = false;
+                shamanLocation = null;
+            }
+        }
+
+        return fragment;
+    }
+
+    private void removePiecesAt(Location nukedLocation) {
+        if (locationsShareCoordinates(shamanLocation, nukedLocation)) {
+            hasShaman = false;
+            shamanLocation = null;
+        }
+        if (locationsShareCoordinates(totoroLocation, nukedLocation)) {
+            hasTotoro = false;
+            totoroLocation = null;
+        }
+        if (locationsShareCoordinates(tigerLocation, nukedLocation)) {
+            hasTiger = false;
+            tigerLocation = null;
+        }
+    }
+
+    private static boolean locationsShareCoordinates(Location pieceLocation, Location hexLocation) {
+        return pieceLocation != null
+                && pieceLocation.getxCoordinate() == hexLocation.getxCoordinate()
+                && pieceLocation.getyCoordinate() == hexLocation.getyCoordinate();
+    }
+
+    private UndoJournal getUndoJournal() {
+        return settlementManager == null ? null : settlementManager.world.undoJournal;
+    }
+
+    private boolean isRecordingUndo() {
+        UndoJournal undoJournal = getUndoJournal();
+        return undoJournal != null && undoJournal.isRecording();
+    }
+
+    private void recordPiecesForUndo() {
+        if (!isRecordingUndo()) {
+            return;
+        }
+
+        boolean hadTotoro = hasTotoro;
+        boolean hadTiger = hasTiger;
+        boolean hadShaman = hasShaman;
+        Location previousTotoroLocation = totoroLocation;
+        Location previousTigerLocation = tigerLocation;
+        Location previousShamanLocation = shamanLocation;
+
+        getUndoJournal().record(() -> {
+            hasTotoro = hadTotoro;
+            hasTiger = hadTiger;
+            hasShaman = hadShaman;
+            totoroLocation = previousTotoroLocation;
+            tigerLocation = previousTigerLocation;
+            shamanLocation = previousShamanLocation;
+        });
     }
 
     public void checkPlaygroundConditions() throws SettlementAlreadyHasTigerPlaygroundException {
-        if (this.hasTiger == true) {
+        if (getRepresentative().hasTiger) {
             String errorMessage = "A tiger already exists on the settlement.";
             throw new SettlementAlreadyHasTigerPlaygroundException(errorMessage);
         }
@@ -125,12 +445,12 @@ public class Settlement {
             SettlementDoesNotSizeRequirementsException,
             SettlementAlreadyHasTotoroSanctuaryException
     {
-        if (this.settlementHexes.size() < 5) {
+        if (getSettlementSize() < 5) {
             String errorMessage = "The settlement does not meet the size requirement for a totoro sanctuary.";
             throw new SettlementDoesNotSizeRequirementsException(errorMessage);
         }
 
-        if (this.hasTotoro) {
+        if (getRepresentative().hasTotoro) {
             String errorMessage = "A totoro already exists on the settlement.";
             throw new SettlementAlreadyHasTotoroSanctuaryException(errorMessage);
         }
@@ -140,69 +460,58 @@ public class Settlement {
             SettlementCannotBeBuiltOnVolcanoException,
             NoHexesToExpandToException
     {
-        ArrayList<Hex> potentialSettlementHexes;
-        ArrayList<Hex> allPotentialSettlementHexes = new ArrayList<>();
-        ArrayList<Hex> visited = new ArrayList<>();
+        checkExpansionConditions(terrainType);
+        return new ArrayList<>(getExpansionIndex(world).getHexes(terrainType));
+    }
 
+    void checkExpansionConditions(Terrain terrainType) throws
+            SettlementCannotBeBuiltOnVolcanoException,
+            NoHexesToExpandToException
+    {
         if (terrainType == Terrain.VOLCANO) {
             String errorMessage = String.format("You cannot build a hex on a volcano.");
             throw new SettlementCannotBeBuiltOnVolcanoException(errorMessage);
         }
 
-        expansionQueue.addAll(settlementHexes);
+        for (Hex settlementHex : getHexesFromSettlement()) {
+            if (settlementHex.getCell() == BoardLayers.NO_CELL) {
+                String errorMessage = String.format("There are no playable hexes for the player to expand to.");
+                throw new NoHexesToExpandToException(errorMessage);
+            }
+        }
+    }
 
-        while (expansionQueue.size() != 0) {
-            Hex hex = expansionQueue.poll();
-            if (!visited.contains(hex))
-            {
-                try {
-                    potentialSettlementHexes = getPotentialSettlementHexes(hex, world, terrainType);
-                    visited.add(hex);
+    public ExpansionIndex getExpansionIndex(World world) {
+        Settlement root = getRepresentative();
+        BoardLayers boardLayers = world.tileManager.getBoardLayers();
 
-                    for (Hex potentialSettlementHex : potentialSettlementHexes) {
-                        if (!allPotentialSettlementHexes.contains(potentialSettlementHex)) {
-                            allPotentialSettlementHexes.add(potentialSettlementHex);
-                        }
-                    }
-                }
-                catch (NullPointerException e) {
-                    String errorMessage = String.format("There are no playable hexes for the player to expand to.");
-                    throw new NoHexesToExpandToException(errorMessage);
-                }
-                catch (SettlementHeightRequirementException e) {
-                    System.out.println(e.getMessage());
-                }
-            }
+        if (root.expansionIndex == null || !root.expansionIndex.isCurrent(boardLayers, root.settlementHexes.size())) {
+            root.expansionIndex = new ExpansionIndex(boardLayers, root.settlementHexes);
         }
 
-        return allPotentialSettlementHexes;
+        return root.expansionIndex;
     }
 
     public ArrayList<Hex> getPotentialSettlementHexes(Hex settlementHex, World world, Terrain terrainType) throws SettlementHeightRequirementException {
         ArrayList<Hex> potentialSettlementHexes = new ArrayList<>();
 
-        Location hexLocation = settlementHex.getLocation();
-        Location[] hexLocationsAdjacentToCenter = CoordinateSystemHelper.getHexLocationsAdjacentToCenter(hexLocation);
+        long hexLocation = settlementHex.getPackedLocation();
 
-        for (Location adjacentHexLocation : hexLocationsAdjacentToCenter) {
-            try {
-                int x = adjacentHexLocation.getxCoordinate();
-                int y = adjacentHexLocation.getyCoordinate();
-                Hex adjacentHex = world.getHexRegardlessOfHeight(x, y);
+        for (int orientation = 0; orientation < CoordinateSystemHelper.NUMBER_OF_ADJACENT_HEXES; orientation++) {
+            Hex adjacentHex = world.findHexRegardlessOfHeight(CoordinateSystemHelper.getAdjacentPackedLocation(hexLocation, orientation));
 
-                adjacentHex.checkExpansionConditions(terrainType);
+            if (adjacentHex == null) {
+                continue;
+            }
 
-                if (!expansionQueue.contains(adjacentHex)) {
-                    potentialSettlementHexes.add(adjacentHex);
-                    expansionQueue.add(adjacentHex);
-                }
+            try {
+                adjacentHex.checkExpansionConditions(terrainType);
+                potentialSettlementHexes.add(adjacentHex);
 
-            } catch (NoHexAtLocationException e) {
-                System.out.println(e.getMessage());
             } catch (HexDoesNotMeetConditionsException e) {
-                System.out.println(e.getMessage());
+                Log.debug(e.getMessage());
             } catch (SettlementAlreadyExistsOnHexException e) {
-                System.out.println(e.getMessage());
+                Log.debug(e.getMessage());
             }
         }
 
@@ -211,7 +520,7 @@ public class Settlement {
 
     public Location[] getAllHexLocationsAdjacentToSettlement() {
         Set<Location> setWithoutDuplicates = new HashSet<>();
-        for (Hex hex : this.settlementHexes) {
+        for (Hex hex : getHexesFromSettlement()) {
             Location hexLocation = hex.getLocation();
             Location[] locationsToAdd = CoordinateSystemHelper.getHexLocationsAdjacentToCenter(hexLocation);
             setWithoutDuplicates.addAll(Arrays.asList(locationsToAdd));
@@ -4,28 +4,48 @@ import game.settlements.exceptions.*;
 import game.world.*;
 import game.world.rules.exceptions.*;
 import game.tile.*;
+import logging.Log;
+import metrics.MetricsRegistry;
+import profiling.MergeEvent;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.LinkedList;
 
 public class SettlementManager {
     public World world;
     public ArrayList<Settlement> settlements;
-    private LinkedList<Hex> expansionQueue;
+    private Settlement largestSettlement;
+    private boolean largestSettlementIsStale;
+    private long zobristHash;
+    private int ownerId;
 
     public SettlementManager(World existingWorld) {
         this.world = existingWorld;
+        this.ownerId = existingWorld == null ? BoardLayers.NO_OWNER : existingWorld.tileManager.getBoardLayers().newOwnerId();
         this.settlements = new ArrayList<Settlement>();
-        this.expansionQueue = new LinkedList<Hex>();
+        this.largestSettlement = null;
+        this.largestSettlementIsStale = false;
+        this.zobristHash = 0;
+    }
+
+    public int getOwnerId() {
+        return ownerId;
     }
 
     public Settlement foundSettlement(Hex hex) throws SettlementAlreadyExistsOnHexException {
         Settlement newSettlement = new Settlement(hex);
+        newSettlement.setSettlementManager(this);
         this.settlements.add(newSettlement);
-        newSettlement = tryToMergeAfterFounding(hex);
-        settlementListPostMergeCleaner();
-        return newSettlement;
+
+        if (isRecordingUndo()) {
+            world.undoJournal.record(() -> {
+                settlements.remove(settlements.size() - 1);
+                hex.setSettlement(null);
+            });
+        }
+
+        hexOccupancyChanged(hex);
+        settlementGrew(newSettlement);
+        return tryToMergeAfterFounding(hex);
     }
 
     // Ai
@@ -39,23 +59,25 @@ public class SettlementManager {
                 return hex;
             }
             catch (SettlementCannotBeBuiltOnVolcanoException e) {
-                System.out.println(e.getMessage());
+                Log.debug(e.getMessage());
             }
             catch (SettlementHeightRequirementException e) {
-                System.out.println(e.getMessage());
+                Log.debug(e.getMessage());
             }
             catch (SettlementAlreadyExistsOnHexException e) {
-                System.out.println(e.getMessage());
+                Log.debug(e.getMessage());
             }
         }
 
         String errorMessage = String.format("There are no playable hexes for the player to build a settlement on.");
+        MetricsRegistry.get().settlementExceptionThrown();
         throw new NoPlayableHexException(errorMessage);
     }
 
     public Settlement getSettlementFromHex(Hex hex) throws NoSettlementOnHexException {
         if (hex.getSettlement() == null) {
             String errorMessage = String.format("There are no settlements on the hex you passed in.");
+            MetricsRegistry.get().settlementExceptionThrown();
             throw new NoSettlementOnHexException(errorMessage);
         }
 
@@ -66,24 +88,13 @@ public class SettlementManager {
             SettlementCannotBeBuiltOnVolcanoException,
             NoHexesToExpandToException
     {
-        ArrayList<Hex> hexesToExpandTo = existingSettlement.getHexesToExpandTo(world, terrainType);
-        int numVillagers = 0;
-        for (Hex hex : hexesToExpandTo) {
-            numVillagers += hex.getHeight() + 1;
-        }
-        return numVillagers;
+        existingSettlement.checkExpansionConditions(terrainType);
+        return existingSettlement.getExpansionIndex(world).getVillagersRequired(terrainType);
     }
 
     public int getExpansionScore(Settlement existingSettlement, Terrain terrain) throws Exception {
-        ArrayList<Hex> hexesToExpandTo = existingSettlement.getHexesToExpandTo(world, terrain);
-        int score = 0;
-
-        for (Hex hex:hexesToExpandTo) {
-            score += (hex.getHeight() + 1)*(hex.getHeight() + 1);
-        }
-
-        return score;
-
+        existingSettlement.checkExpansionConditions(terrain);
+        return existingSettlement.getExpansionIndex(world).getScore(terrain);
     }
 
     public void expandSettlement(Settlement existingSettlement, Terrain terrainType) throws
@@ -96,41 +107,54 @@ public class SettlementManager {
                 existingSettlement.addHexToSettlement(hexToExpandTo);
             }
             catch (SettlementAlreadyExistsOnHexException e) {
-                System.out.println(e.getMessage());
+                Log.debug(e.getMessage());
             }
         }
 
-        tryToMergeAfterExpanding(existingSettlement);
-        settlementListPostMergeCleaner();
+        MergeEvent event = new MergeEvent();
+        event.begin();
+
+        for (Hex expandedHex : hexesToExpandTo) {
+            mergeWithAdjacentSettlements(expandedHex.getSettlement(), expandedHex);
+        }
+
+        event.settlementSize = existingSettlement.getSettlementSize();
+        event.commitForCurrentMove();
     }
 
     public void buildTotoroSanctuary(Hex sanctuaryHex) throws BuildConditionsNotMetException {
         sanctuaryHex.checkSanctuaryConditions();
 
         Location sanctuaryHexLocation = sanctuaryHex.getLocation();
-        Location[] adjacentHexLocationsToSanctuaryHex = CoordinateSystemHelper.getHexLocationsAdjacentToCenter(sanctuaryHexLocation);
-        for (Location adjacentHexLocation : adjacentHexLocationsToSanctuaryHex) {
+        long packedSanctuaryLocation = sanctuaryHexLocation.getPackedLocation();
+        for (int orientation = 0; orientation < CoordinateSystemHelper.NUMBER_OF_ADJACENT_HEXES; orientation++) {
+            long adjacentHexLocation = CoordinateSystemHelper.getAdjacentPackedLocation(packedSanctuaryLocation, orientation);
+            Hex adjacentHex = this.world.findHexByPackedLocation(adjacentHexLocation, sanctuaryHexLocation.getHeight());
+
+            if (adjacentHex == null) {
+                continue;
+            }
+
             try {
-                Hex adjacentHex = this.world.getHexByLocation(adjacentHexLocation);
-                Settlement adjacentSettlement = getSettlementFromHex(adjacentHex);
+                Settlement adjacentSettlement = getOwnSettlementFromHex(adjacentHex);
                 adjacentSettlement.checkSanctuaryConditions();
                 adjacentSettlement.setHasTotoroSanctuary();
                 adjacentSettlement.addHexToSettlement(sanctuaryHex);
+                sanctuaryHex.setOccupant(BoardLayers.TOTORO);
                 adjacentSettlement.setTotoroLocation(sanctuaryHexLocation);
+                mergeWithAdjacentSettlements(adjacentSettlement, sanctuaryHex);
                 return;
             }
-            catch (NoHexAtLocationException e) {
-                System.out.println(e.getMessage());
-            }
             catch (NoSettlementOnHexException e) {
-                System.out.println(e.getMessage());
+                Log.debug(e.getMessage());
             }
             catch (BuildConditionsNotMetException e) {
-                System.out.println(e.getMessage());
+                Log.debug(e.getMessage());
             }
         }
 
         String errorMessage = String.format("There are no adjacent settlements that meet the sanctuary conditions.");
+        MetricsRegistry.get().settlementExceptionThrown();
         throw new BuildConditionsNotMetException(errorMessage);
     }
 
@@ -138,193 +162,238 @@ public class SettlementManager {
         playgroundHex.checkPlaygroundConditions();
 
         Location playgroundHexLocation = playgroundHex.getLocation();
-        Location[] adjacentHexLocationsToPlaygroundHex = CoordinateSystemHelper.getHexLocationsAdjacentToCenter(playgroundHexLocation);
-        for (Location adjacentHexLocation : adjacentHexLocationsToPlaygroundHex) {
+        long packedPlaygroundLocation = playgroundHexLocation.getPackedLocation();
+        for (int orientation = 0; orientation < CoordinateSystemHelper.NUMBER_OF_ADJACENT_HEXES; orientation++) {
+            long adjacentHexLocation = CoordinateSystemHelper.getAdjacentPackedLocation(packedPlaygroundLocation, orientation);
+            Hex adjacentHex = this.world.findHexRegardlessOfHeight(adjacentHexLocation);
+
+            if (adjacentHex == null) {
+                continue;
+            }
+
             try {
-                int xCoordinate = adjacentHexLocation.getxCoordinate();
-                int yCoordinate = adjacentHexLocation.getyCoordinate();
-                Hex adjacentHex = this.world.getHexRegardlessOfHeight(xCoordinate, yCoordinate);
-                Settlement adjacentSettlement = getSettlementFromHex(adjacentHex);
+                Settlement adjacentSettlement = getOwnSettlementFromHex(adjacentHex);
                 adjacentSettlement.checkPlaygroundConditions();
                 adjacentSettlement.setHasTigerPlayground();
                 adjacentSettlement.addHexToSettlement(playgroundHex);
+                playgroundHex.setOccupant(BoardLayers.TIGER);
                 adjacentSettlement.setTigerLocation(playgroundHexLocation);
+                mergeWithAdjacentSettlements(adjacentSettlement, playgroundHex);
                 return;
             }
-            catch (NoHexAtLocationException e) {
-                System.out.println(e.getMessage());
-            }
             catch (NoSettlementOnHexException e) {
-                System.out.println(e.getMessage());
+                Log.debug(e.getMessage());
             }
             catch (BuildConditionsNotMetException e) {
-                System.out.println(e.getMessage());
+                Log.debug(e.getMessage());
             }
         }
 
         String errorMessage = String.format("There are no adjacent settlements that meet the playground conditions.");
+        MetricsRegistry.get().settlementExceptionThrown();
         throw new BuildConditionsNotMetException(errorMessage);
     }
 
     public Settlement tryToMergeAfterFounding(Hex foundingSettlementHex) {
-        Settlement initialSettlement = foundingSettlementHex.getSettlement();
-        ArrayList<Hex> adjacentHexesWithSettlement = new ArrayList<>();
-        int adjacentHexesWithSettlementCount = 0;
-        Location settlementHexLocation = foundingSettlementHex.getLocation();
-        Location[] adjacentHexLocations = CoordinateSystemHelper.getHexLocationsAdjacentToCenter(settlementHexLocation);
+        MergeEvent event = new MergeEvent();
+        event.begin();
 
-        for (Location adjacentHexLocation : adjacentHexLocations) {
-            try {
-                Hex adjacentHex = world.getHexByLocation(adjacentHexLocation);
+        Settlement mergedSettlement = foundingSettlementHex.getSettlement();
+        long packedSettlementHexLocation = foundingSettlementHex.getPackedLocation();
 
-                if (adjacentHex.getSettlement() != null) {
-                    adjacentHexesWithSettlement.add(adjacentHex);
-                }
-            }
-            catch (NoHexAtLocationException e) {
-                System.out.println(e.getMessage());
+        for (int orientation = 0; orientation < CoordinateSystemHelper.NUMBER_OF_ADJACENT_HEXES; orientation++) {
+            long adjacentHexLocation = CoordinateSystemHelper.getAdjacentPackedLocation(packedSettlementHexLocation, orientation);
+            Settlement adjacentSettlement = getOwnSettlementAt(adjacentHexLocation);
+
+            if (adjacentSettlement != null) {
+                mergedSettlement = merge(adjacentSettlement, mergedSettlement);
             }
         }
 
-        adjacentHexesWithSettlementCount = adjacentHexesWithSettlement.size();
-        if (adjacentHexesWithSettlementCount > 0) {
-            Hex firstAdjacentHexWithSettlement = adjacentHexesWithSettlement.get(0);
-            Settlement firstAdjacentSettlement = firstAdjacentHexWithSettlement.getSettlement();
+        event.settlementSize = mergedSettlement.getSettlementSize();
+        event.commitForCurrentMove();
 
-            for (int i=0; i<adjacentHexesWithSettlementCount; i++) {
-                Hex adjacentHexWithSettlement = adjacentHexesWithSettlement.get(i);
-                Settlement nextAdjacentSettlement = adjacentHexWithSettlement.getSettlement();
-                if (adjacentHexWithSettlement != firstAdjacentHexWithSettlement) {
-                    nextAdjacentSettlement.removeHexFromSettlementForMerging(adjacentHexWithSettlement);
-                }
+        return mergedSettlement;
+    }
 
-                firstAdjacentSettlement.addHexToSettlementForMerging(adjacentHexWithSettlement);
-            }
+    public void tryToMergeAfterExpanding(Settlement expandedSettlement) {
+        MergeEvent event = new MergeEvent();
+        event.begin();
+
+        ArrayList<Hex> settlementHexes = new ArrayList<>(expandedSettlement.getHexesFromSettlement());
 
-            firstAdjacentSettlement.addHexToSettlementForMerging(foundingSettlementHex);
-            initialSettlement.removeHexFromSettlementForMerging(foundingSettlementHex);
-            return firstAdjacentSettlement;
+        for (Hex settlementHex : settlementHexes) {
+            mergeWithAdjacentSettlements(expandedSettlement, settlementHex);
         }
 
-        return initialSettlement;
+        event.settlementSize = expandedSettlement.getSettlementSize();
+        event.commitForCurrentMove();
     }
 
-    public void tryToMergeAfterExpanding(Settlement expandedSettlement) {
-        ArrayList<Settlement> adjacentSettlements;
-        ArrayList<Integer> adjacentSettlementSizes = new ArrayList<>();
-        ArrayList<Settlement> allAdjacentSettlements = new ArrayList<>();
-        ArrayList<Hex> visited = new ArrayList<>();
+    public ArrayList<Settlement> getAdjacentSettlements(Hex hexFromExpandingSettlement) {
+        ArrayList<Settlement> adjacentSettlements = new ArrayList<>();
+        Settlement settlementOfHex = hexFromExpandingSettlement.getSettlement();
+        long packedSettlementHexLocation = hexFromExpandingSettlement.getPackedLocation();
 
-        ArrayList<Hex> settlementHexes = expandedSettlement.getHexesFromSettlement();
+        for (int orientation = 0; orientation < CoordinateSystemHelper.NUMBER_OF_ADJACENT_HEXES; orientation++) {
+            long adjacentHexLocation = CoordinateSystemHelper.getAdjacentPackedLocation(packedSettlementHexLocation, orientation);
+            Settlement adjacentSettlement = getOwnSettlementAt(adjacentHexLocation);
 
-        expansionQueue.addAll(settlementHexes);
+            if (adjacentSettlement != null && adjacentSettlement != settlementOfHex && !adjacentSettlements.contains(adjacentSettlement)) {
+                adjacentSettlements.add(adjacentSettlement);
+            }
+        }
 
-        while (expansionQueue.size() != 0) {
-            Hex hex = expansionQueue.poll();
+        return adjacentSettlements;
+    }
 
-            if (!visited.contains(hex)) {
-                adjacentSettlements = getAdjacentSettlements(hex);
-                visited.add(hex);
+    public void settlementListPostMergeCleaner() {
+        recordSettlementsForUndo();
 
-                for (Settlement adjacentSettlement : adjacentSettlements) {
-                    if (!allAdjacentSettlements.contains(adjacentSettlement)) {
-                        allAdjacentSettlements.add(adjacentSettlement);
-                        adjacentSettlementSizes.add(adjacentSettlement.getSettlementSize());
-                    }
-                }
+        for (int i = settlements.size() - 1; i >= 0; i--) {
+            Settlement settlement = settlements.get(i);
+            if (!settlement.isRepresentative() || settlement.getSettlementSize() == 0) {
+                settlements.remove(i);
             }
         }
+    }
 
-        if (allAdjacentSettlements.size() > 0) {
-            int largestSettlementSize = Collections.max(adjacentSettlementSizes);
-            int index = adjacentSettlementSizes.indexOf(largestSettlementSize);
-            Settlement largestAdjacentSettlement = allAdjacentSettlements.get(index);
+    public int sizeOfLargestContainedSettlement() {
+        Settlement largest = getLargestContainedSettlement();
+        return largest == null ? 0 : largest.getSettlementSize();
+    }
 
-            if (expandedSettlement.getSettlementSize() < largestSettlementSize ) {
-                ArrayList<Hex> expandedSettlementHexes = expandedSettlement.getHexesFromSettlement();
-                for (Hex expandedSettlementHex : expandedSettlementHexes) {
-                    expandedSettlement.removeHexFromSettlementForMerging(expandedSettlementHex);
-                    largestAdjacentSettlement.addHexToSettlementForMerging(expandedSettlementHex);
-                }
-                for (Settlement adjacentSettlement : allAdjacentSettlements) {
-                    if (adjacentSettlement != largestAdjacentSettlement) {
-                        ArrayList<Hex> adjacentSettlementHexes = adjacentSettlement.getHexesFromSettlement();
-                        for (int i=0; i<adjacentSettlementHexes.size(); i++) {
-                            Hex adjacentSettlementHex = adjacentSettlementHexes.get(i);
-                            adjacentSettlement.removeHexFromSettlementForMerging(adjacentSettlementHex);
-                            largestAdjacentSettlement.addHexToSettlementForMerging(adjacentSettlementHex);
-                        }
-                    }
+    public Settlement getLargestContainedSettlement() {
+        if (largestSettlementIsStale) {
+            recordLargestSettlementForUndo();
+            largestSettlement = null;
+            for (Settlement settlement : settlements) {
+                if (largestSettlement == null || settlement.getSettlementSize() > largestSettlement.getSettlementSize()) {
+                    largestSettlement = settlement;
                 }
             }
+            largestSettlementIsStale = false;
+        }
 
-            else {  // expanded settlement is largest settlement
-                for (Settlement adjacentSettlement : allAdjacentSettlements) {
-                    ArrayList<Hex> adjacentSettlementHexes = adjacentSettlement.getHexesFromSettlement();
-                    for (int i=0; i<adjacentSettlementHexes.size(); i++) {
-                        Hex adjacentSettlementHex = adjacentSettlementHexes.get(i);
-                        adjacentSettlement.removeHexFromSettlementForMerging(adjacentSettlementHex);
-                        expandedSettlement.addHexToSettlementForMerging(adjacentSettlementHex);
-                    }
-                }
-            }
+        return largestSettlement;
+    }
+
+    public long getZobristHash() {
+        return zobristHash;
+    }
+
+    void hexOccupancyChanged(Hex hex) {
+        long occupiedHexKey = ZobristKeys.occupiedHex(hex.getPackedLocation());
+        zobristHash ^= occupiedHexKey;
+
+        if (isRecordingUndo()) {
+            world.undoJournal.record(() -> zobristHash ^= occupiedHexKey);
         }
     }
 
-    public ArrayList<Settlement> getAdjacentSettlements(Hex hexFromExpandingSettlement) {
-        ArrayList<Settlement> adjacentSettlements = new ArrayList<>();
-        Location settlementHexLocation = hexFromExpandingSettlement.getLocation();
-        Location[] adjacentHexLocations = CoordinateSystemHelper.getHexLocationsAdjacentToCenter(settlementHexLocation);
+    void settlementGrew(Settlement settlement) {
+        if (largestSettlementIsStale) {
+            return;
+        }
 
-        for (Location adjacentHexLocation : adjacentHexLocations) {
-            try {
-                Hex adjacentHex = world.getHexByLocation(adjacentHexLocation);
+        if (largestSettlement == null || settlement.getSettlementSize() > largestSettlement.getSettlementSize()) {
+            recordLargestSettlementForUndo();
+            largestSettlement = settlement;
+        }
+    }
 
-                if (adjacentHex.getSettlement() != null) {
+    void settlementShrank(Settlement settlement) {
+        if (settlement == largestSettlement) {
+            recordLargestSettlementForUndo();
+            largestSettlementIsStale = true;
+        }
+    }
 
-                    if (!expansionQueue.contains(adjacentHex)) {
-                        adjacentSettlements.add(adjacentHex.getSettlement());
-                        expansionQueue.add(adjacentHex);
-                    }
-                }
-            }
-            catch (NoHexAtLocationException e) {
-                System.out.println(e.getMessage());
+    private void mergeWithAdjacentSettlements(Settlement settlement, Hex settlementHex) {
+        Settlement mergedSettlement = settlement;
+        for (Settlement adjacentSettlement : getAdjacentSettlements(settlementHex)) {
+            mergedSettlement = merge(mergedSettlement, adjacentSettlement);
+        }
+    }
+
+    private Settlement merge(Settlement preferredSettlement, Settlement otherSettlement) {
+        Settlement preferredRoot = preferredSettlement.getRepresentative();
+        Settlement otherRoot = otherSettlement.getRepresentative();
+
+        if (preferredRoot == otherRoot) {
+            return preferredRoot;
+        }
+
+        MetricsRegistry.get().settlementsMerged();
+        Settlement mergedSettlement = Settlement.union(preferredRoot, otherRoot);
+        Settlement absorbedSettlement = (mergedSettlement == preferredRoot) ? otherRoot : preferredRoot;
+        int indexOfAbsorbedSettlement = settlements.indexOf(absorbedSettlement);
+        if (indexOfAbsorbedSettlement >= 0) {
+            settlements.remove(indexOfAbsorbedSettlement);
+
+            if (isRecordingUndo()) {
+                world.undoJournal.record(() -> settlements.add(indexOfAbsorbedSettlement, absorbedSettlement));
             }
         }
 
-        return adjacentSettlements;
+        if (largestSettlement == absorbedSettlement) {
+            recordLargestSettlementForUndo();
+            largestSettlement = mergedSettlement;
+        }
+        settlementGrew(mergedSettlement);
+
+        return mergedSettlement;
     }
 
-    public void settlementListPostMergeCleaner() {
-        if (settlements.size() > 1) {
-            for (int i=0; i<settlements.size(); i++) {
-                Settlement settlement = settlements.get(i);
-                if (settlement.getSettlementSize() == 0) {
-                    settlements.remove(settlement);
-                }
-            }
+    private boolean isRecordingUndo() {
+        return world.undoJournal != null && world.undoJournal.isRecording();
+    }
+
+    private void recordSettlementsForUndo() {
+        if (!isRecordingUndo()) {
+            return;
         }
+
+        ArrayList<Settlement> previousSettlements = new ArrayList<>(settlements);
+        world.undoJournal.record(() -> {
+            settlements.clear();
+            settlements.addAll(previousSettlements);
+        });
     }
 
-    public int sizeOfLargestContainedSettlement() {
-        int sizeOfLargestSettlement = 0;
-        for (Settlement settlement : settlements) {
-            sizeOfLargestSettlement = Math.max(settlement.getSettlementSize(), sizeOfLargestSettlement);
+    private void recordLargestSettlementForUndo() {
+        if (!isRecordingUndo()) {
+            return;
         }
-        return sizeOfLargestSettlement;
+
+        Settlement previousLargestSettlement = largestSettlement;
+        boolean previousLargestSettlementIsStale = largestSettlementIsStale;
+        world.undoJournal.record(() -> {
+            largestSettlement = previousLargestSettlement;
+            largestSettlementIsStale = previousLargestSettlementIsStale;
+        });
     }
 
-    public Settlement getLargestContainedSettlement() {
-        int sizeOfLargestSettlement = 0;
-        Settlement largestSettlement = null;
-        for(Settlement settlement : settlements) {
-            if(settlement.getSettlementSize() > sizeOfLargestSettlement) {
-                sizeOfLargestSettlement = settlement.getSettlementSize();
-                largestSettlement = settlement;
-            }
+    private Settlement getOwnSettlementFromHex(Hex hex) throws NoSettlementOnHexException {
+        Settlement settlement = getSettlementFromHex(hex);
+
+        if (settlement.getSettlementManager() != this) {
+            String errorMessage = String.format("The settlement on the hex you passed in belongs to another player.");
+            MetricsRegistry.get().settlementExceptionThrown();
+            throw new NoSettlementOnHexException(errorMessage);
         }
-        return largestSettlement;
+
+        return settlement;
+    }
+
+    private Settlement getOwnSettlementAt(long packedLocation) {
+        BoardLayers boardLayers = world.tileManager.getBoardLayers();
+        int cell = boardLayers.findCell(packedLocation);
+        if (cell == BoardLayers.NO_CELL || boardLayers.getOwner(cell) != ownerId) {
+            return null;
+        }
+
+        return boardLayers.getTopHex(cell).getSettlement();
     }
 
     public Settlement getLargestSettlementNotContainingATotoro() {
@@ -339,8 +408,17 @@ public class SettlementManager {
         return largestSettlement;
     }
 
-  /*  public void splitSettlementsIfNuked() {
+    public ArrayList<Settlement> splitSettlementsIfNuked(Settlement nukedSettlement, ArrayList<Hex> nukedHexes) {
+        Settlement settlement = nukedSettlement.getRepresentative();
+        ArrayList<Settlement> fragments = settlement.splitAfterNuke(world, nukedHexes);
 
-    }*/
+        recordSettlementsForUndo();
+        settlements.addAll(fragments);
+        settlementListPostMergeCleaner();
+        recordLargestSettlementForUndo();
+        largestSettlementIsStale = true;
+
+        return fragments;
+    }
 
 }
\ No newline at end of file
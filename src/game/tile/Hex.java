@@ -1,21 +1,27 @@
 package game.tile;
 
 import game.settlements.Settlement;
+import game.settlements.SettlementManager;
 import game.*;
 import game.settlements.exceptions.HexDoesNotMeetConditionsException;
 import game.settlements.exceptions.SettlementAlreadyExistsOnHexException;
 import game.settlements.exceptions.SettlementCannotBeBuiltOnVolcanoException;
 import game.settlements.exceptions.SettlementHeightRequirementException;
+import game.world.BoardLayers;
 
 public class Hex {
     private Terrain terrain;
     private Tile owner;
     private Location location;
     private Settlement settlement;
+    private BoardLayers layers;
+    private int cell;
 
     public Hex(Tile owner, Terrain terrain) {
         this.owner = owner;
         this.terrain = terrain;
+        this.layers = null;
+        this.cell = BoardLayers.NO_CELL;
     }
 
     public Terrain getTerrain() {
@@ -34,17 +40,48 @@ public class Hex {
         return this.location;
     }
 
+    public long getPackedLocation() {
+        return this.location.getPackedLocation();
+    }
+
     public int getHeight() {
         int height = this.location.getHeight();
         return height;
     }
 
     public Settlement getSettlement() {
-        return this.settlement;
+        if (this.settlement == null) {
+            return null;
+        }
+
+        return this.settlement.getRepresentative();
     }
 
     public void setSettlement(Settlement settlement) {
         this.settlement = settlement;
+
+        if (layers != null) {
+            byte occupant = settlement == null ? BoardLayers.EMPTY : (byte) Math.max(BoardLayers.VILLAGER, layers.getOccupant(cell));
+            SettlementManager settlementManager = settlement == null ? null : settlement.getSettlementManager();
+            int ownerId = settlementManager == null ? BoardLayers.NO_OWNER : settlementManager.getOwnerId();
+
+            layers.hexOccupantChanged(this, cell, occupant, ownerId);
+        }
+    }
+
+    public void setOccupant(byte occupant) {
+        if (layers != null) {
+            layers.hexOccupantChanged(this, cell, occupant, layers.getOwner(cell));
+        }
+    }
+
+    public void attachToLayers(BoardLayers layers, int cell) {
+        this.layers = layers;
+        this.cell = cell;
+    }
+
+    public int getCell() {
+        return cell;
     }
 
     public void checkFoundingConditions() throws
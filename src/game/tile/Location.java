@@ -1,11 +1,9 @@
 package game.tile;
 
-import java.util.Objects;
-
-public class Location {
-    private int xCoordinate;
-    private int yCoordinate;
-    private int height;
+public final class Location {
+    private final int xCoordinate;
+    private final int yCoordinate;
+    private final int height;
 
     public Location(int xCoordinate, int yCoordinate, int height) {
         this.xCoordinate = xCoordinate;
@@ -25,16 +23,8 @@ public class Location {
         return height;
     }
 
-    public void setxCoordinate(int xCoordinate) {
-        this.xCoordinate = xCoordinate;
-    }
-
-    public void setyCoordinate(int col) {
-        this.yCoordinate = col;
-    }
-
-    public void setHeight(int height) {
-        this.height = height;
+    public long getPackedLocation() {
+        return PackedLocation.pack(xCoordinate, yCoordinate);
     }
 
     public static Location incrementZ(Location locationToIncrement) {
@@ -77,7 +67,7 @@ public class Location {
 
     @Override
     public int hashCode() {
-        return Objects.hash(xCoordinate,yCoordinate, height);
+        return (xCoordinate * 31 + yCoordinate) * 31 + height;
     }
 
 }
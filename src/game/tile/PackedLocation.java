@@ -0,0 +1,38 @@
+package game.tile;
+
+public final class PackedLocation {
+    private PackedLocation() {}
+
+    public static long pack(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    public static long pack(Location location) {
+        return pack(location.getxCoordinate(), location.getyCoordinate());
+    }
+
+    public static int getxCoordinate(long packedLocation) {
+        return (int) (packedLocation >> 32);
+    }
+
+    public static int getyCoordinate(long packedLocation) {
+        return (int) packedLocation;
+    }
+
+    public static Location toLocation(long packedLocation, int height) {
+        return new Location(getxCoordinate(packedLocation), getyCoordinate(packedLocation), height);
+    }
+
+    public static long offset(long packedLocation, int xOffset, int yOffset) {
+        return pack(getxCoordinate(packedLocation) + xOffset, getyCoordinate(packedLocation) + yOffset);
+    }
+
+    public static int hash(long packedLocation) {
+        long h = packedLocation * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    public static String toString(long packedLocation) {
+        return "(" + getxCoordinate(packedLocation) + "," + getyCoordinate(packedLocation) + ")";
+    }
+}
@@ -0,0 +1,264 @@
+package game.world;
+
+import game.tile.Hex;
+import game.tile.PackedLocation;
+import game.tile.Terrain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Primitive copies of the top hexes, kept in step by TileManager and Hex.
+ */
+public class BoardLayers {
+    public static final int NO_CELL = -1;
+    public static final int NO_HEX = -1;
+    public static final int NO_OWNER = 0;
+
+    public static final byte EMPTY = 0;
+    public static final byte VILLAGER = 1;
+    public static final byte TOTORO = 2;
+    public static final byte TIGER = 3;
+
+    private static final Terrain[] TERRAINS = Terrain.values();
+    private static final int INITIAL_NUMBER_OF_CELLS = 64;
+
+    private UndoJournal undoJournal;
+
+    private long[] slotKeys;
+    private int[] slotCells;
+    private int slotMask;
+
+    private int numberOfCells;
+    private long[] packedLocations;
+    private byte[] terrains;
+    private byte[] heights;
+    private int[] tileIds;
+    private byte[] occupants;
+    private int[] owners;
+    private Hex[] topHexes;
+
+    private int numberOfOwners;
+    private long version;
+
+    public BoardLayers(UndoJournal undoJournal) {
+        this.undoJournal = undoJournal;
+
+        this.slotKeys = new long[INITIAL_NUMBER_OF_CELLS * 2];
+        this.slotCells = new int[INITIAL_NUMBER_OF_CELLS * 2];
+        this.slotMask = slotKeys.length - 1;
+
+        this.numberOfCells = 0;
+        this.packedLocations = new long[INITIAL_NUMBER_OF_CELLS];
+        this.terrains = new byte[INITIAL_NUMBER_OF_CELLS];
+        this.heights = new byte[INITIAL_NUMBER_OF_CELLS];
+        this.tileIds = new int[INITIAL_NUMBER_OF_CELLS];
+        this.occupants = new byte[INITIAL_NUMBER_OF_CELLS];
+        this.owners = new int[INITIAL_NUMBER_OF_CELLS];
+        this.topHexes = new Hex[INITIAL_NUMBER_OF_CELLS];
+
+        this.numberOfOwners = 0;
+        this.version = 0;
+    }
+
+    public int findCell(int x, int y) {
+        return findCell(PackedLocation.pack(x, y));
+    }
+
+    public int findCell(long packedLocation) {
+        int slot = findSlot(packedLocation);
+        return slotCells[slot] - 1;
+    }
+
+    public int getNumberOfCells() {
+        return numberOfCells;
+    }
+
+    public long getPackedLocation(int cell) {
+        return packedLocations[cell];
+    }
+
+    public int getHeight(int cell) {
+        return cell == NO_CELL ? NO_HEX : heights[cell];
+    }
+
+    public int getHeightAt(long packedLocation) {
+        return getHeight(findCell(packedLocation));
+    }
+
+    public boolean hasHex(int cell) {
+        return getHeight(cell) != NO_HEX;
+    }
+
+    public Terrain getTerrain(int cell) {
+        return TERRAINS[terrains[cell]];
+    }
+
+    public int getTileId(int cell) {
+        return tileIds[cell];
+    }
+
+    public byte getOccupant(int cell) {
+        return occupants[cell];
+    }
+
+    public int getOwner(int cell) {
+        return owners[cell];
+    }
+
+    public Hex getTopHex(int cell) {
+        return cell == NO_CELL ? null : topHexes[cell];
+    }
+
+    public boolean isEmptyHabitable(int cell) {
+        return hasHex(cell) && occupants[cell] == EMPTY && getTerrain(cell).isHabitable();
+    }
+
+    public int[] findExpansionCells(ArrayList<Hex> settlementHexes) {
+        int[] queue = new int[numberOfCells];
+        boolean[] reached = new boolean[numberOfCells];
+        int head = 0;
+        int tail = 0;
+
+        for (Hex settlementHex : settlementHexes) {
+            int cell = settlementHex.getCell();
+            if (cell != NO_CELL && !reached[cell]) {
+                reached[cell] = true;
+                queue[tail++] = cell;
+            }
+        }
+
+        int firstExpansionCell = tail;
+
+        while (head < tail) {
+            boolean expandingFromSettlement = head < firstExpansionCell;
+            int cell = queue[head++];
+            long packedLocation = packedLocations[cell];
+
+            for (int orientation = 0; orientation < CoordinateSystemHelper.NUMBER_OF_ADJACENT_HEXES; orientation++) {
+                int adjacentCell = findCell(CoordinateSystemHelper.getAdjacentPackedLocation(packedLocation, orientation));
+
+                if (adjacentCell != NO_CELL && !reached[adjacentCell] && isEmptyHabitable(adjacentCell)
+                        && (expandingFromSettlement || terrains[adjacentCell] == terrains[cell])) {
+                    reached[adjacentCell] = true;
+                    queue[tail++] = adjacentCell;
+                }
+            }
+        }
+
+        return Arrays.copyOfRange(queue, firstExpansionCell, tail);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int newOwnerId() {
+        return ++numberOfOwners;
+    }
+
+    void placeHex(Hex hex, long packedLocation, int height, int tileId) {
+        int cell = findCell(packedLocation);
+        if (cell == NO_CELL) {
+            cell = addCell(packedLocation);
+        }
+
+        if (undoJournal.isRecording()) {
+            recordCellForUndo(cell);
+        }
+
+        terrains[cell] = (byte) hex.getTerrain().ordinal();
+        heights[cell] = (byte) height;
+        tileIds[cell] = tileId;
+        occupants[cell] = EMPTY;
+        owners[cell] = NO_OWNER;
+        topHexes[cell] = hex;
+        version++;
+
+        hex.attachToLayers(this, cell);
+    }
+
+    public void hexOccupantChanged(Hex hex, int cell, byte occupant, int owner) {
+        if (topHexes[cell] != hex) {
+            return;
+        }
+
+        occupants[cell] = occupant;
+        owners[cell] = owner;
+        version++;
+    }
+
+    private void recordCellForUndo(int cell) {
+        byte previousTerrain = terrains[cell];
+        byte previousHeight = heights[cell];
+        int previousTileId = tileIds[cell];
+        byte previousOccupant = occupants[cell];
+        int previousOwner = owners[cell];
+        Hex previousTopHex = topHexes[cell];
+
+        undoJournal.record(() -> {
+            terrains[cell] = previousTerrain;
+            heights[cell] = previousHeight;
+            tileIds[cell] = previousTileId;
+            occupants[cell] = previousOccupant;
+            owners[cell] = previousOwner;
+            topHexes[cell] = previousTopHex;
+            version++;
+        });
+    }
+
+    private int addCell(long packedLocation) {
+        if (numberOfCells == packedLocations.length) {
+            growCells();
+        }
+
+        int cell = numberOfCells++;
+        packedLocations[cell] = packedLocation;
+        heights[cell] = NO_HEX;
+
+        int slot = findSlot(packedLocation);
+        slotKeys[slot] = packedLocation;
+        slotCells[slot] = cell + 1;
+
+        if (numberOfCells * 2 > slotKeys.length) {
+            growSlots();
+        }
+
+        return cell;
+    }
+
+    private int findSlot(long packedLocation) {
+        int slot = PackedLocation.hash(packedLocation) & slotMask;
+
+        while (slotCells[slot] != 0 && slotKeys[slot] != packedLocation) {
+            slot = (slot + 1) & slotMask;
+        }
+
+        return slot;
+    }
+
+    private void growCells() {
+        int newLength = packedLocations.length * 2;
+
+        packedLocations = Arrays.copyOf(packedLocations, newLength);
+        terrains = Arrays.copyOf(terrains, newLength);
+        heights = Arrays.copyOf(heights, newLength);
+        tileIds = Arrays.copyOf(tileIds, newLength);
+        occupants = Arrays.copyOf(occupants, newLength);
+        owners = Arrays.copyOf(owners, newLength);
+        topHexes = Arrays.copyOf(topHexes, newLength);
+    }
+
+    private void growSlots() {
+        int newLength = slotKeys.length * 2;
+        slotKeys = new long[newLength];
+        slotCells = new int[newLength];
+        slotMask = newLength - 1;
+
+        for (int cell = 0; cell < numberOfCells; cell++) {
+            int slot = findSlot(packedLocations[cell]);
+            slotKeys[slot] = packedLocations[cell];
+            slotCells[slot] = cell + 1;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package game.world;
 
 import game.tile.Location;
+import game.tile.PackedLocation;
 import game.tile.orientation.HexOrientation;
 import game.tile.orientation.TileOrientation;
 
@@ -9,6 +10,23 @@ import java.util.HashSet;
 import java.util.Set;
 
 public class CoordinateSystemHelper {
+    public static final int NUMBER_OF_ADJACENT_HEXES = 6;
+
+    // Indexed by HexOrientation.getOrientationInteger()
+    private static final int[] ADJACENT_X_OFFSETS = {-1, -1, 0, 1, 1, 0};
+    private static final int[] ADJACENT_Y_OFFSETS = {-1, 0, 1, 1, 0, -1};
+
+    public static int getAdjacentXCoordinate(int xCoordinate, int orientationInteger) {
+        return xCoordinate + ADJACENT_X_OFFSETS[orientationInteger];
+    }
+
+    public static int getAdjacentYCoordinate(int yCoordinate, int orientationInteger) {
+        return yCoordinate + ADJACENT_Y_OFFSETS[orientationInteger];
+    }
+
+    public static long getAdjacentPackedLocation(long packedLocation, int orientationInteger) {
+        return PackedLocation.offset(packedLocation, ADJACENT_X_OFFSETS[orientationInteger], ADJACENT_Y_OFFSETS[orientationInteger]);
+    }
 
     public static Location getTentativeLeftHexLocation(Location locationOfVolcano, TileOrientation tileOrientation) {
         HexOrientation leftHexOrientation = getLeftHexOrientationFromTileOrientation(tileOrientation);
@@ -88,31 +106,23 @@ public class CoordinateSystemHelper {
 
 
     public static Location getHexLocationRelativeToOrientationAndCenter(Location center, HexOrientation hexOrientation) {
-        Location[] adjacentHexLocations = getHexLocationsAdjacentToCenter(center);
+        int orientationInteger = hexOrientation.getOrientationInteger();
 
-        return adjacentHexLocations[hexOrientation.getOrientationInteger()];
+        return new Location(getAdjacentXCoordinate(center.getxCoordinate(), orientationInteger),
+                getAdjacentYCoordinate(center.getyCoordinate(), orientationInteger), center.getHeight());
     }
 
     public static Location[] getHexLocationsAdjacentToCenter(Location center) {
-        Location[] adjacentLocations = new Location[6];
+        Location[] adjacentLocations = new Location[NUMBER_OF_ADJACENT_HEXES];
 
         int xCoordinateOfCenter = center.getxCoordinate();
         int yCoordinateOfCenter = center.getyCoordinate();
         int zCoordinateOfCenter = center.getHeight();
 
-
-        adjacentLocations[HexOrientation.SOUTHWEST.getOrientationInteger()] =
-                new Location(xCoordinateOfCenter - 1, yCoordinateOfCenter - 1, zCoordinateOfCenter);
-        adjacentLocations[HexOrientation.WEST.getOrientationInteger()] =
-                new Location(xCoordinateOfCenter - 1, yCoordinateOfCenter, zCoordinateOfCenter);
-        adjacentLocations[HexOrientation.NORTHWEST.getOrientationInteger()] =
-                new Location(xCoordinateOfCenter, yCoordinateOfCenter + 1, zCoordinateOfCenter);
-        adjacentLocations[HexOrientation.NORTHEAST.getOrientationInteger()] =
-                new Location(xCoordinateOfCenter + 1, yCoordinateOfCenter + 1, zCoordinateOfCenter);
-        adjacentLocations[HexOrientation.EAST.getOrientationInteger()] =
-                new Location(xCoordinateOfCenter + 1, yCoordinateOfCenter, zCoordinateOfCenter);
-        adjacentLocations[HexOrientation.SOUTHEAST.getOrientationInteger()] =
-                new Location(xCoordinateOfCenter, yCoordinateOfCenter - 1, zCoordinateOfCenter);
+        for (int orientation = 0; orientation < NUMBER_OF_ADJACENT_HEXES; orientation++) {
+            adjacentLocations[orientation] = new Location(getAdjacentXCoordinate(xCoordinateOfCenter, orientation),
+                    getAdjacentYCoordinate(yCoordinateOfCenter, orientation), zCoordinateOfCenter);
+        }
 
         return adjacentLocations;
 
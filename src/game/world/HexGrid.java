@@ -0,0 +1,131 @@
+package game.world;
+
+import game.tile.Hex;
+import game.tile.PackedLocation;
+
+public class HexGrid {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int MAX_LOAD_PERCENT = 50;
+
+    private long[] keys;
+    private Hex[] hexes;
+    private int size;
+    private int mask;
+
+    public HexGrid() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public HexGrid(int expectedNumberOfHexes) {
+        int capacity = INITIAL_CAPACITY;
+        while (capacity * MAX_LOAD_PERCENT / 100 < expectedNumberOfHexes) {
+            capacity <<= 1;
+        }
+
+        keys = new long[capacity];
+        hexes = new Hex[capacity];
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    public Hex get(int x, int y) {
+        return get(PackedLocation.pack(x, y));
+    }
+
+    public Hex get(long key) {
+        int slot = findSlot(keys, hexes, mask, key);
+
+        return hexes[slot];
+    }
+
+    public boolean contains(int x, int y) {
+        return get(x, y) != null;
+    }
+
+    public void put(int x, int y, Hex hex) {
+        put(PackedLocation.pack(x, y), hex);
+    }
+
+    public void put(long key, Hex hex) {
+        if (hex == null) {
+            throw new IllegalArgumentException("Cannot insert an empty hex into the grid");
+        }
+
+        int slot = findSlot(keys, hexes, mask, key);
+
+        if (hexes[slot] == null) {
+            keys[slot] = key;
+            size++;
+        }
+
+        hexes[slot] = hex;
+
+        if (size * 100 > keys.length * MAX_LOAD_PERCENT) {
+            grow();
+        }
+    }
+
+    public void remove(long key) {
+        int emptied = findSlot(keys, hexes, mask, key);
+        if (hexes[emptied] == null) {
+            return;
+        }
+
+        hexes[emptied] = null;
+        size--;
+
+        int slot = emptied;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (hexes[slot] == null) {
+                return;
+            }
+
+            int home = PackedLocation.hash(keys[slot]) & mask;
+            boolean homeIsOutsideGap = emptied <= slot ? (home <= emptied || home > slot) : (home <= emptied && home > slot);
+
+            if (homeIsOutsideGap) {
+                keys[emptied] = keys[slot];
+                hexes[emptied] = hexes[slot];
+                hexes[slot] = null;
+                emptied = slot;
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return keys.length;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        Hex[] oldHexes = hexes;
+
+        int newCapacity = oldKeys.length << 1;
+        keys = new long[newCapacity];
+        hexes = new Hex[newCapacity];
+        mask = newCapacity - 1;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldHexes[i] != null) {
+                int slot = findSlot(keys, hexes, mask, oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                hexes[slot] = oldHexes[i];
+            }
+        }
+    }
+
+    private static int findSlot(long[] keys, Hex[] hexes, int mask, long key) {
+        int slot = PackedLocation.hash(key) & mask;
+
+        while (hexes[slot] != null && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+}
@@ -0,0 +1,122 @@
+package game.world;
+
+import game.tile.PackedLocation;
+
+import java.util.function.LongConsumer;
+
+public class PackedCoordinateSet {
+    private static final int INITIAL_CAPACITY = 32;
+    private static final int MAX_LOAD_PERCENT = 50;
+
+    private long[] keys;
+    private boolean[] occupied;
+    private int size;
+    private int mask;
+
+    public PackedCoordinateSet() {
+        keys = new long[INITIAL_CAPACITY];
+        occupied = new boolean[INITIAL_CAPACITY];
+        mask = INITIAL_CAPACITY - 1;
+        size = 0;
+    }
+
+    public boolean add(int x, int y) {
+        return add(PackedLocation.pack(x, y));
+    }
+
+    public boolean remove(int x, int y) {
+        return remove(PackedLocation.pack(x, y));
+    }
+
+    public boolean contains(int x, int y) {
+        return contains(PackedLocation.pack(x, y));
+    }
+
+    public boolean contains(long key) {
+        return occupied[findSlot(key)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void forEach(LongConsumer consumer) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (occupied[slot]) {
+                consumer.accept(keys[slot]);
+            }
+        }
+    }
+
+    public boolean add(long key) {
+        int slot = findSlot(key);
+        if (occupied[slot]) {
+            return false;
+        }
+
+        keys[slot] = key;
+        occupied[slot] = true;
+        size++;
+
+        if (size * 100 > keys.length * MAX_LOAD_PERCENT) {
+            grow();
+        }
+
+        return true;
+    }
+
+    public boolean remove(long key) {
+        int emptied = findSlot(key);
+        if (!occupied[emptied]) {
+            return false;
+        }
+
+        occupied[emptied] = false;
+        size--;
+
+        int slot = emptied;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (!occupied[slot]) {
+                return true;
+            }
+
+            int home = PackedLocation.hash(keys[slot]) & mask;
+            boolean homeIsOutsideGap = emptied <= slot ? (home <= emptied || home > slot) : (home <= emptied && home > slot);
+
+            if (homeIsOutsideGap) {
+                keys[emptied] = keys[slot];
+                occupied[emptied] = true;
+                occupied[slot] = false;
+                emptied = slot;
+            }
+        }
+    }
+
+    private int findSlot(long key) {
+        int slot = PackedLocation.hash(key) & mask;
+
+        while (occupied[slot] && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        boolean[] oldOccupied = occupied;
+
+        keys = new long[oldKeys.length << 1];
+        occupied = new boolean[oldKeys.length << 1];
+        mask = keys.length - 1;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldOccupied[i]) {
+                int slot = findSlot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                occupied[slot] = true;
+            }
+        }
+    }
+}
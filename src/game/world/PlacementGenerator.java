@@ -0,0 +1,159 @@
+package game.world;
+
+import game.tile.Hex;
+import game.tile.Location;
+import game.tile.PackedLocation;
+import game.tile.Terrain;
+import game.tile.orientation.TileOrientation;
+import game.world.rules.TileRulesManager;
+
+import java.util.ArrayList;
+
+public class PlacementGenerator {
+    public interface PlacementVisitor {
+        void visit(int volcanoX, int volcanoY, int height, TileOrientation tileOrientation);
+    }
+
+    private static final TileOrientation[] TILE_ORIENTATIONS = TileOrientation.values();
+    private static final int HEXES_PER_TILE = 3;
+
+    // [tile orientation ordinal][hex of tile] -> offset of that hex from the volcano
+    private static final int[][] X_OFFSETS_FROM_VOLCANO = new int[TILE_ORIENTATIONS.length][HEXES_PER_TILE];
+    private static final int[][] Y_OFFSETS_FROM_VOLCANO = new int[TILE_ORIENTATIONS.length][HEXES_PER_TILE];
+
+    static {
+        for (TileOrientation tileOrientation : TILE_ORIENTATIONS) {
+            int left = CoordinateSystemHelper.getLeftHexOrientationFromTileOrientation(tileOrientation).getOrientationInteger();
+            int right = CoordinateSystemHelper.getRightHexOrientationFromTileOrientation(tileOrientation).getOrientationInteger();
+            int ordinal = tileOrientation.ordinal();
+
+            X_OFFSETS_FROM_VOLCANO[ordinal][1] = CoordinateSystemHelper.getAdjacentXCoordinate(0, left);
+            Y_OFFSETS_FROM_VOLCANO[ordinal][1] = CoordinateSystemHelper.getAdjacentYCoordinate(0, left);
+            X_OFFSETS_FROM_VOLCANO[ordinal][2] = CoordinateSystemHelper.getAdjacentXCoordinate(0, right);
+            Y_OFFSETS_FROM_VOLCANO[ordinal][2] = CoordinateSystemHelper.getAdjacentYCoordinate(0, right);
+        }
+    }
+
+    private TileManager tileManager;
+    private PackedCoordinateSet emptyBaseLayerFrontier;
+    private PackedCoordinateSet exposedVolcanoes;
+
+    public PlacementGenerator(TileManager tileManager) {
+        this.tileManager = tileManager;
+        this.emptyBaseLayerFrontier = new PackedCoordinateSet();
+        this.exposedVolcanoes = new PackedCoordinateSet();
+    }
+
+    void hexPlaced(Hex hex, long packedLocation) {
+        UndoJournal undoJournal = tileManager.getUndoJournal();
+
+        if (emptyBaseLayerFrontier.remove(packedLocation) && undoJournal.isRecording()) {
+            undoJournal.record(() -> emptyBaseLayerFrontier.add(packedLocation));
+        }
+
+        if (hex.getTerrain() == Terrain.VOLCANO) {
+            if (exposedVolcanoes.add(packedLocation) && undoJournal.isRecording()) {
+                undoJournal.record(() -> exposedVolcanoes.remove(packedLocation));
+            }
+        }
+        else {
+            if (exposedVolcanoes.remove(packedLocation) && undoJournal.isRecording()) {
+                undoJournal.record(() -> exposedVolcanoes.add(packedLocation));
+            }
+        }
+
+        for (int orientation = 0; orientation < CoordinateSystemHelper.NUMBER_OF_ADJACENT_HEXES; orientation++) {
+            long adjacentLocation = CoordinateSystemHelper.getAdjacentPackedLocation(packedLocation, orientation);
+
+            if (tileManager.findHexRegardlessOfHeight(adjacentLocation) == null
+                    && emptyBaseLayerFrontier.add(adjacentLocation) && undoJournal.isRecording()) {
+                undoJournal.record(() -> emptyBaseLayerFrontier.remove(adjacentLocation));
+            }
+        }
+    }
+
+    public int getFrontierSize() {
+        return emptyBaseLayerFrontier.size();
+    }
+
+    public int getNumberOfExposedVolcanoes() {
+        return exposedVolcanoes.size();
+    }
+
+    public ArrayList<TilePlacement> getLegalPlacements(TileRulesManager tileRulesManager) {
+        ArrayList<TilePlacement> legalPlacements = new ArrayList<>();
+
+        forEachLegalPlacement(tileRulesManager, (volcanoX, volcanoY, height, tileOrientation) ->
+                legalPlacements.add(new TilePlacement(new Location(volcanoX, volcanoY, height), tileOrientation)));
+
+        return legalPlacements;
+    }
+
+    public void forEachLegalPlacement(TileRulesManager tileRulesManager, PlacementVisitor visitor) {
+        emptyBaseLayerFrontier.forEach(frontierCell ->
+                visitBaseLayerPlacementsTouching(frontierCell, tileRulesManager, visitor));
+
+        exposedVolcanoes.forEach(volcanoCell ->
+                visitPlacementsStackedOn(volcanoCell, tileRulesManager, visitor));
+    }
+
+    private void visitBaseLayerPlacementsTouching(long frontierCell, TileRulesManager tileRulesManager, PlacementVisitor visitor) {
+        int frontierX = PackedLocation.getxCoordinate(frontierCell);
+        int frontierY = PackedLocation.getyCoordinate(frontierCell);
+
+        for (TileOrientation tileOrientation : TILE_ORIENTATIONS) {
+            int[] xOffsets = X_OFFSETS_FROM_VOLCANO[tileOrientation.ordinal()];
+            int[] yOffsets = Y_OFFSETS_FROM_VOLCANO[tileOrientation.ordinal()];
+
+            for (int hexOfTile = 0; hexOfTile < HEXES_PER_TILE; hexOfTile++) {
+                int volcanoX = frontierX - xOffsets[hexOfTile];
+                int volcanoY = frontierY - yOffsets[hexOfTile];
+
+                if (placementAlreadyVisitedFromEarlierHex(volcanoX, volcanoY, xOffsets, yOffsets, hexOfTile)) {
+                    continue;
+                }
+
+                if (!allHexesOfTileAreEmpty(volcanoX, volcanoY, xOffsets, yOffsets)) {
+                    continue;
+                }
+
+                if (tileRulesManager.checkTilePlacement(volcanoX, volcanoY, 0, tileOrientation).isLegal()) {
+                    visitor.visit(volcanoX, volcanoY, 0, tileOrientation);
+                }
+            }
+        }
+    }
+
+    // The same placement is reachable from every frontier cell it covers; only the first one in tile order reports it
+    private boolean placementAlreadyVisitedFromEarlierHex(int volcanoX, int volcanoY, int[] xOffsets, int[] yOffsets, int hexOfTile) {
+        for (int earlierHex = 0; earlierHex < hexOfTile; earlierHex++) {
+            if (emptyBaseLayerFrontier.contains(volcanoX + xOffsets[earlierHex], volcanoY + yOffsets[earlierHex])) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private boolean allHexesOfTileAreEmpty(int volcanoX, int volcanoY, int[] xOffsets, int[] yOffsets) {
+        for (int hexOfTile = 0; hexOfTile < HEXES_PER_TILE; hexOfTile++) {
+            if (tileManager.findHexRegardlessOfHeight(volcanoX + xOffsets[hexOfTile], volcanoY + yOffsets[hexOfTile]) != null) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void visitPlacementsStackedOn(long volcanoCell, TileRulesManager tileRulesManager, PlacementVisitor visitor) {
+        int volcanoX = PackedLocation.getxCoordinate(volcanoCell);
+        int volcanoY = PackedLocation.getyCoordinate(volcanoCell);
+        int height = tileManager.findHexRegardlessOfHeight(volcanoX, volcanoY).getHeight() + 1;
+
+        for (TileOrientation tileOrientation : TILE_ORIENTATIONS) {
+            if (tileRulesManager.checkTilePlacement(volcanoX, volcanoY, height, tileOrientation).isLegal()) {
+                visitor.visit(volcanoX, volcanoY, height, tileOrientation);
+            }
+        }
+    }
+}
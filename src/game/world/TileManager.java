@@ -4,22 +4,34 @@ import game.world.rules.exceptions.NoHexAtLocationException;
 import game.tile.FirstTile;
 import game.tile.Hex;
 import game.tile.Location;
+import game.tile.PackedLocation;
 import game.tile.Tile;
 
 import java.util.ArrayList;
 
 public class TileManager {
-    public Hex[][] hexCoordinateSystem;
+    private HexGrid hexCoordinateSystem;
     private ArrayList<Hex> allHexesInWorld;
-
-    private static final int SIZE_OF_BOARD = 200;
-    private static final int ORIGIN_OFFSET = SIZE_OF_BOARD/2;
+    private PlacementGenerator placementGenerator;
+    private BoardLayers boardLayers;
+    private UndoJournal undoJournal;
+    private long zobristHash;
+    private int nextTileId;
 
     private boolean firstTileHasBeenPlaced;
 
     public TileManager() {
-        hexCoordinateSystem = new Hex[SIZE_OF_BOARD][SIZE_OF_BOARD];
+        this(new UndoJournal());
+    }
+
+    public TileManager(UndoJournal undoJournal) {
+        this.undoJournal = undoJournal;
+        hexCoordinateSystem = new HexGrid();
         allHexesInWorld = new ArrayList<>();
+        placementGenerator = new PlacementGenerator(this);
+        boardLayers = new BoardLayers(undoJournal);
+        zobristHash = 0;
+        nextTileId = 0;
 
         firstTileHasBeenPlaced = false;
     }
@@ -29,32 +41,59 @@ public class TileManager {
         Hex volcanoHex = tile.getVolcanoHex();
         Hex leftHex = tile.getLeftHexRelativeToVolcano();
         Hex rightHex = tile.getRightHexRelativeToVolcano();
+        int tileId = ++nextTileId;
 
-        insertHexIntoCoordinateSystemAtLocation(volcanoHex, locationsOfTileHexes[0]);
-        insertHexIntoCoordinateSystemAtLocation(leftHex, locationsOfTileHexes[1]);
-        insertHexIntoCoordinateSystemAtLocation(rightHex, locationsOfTileHexes[2]);
+        insertHexIntoCoordinateSystemAtLocation(volcanoHex, locationsOfTileHexes[0], tileId);
+        insertHexIntoCoordinateSystemAtLocation(leftHex, locationsOfTileHexes[1], tileId);
+        insertHexIntoCoordinateSystemAtLocation(rightHex, locationsOfTileHexes[2], tileId);
 
         allHexesInWorld.add(volcanoHex);
         allHexesInWorld.add(leftHex);
         allHexesInWorld.add(rightHex);
 
+        if (undoJournal.isRecording()) {
+            undoJournal.record(() -> allHexesInWorld.subList(allHexesInWorld.size() - Tile.MAX_HEXES_PER_TILE, allHexesInWorld.size()).clear());
+        }
+
         volcanoHex.setLocation(locationsOfTileHexes[0]);
         leftHex.setLocation(locationsOfTileHexes[1]);
         rightHex.setLocation(locationsOfTileHexes[2]);
     }
 
-    private void insertHexIntoCoordinateSystemAtLocation(Hex hex, Location location) {
+    private void insertHexIntoCoordinateSystemAtLocation(Hex hex, Location location, int tileId) {
         int x = location.getxCoordinate();
         int y = location.getyCoordinate();
 
-        insertHexIntoCoordinateSystemAtCoordinates(hex, x, y);
+        insertHexIntoCoordinateSystemAtCoordinates(hex, x, y, tileId);
     }
 
-    private void insertHexIntoCoordinateSystemAtCoordinates(Hex hex, int x, int y) {
-        int arrayCoordinateX = getArrayCoordinateFromTrueCoordinate(x);
-        int arrayCoordinateY = getArrayCoordinateFromTrueCoordinate(y);
+    private void insertHexIntoCoordinateSystemAtCoordinates(Hex hex, int x, int y, int tileId) {
+        long packedLocation = PackedLocation.pack(x, y);
+        Hex hexUnderneath = hexCoordinateSystem.get(packedLocation);
+
+        if (undoJournal.isRecording()) {
+            long previousZobristHash = zobristHash;
+            undoJournal.record(() -> {
+                if (hexUnderneath == null) {
+                    hexCoordinateSystem.remove(packedLocation);
+                }
+                else {
+                    hexCoordinateSystem.put(packedLocation, hexUnderneath);
+                }
+                zobristHash = previousZobristHash;
+            });
+        }
+
+        int height = 0;
+        if (hexUnderneath != null) {
+            height = hexUnderneath.getHeight() + 1;
+            zobristHash ^= ZobristKeys.topHex(packedLocation, hexUnderneath.getHeight(), hexUnderneath.getTerrain());
+        }
+        zobristHash ^= ZobristKeys.topHex(packedLocation, height, hex.getTerrain());
 
-        hexCoordinateSystem[arrayCoordinateX][arrayCoordinateY] = hex;
+        hexCoordinateSystem.put(packedLocation, hex);
+        boardLayers.placeHex(hex, packedLocation, height, tileId);
+        placementGenerator.hexPlaced(hex, packedLocation);
     }
 
     public void placeFirstTile()  {
@@ -71,12 +110,13 @@ public class TileManager {
         Hex lake = firstTile.getLakeHex();
         Hex grasslands = firstTile.getGrasslandsHex();
         Hex rocky = firstTile.getRockyHex();
+        int tileId = ++nextTileId;
 
-        insertHexIntoCoordinateSystemAtLocation(volcano, startingLocationOfVolcanoHex);
-        insertHexIntoCoordinateSystemAtLocation(jungle, startingLocationOfJungleHex);
-        insertHexIntoCoordinateSystemAtLocation(lake, startingLocationOfLakeHex);
-        insertHexIntoCoordinateSystemAtLocation(grasslands, startingLocationOfGrasslandsHex);
-        insertHexIntoCoordinateSystemAtLocation(rocky, startingLocationOfRockyHex);
+        insertHexIntoCoordinateSystemAtLocation(volcano, startingLocationOfVolcanoHex, tileId);
+        insertHexIntoCoordinateSystemAtLocation(jungle, startingLocationOfJungleHex, tileId);
+        insertHexIntoCoordinateSystemAtLocation(lake, startingLocationOfLakeHex, tileId);
+        insertHexIntoCoordinateSystemAtLocation(grasslands, startingLocationOfGrasslandsHex, tileId);
+        insertHexIntoCoordinateSystemAtLocation(rocky, startingLocationOfRockyHex, tileId);
 
         volcano.setLocation(startingLocationOfVolcanoHex);
         jungle.setLocation(startingLocationOfJungleHex);
@@ -93,10 +133,6 @@ public class TileManager {
         firstTileHasBeenPlaced = true;
     }
 
-    private int getArrayCoordinateFromTrueCoordinate(int trueCoordinate) {
-        return trueCoordinate + ORIGIN_OFFSET;
-    }
-
     public Hex getHexByLocation(Location location) throws NoHexAtLocationException {
         int x = location.getxCoordinate();
         int y = location.getyCoordinate();
@@ -106,13 +142,9 @@ public class TileManager {
     }
 
     public Hex getHexByCoordinate(int x, int y, int z) throws NoHexAtLocationException {
+        Hex hex = findHexByCoordinate(x, y, z);
 
-        int arrayXCoordinate = getArrayCoordinateFromTrueCoordinate(x);
-        int arrayYCoordinate = getArrayCoordinateFromTrueCoordinate(y);
-
-        Hex hex = hexCoordinateSystem[arrayXCoordinate][arrayYCoordinate];
-
-        if (hexDoesNotExist(hex) || hexDoesNotMatchGivenHeight(hex, z)) {
+        if (hex == null) {
             String errorMessage = String.format("No hex at location (%d,%d,%d)", x,y,z);
             throw new NoHexAtLocationException(errorMessage);
         }
@@ -121,7 +153,7 @@ public class TileManager {
     }
 
     public Hex getHexRegardlessOfHeight(int x, int y) throws NoHexAtLocationException{
-        Hex hex = hexCoordinateSystem[getArrayCoordinateFromTrueCoordinate(x)][getArrayCoordinateFromTrueCoordinate(y)];
+        Hex hex = hexCoordinateSystem.get(x, y);
         if (hex == null) {
             throw new NoHexAtLocationException(String.format("No hex at %d %d", x, y));
         }
@@ -130,8 +162,36 @@ public class TileManager {
         }
     }
 
+    public Hex findHexByCoordinate(int x, int y, int z) {
+        Hex hex = hexCoordinateSystem.get(x, y);
+
+        if (hexDoesNotExist(hex) || hexDoesNotMatchGivenHeight(hex, z)) {
+            return null;
+        }
+
+        return hex;
+    }
+
+    public Hex findHexRegardlessOfHeight(int x, int y) {
+        return hexCoordinateSystem.get(x, y);
+    }
+
+    public Hex findHexRegardlessOfHeight(long packedLocation) {
+        return hexCoordinateSystem.get(packedLocation);
+    }
+
+    public Hex findHexByPackedLocation(long packedLocation, int z) {
+        Hex hex = hexCoordinateSystem.get(packedLocation);
+
+        if (hexDoesNotExist(hex) || hexDoesNotMatchGivenHeight(hex, z)) {
+            return null;
+        }
+
+        return hex;
+    }
+
     public int getHeightOfHexByCoordinates(int x, int y) throws NoHexAtLocationException{
-        Hex hex = hexCoordinateSystem[getArrayCoordinateFromTrueCoordinate(x)][getArrayCoordinateFromTrueCoordinate(y)];
+        Hex hex = hexCoordinateSystem.get(x, y);
         if (hex == null) {
             return 0;
         }
@@ -153,6 +213,22 @@ public class TileManager {
         return firstTileHasBeenPlaced;
     }
 
+    public long getZobristHash() {
+        return zobristHash;
+    }
+
+    public UndoJournal getUndoJournal() {
+        return undoJournal;
+    }
+
+    public BoardLayers getBoardLayers() {
+        return boardLayers;
+    }
+
+    public PlacementGenerator getPlacementGenerator() {
+        return placementGenerator;
+    }
+
     public ArrayList<Hex> getAllHexesInWorld() {
         return this.allHexesInWorld;
     }
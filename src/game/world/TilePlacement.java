@@ -0,0 +1,43 @@
+package game.world;
+
+import game.tile.Location;
+import game.tile.orientation.TileOrientation;
+
+public class TilePlacement {
+    private Location locationOfVolcano;
+    private TileOrientation tileOrientation;
+
+    public TilePlacement(Location locationOfVolcano, TileOrientation tileOrientation) {
+        this.locationOfVolcano = locationOfVolcano;
+        this.tileOrientation = tileOrientation;
+    }
+
+    public Location getLocationOfVolcano() {
+        return locationOfVolcano;
+    }
+
+    public TileOrientation getTileOrientation() {
+        return tileOrientation;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof TilePlacement)) {
+            return false;
+        }
+
+        TilePlacement otherPlacement = (TilePlacement) other;
+
+        return locationOfVolcano.equals(otherPlacement.locationOfVolcano) && tileOrientation == otherPlacement.tileOrientation;
+    }
+
+    @Override
+    public int hashCode() {
+        return locationOfVolcano.hashCode() * 31 + tileOrientation.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return locationOfVolcano + " " + tileOrientation;
+    }
+}
@@ -0,0 +1,51 @@
+package game.world;
+
+import java.util.ArrayList;
+
+public class UndoJournal {
+    private ArrayList<Runnable> undoActions;
+    private int openMarks;
+    private boolean undoing;
+
+    public UndoJournal() {
+        this.undoActions = new ArrayList<>();
+        this.openMarks = 0;
+        this.undoing = false;
+    }
+
+    public boolean isRecording() {
+        return openMarks > 0 && !undoing;
+    }
+
+    public int mark() {
+        openMarks++;
+        return undoActions.size();
+    }
+
+    public void record(Runnable undoAction) {
+        if (isRecording()) {
+            undoActions.add(undoAction);
+        }
+    }
+
+    public void undoTo(int mark) {
+        if (openMarks == 0) {
+            throw new IllegalStateException("There is no open mark to undo to");
+        }
+
+        undoing = true;
+        try {
+            for (int i = undoActions.size() - 1; i >= mark; i--) {
+                undoActions.remove(i).run();
+            }
+        }
+        finally {
+            undoing = false;
+            openMarks--;
+        }
+    }
+
+    public int size() {
+        return undoActions.size();
+    }
+}
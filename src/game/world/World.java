@@ -1,6 +1,8 @@
 package game.world;
 
 import game.settlements.Settlement;
+import game.settlements.SettlementManager;
+import game.world.rules.TilePlacementResult;
 import game.world.rules.TileRulesManager;
 import game.world.rules.exceptions.*;
 import game.tile.*;
@@ -12,9 +14,11 @@ import java.util.ArrayList;
 public class World {
     public TileManager tileManager;
     public TileRulesManager tileRulesManager;
+    public UndoJournal undoJournal;
 
     public World() {
-        tileManager = new TileManager();
+        undoJournal = new UndoJournal();
+        tileManager = new TileManager(undoJournal);
         tileRulesManager = new TileRulesManager(tileManager);
 
         tileManager.placeFirstTile();
@@ -34,30 +38,45 @@ public class World {
         boolean ableToPlaceTile = tileRulesManager.ableToPlaceTileAtLocation(tile, locationOfTileHexes);
 
         if(ableToPlaceTile) {
-            removeShamans(locationOfTileHexes);
+            nukeSettlementsUnderTile(locationOfTileHexes);
             tileManager.insertTileIntoCoordinateSystemAndAddHexesToList(tile, locationOfTileHexes);
         }
 
     }
 
-    private void removeShamans(Location[] locationOfTileHexes) throws NoHexAtLocationException {
-        if (locationOfTileHexes[0].getHeight() != 0) {
-            for (Location location : locationOfTileHexes) {
-                int x = location.getxCoordinate();
-                int y = location.getyCoordinate();
-                int zToCheck = location.getHeight() - 1;
+    private void nukeSettlementsUnderTile(Location[] locationOfTileHexes) {
+        if (locationOfTileHexes[0].getHeight() == 0) {
+            return;
+        }
 
-                Location locationToCheck = new Location(x,y,zToCheck);
+        ArrayList<Settlement> nukedSettlements = new ArrayList<>();
+        ArrayList<ArrayList<Hex>> nukedHexesBySettlement = new ArrayList<>();
 
-                Settlement settlement = getHexByLocation(locationToCheck).getSettlement();
-                if (settlement != null) {
-                    Location locationOfShaman = settlement.getShamanLocation();
-                    if (locationOfShaman.equals(locationToCheck)) {
-                        settlement.setShamanLocation(null);
-                        settlement.setHasShaman(false);
-                    }
-                }
+        for (Location location : locationOfTileHexes) {
+            Hex hexBelow = tileManager.findHexByCoordinate(location.getxCoordinate(), location.getyCoordinate(), location.getHeight() - 1);
+            if (hexBelow == null || hexBelow.getSettlement() == null) {
+                continue;
+            }
+
+            Settlement settlement = hexBelow.getSettlement();
+            int index = nukedSettlements.indexOf(settlement);
+            if (index < 0) {
+                nukedSettlements.add(settlement);
+                nukedHexesBySettlement.add(new ArrayList<>());
+                index = nukedSettlements.size() - 1;
+            }
+            nukedHexesBySettlement.get(index).add(hexBelow);
+        }
+
+        for (int i = 0; i < nukedSettlements.size(); i++) {
+            Settlement settlement = nukedSettlements.get(i);
+            SettlementManager settlementManager = settlement.getSettlementManager();
 
+            if (settlementManager != null) {
+                settlementManager.splitSettlementsIfNuked(settlement, nukedHexesBySettlement.get(i));
+            }
+            else {
+                settlement.splitAfterNuke(this, nukedHexesBySettlement.get(i));
             }
         }
     }
@@ -90,29 +109,40 @@ public class World {
         return tileManager.getHexRegardlessOfHeight(x, y);
     }
 
+    public Hex findHexByCoordinate(int x, int y, int z) {
+        return tileManager.findHexByCoordinate(x, y, z);
+    }
+
+    public Hex findHexByPackedLocation(long packedLocation, int z) {
+        return tileManager.findHexByPackedLocation(packedLocation, z);
+    }
+
+    public Hex findHexRegardlessOfHeight(int x, int y) {
+        return tileManager.findHexRegardlessOfHeight(x, y);
+    }
+
+    public Hex findHexRegardlessOfHeight(long packedLocation) {
+        return tileManager.findHexRegardlessOfHeight(packedLocation);
+    }
+
     public int getHeightOfHexByCoordinates(int x, int y) throws NoHexAtLocationException {
         return tileManager.getHeightOfHexByCoordinates(x, y);
     }
 
     public boolean ableToInsertTileIntoTileManager(Tile tile, Location locationOfVolcano, TileOrientation tileOrientation) {
-        Location locationOfLeftHex = CoordinateSystemHelper.getTentativeLeftHexLocation(locationOfVolcano, tileOrientation);
-        Location locationOfRightHex = CoordinateSystemHelper.getTentativeRightHexLocation(locationOfVolcano, tileOrientation);
-
-        Location[] locationOfTileHexes = new Location[Tile.MAX_HEXES_PER_TILE];
-        locationOfTileHexes[0] = locationOfVolcano;
-        locationOfTileHexes[1] = locationOfLeftHex;
-        locationOfTileHexes[2] = locationOfRightHex;
+        return checkTilePlacement(locationOfVolcano.getxCoordinate(), locationOfVolcano.getyCoordinate(), locationOfVolcano.getHeight(), tileOrientation).isLegal();
+    }
 
-        boolean ableToPlaceTile;
+    public TilePlacementResult checkTilePlacement(int volcanoX, int volcanoY, int height, TileOrientation tileOrientation) {
+        return tileRulesManager.checkTilePlacement(volcanoX, volcanoY, height, tileOrientation);
+    }
 
-        try {
-            ableToPlaceTile = tileRulesManager.ableToPlaceTileAtLocation(tile, locationOfTileHexes);
-        }
-        catch (IllegalTilePlacementException e) {
-            ableToPlaceTile = false;
-        }
+    public ArrayList<TilePlacement> getLegalTilePlacements() {
+        return tileManager.getPlacementGenerator().getLegalPlacements(tileRulesManager);
+    }
 
-        return ableToPlaceTile;
+    public void forEachLegalTilePlacement(PlacementGenerator.PlacementVisitor visitor) {
+        tileManager.getPlacementGenerator().forEachLegalPlacement(tileRulesManager, visitor);
     }
 
     public TileOrientation calculateTileOrientationToCoverVolcanoLocationAndAdjacentLocation(Location locationOfVolcano, Location locationOfAdjacent)
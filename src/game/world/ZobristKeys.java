@@ -0,0 +1,39 @@
+package game.world;
+
+import game.tile.Terrain;
+
+public final class ZobristKeys {
+    private static final long TOP_HEX_FEATURE = 0x1L;
+    private static final long OCCUPIED_HEX_FEATURE = 0x2L;
+    private static final long PIECES_FEATURE = 0x3L;
+    private static final long TILE_FEATURE = 0x4L;
+    private static final long SIDE_TO_MOVE_FEATURE = 0x5L;
+
+    public static final long OPPONENT_TO_MOVE = mix(SIDE_TO_MOVE_FEATURE);
+
+    private ZobristKeys() {}
+
+    public static long topHex(long packedLocation, int height, Terrain terrain) {
+        return mix(mix(packedLocation) ^ (TOP_HEX_FEATURE << 56) ^ ((long) height << 8) ^ terrain.ordinal());
+    }
+
+    public static long occupiedHex(long packedLocation) {
+        return mix(mix(packedLocation) ^ (OCCUPIED_HEX_FEATURE << 56));
+    }
+
+    public static long pieces(int score, int villagerCount, int totoroCount, int tigerCount, int shamanCount) {
+        long counts = ((long) score << 32) ^ ((long) villagerCount << 16) ^ (totoroCount << 8) ^ (tigerCount << 4) ^ shamanCount;
+        return mix(mix(counts) ^ (PIECES_FEATURE << 56));
+    }
+
+    public static long tile(Terrain leftHexTerrain, Terrain rightHexTerrain) {
+        return mix((TILE_FEATURE << 56) ^ (leftHexTerrain.ordinal() << 8) ^ rightHexTerrain.ordinal());
+    }
+
+    private static long mix(long z) {
+        z += 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,18 @@
+package game.world.rules;
+
+public enum TilePlacementResult {
+    LEGAL,
+    FIRST_TILE_NOT_PLACED,
+    HEX_ALREADY_AT_LOCATION,
+    TILE_NOT_ADJACENT_TO_ANOTHER,
+    AIR_BELOW_TILE,
+    TOP_VOLCANO_DOES_NOT_COVER_BOTTOM_VOLCANO,
+    TILE_COMPLETELY_OVERLAPS_ANOTHER,
+    TIGER_WOULD_BE_CRUSHED,
+    TOTORO_WOULD_BE_CRUSHED,
+    SETTLEMENT_WOULD_BE_DESTROYED;
+
+    public boolean isLegal() {
+        return this == LEGAL;
+    }
+}
@@ -1,10 +1,14 @@
 package game.world.rules;
 
 import game.settlements.Settlement;
+import game.world.BoardLayers;
 import game.world.CoordinateSystemHelper;
 import game.world.TileManager;
 import game.world.rules.exceptions.*;
 import game.tile.*;
+import game.tile.orientation.TileOrientation;
+import metrics.MetricsRegistry;
+import profiling.RuleCheckEvent;
 
 public class TileRulesManager {
     private TileManager tileManager;
@@ -14,106 +18,257 @@ public class TileRulesManager {
     }
 
     public boolean ableToPlaceTileAtLocation(Tile tile, Location[] locationsOfTileHexes) throws IllegalTilePlacementException {
+        RuleCheckEvent event = new RuleCheckEvent();
+        event.begin();
+
+        TilePlacementResult result = checkTilePlacement(locationsOfTileHexes);
+
+        event.result = result.name();
+        event.commitForCurrentMove();
+
+        if (!result.isLegal()) {
+            throw createPlacementException(result, locationsOfTileHexes);
+        }
+
+        return true;
+    }
+
+    public TilePlacementResult checkTilePlacement(Location[] locationsOfTileHexes) {
+        Location volcano = locationsOfTileHexes[0];
+        Location left = locationsOfTileHexes[1];
+        Location right = locationsOfTileHexes[2];
+
+        return checkTilePlacement(volcano.getxCoordinate(), volcano.getyCoordinate(),
+                left.getxCoordinate(), left.getyCoordinate(),
+                right.getxCoordinate(), right.getyCoordinate(),
+                volcano.getHeight());
+    }
+
+    public TilePlacementResult checkTilePlacement(int volcanoX, int volcanoY, int height, TileOrientation tileOrientation) {
+        int leftOrientation = CoordinateSystemHelper.getLeftHexOrientationFromTileOrientation(tileOrientation).getOrientationInteger();
+        int rightOrientation = CoordinateSystemHelper.getRightHexOrientationFromTileOrientation(tileOrientation).getOrientationInteger();
+
+        return checkTilePlacement(volcanoX, volcanoY,
+                CoordinateSystemHelper.getAdjacentXCoordinate(volcanoX, leftOrientation),
+                CoordinateSystemHelper.getAdjacentYCoordinate(volcanoY, leftOrientation),
+                CoordinateSystemHelper.getAdjacentXCoordinate(volcanoX, rightOrientation),
+                CoordinateSystemHelper.getAdjacentYCoordinate(volcanoY, rightOrientation),
+                height);
+    }
+
+    private TilePlacementResult checkTilePlacement(int volcanoX, int volcanoY, int leftX, int leftY, int rightX, int rightY, int height) {
+        MetricsRegistry.get().ruleChecked();
+
         if (!tileManager.getFirstTileHasBeenPlaced()) {
-            throw new SpecialFirstTileHasNotBeenPlacedException("Special first game.tile has not been placed!");
+            return TilePlacementResult.FIRST_TILE_NOT_PLACED;
         }
 
-        verifyNoHexesExistAtLocations(locationsOfTileHexes);
+        BoardLayers boardLayers = tileManager.getBoardLayers();
+        int volcanoCell = boardLayers.findCell(volcanoX, volcanoY);
+        int leftCell = boardLayers.findCell(leftX, leftY);
+        int rightCell = boardLayers.findCell(rightX, rightY);
+
+        if (boardLayers.getHeight(volcanoCell) == height
+                || boardLayers.getHeight(leftCell) == height
+                || boardLayers.getHeight(rightCell) == height) {
+            return TilePlacementResult.HEX_ALREADY_AT_LOCATION;
+        }
 
-        int zCoordinate = locationsOfTileHexes[0].getHeight();
-        if (zCoordinate > 0) {
-            return ableToPlaceTileOnUpperLayer(tile, locationsOfTileHexes);
+        if (height > 0) {
+            return checkUpperLayerPlacement(boardLayers, volcanoCell, leftCell, rightCell, height);
         }
         else {
-            return ableToPlaceTileOnBaseLayer(tile, locationsOfTileHexes);
+            return checkBaseLayerPlacement(volcanoX, volcanoY, leftX, leftY, rightX, rightY);
         }
     }
 
-    private boolean ableToPlaceTileOnUpperLayer(Tile tile, Location[] locationsOfTileHexes) throws IllegalTilePlacementException {
-        return noAirBelowTile(locationsOfTileHexes) && topVolcanoCoversOneBelow(locationsOfTileHexes[0]) && tileDoesNotLieCompletelyOnAnother(locationsOfTileHexes) && doesNotCoverTigersOrTotoros(locationsOfTileHexes);
-    }
+    private TilePlacementResult checkUpperLayerPlacement(BoardLayers boardLayers, int volcanoCell, int leftCell, int rightCell, int height) {
+        int heightBelow = height - 1;
 
+        if (boardLayers.getHeight(volcanoCell) != heightBelow
+                || boardLayers.getHeight(leftCell) != heightBelow
+                || boardLayers.getHeight(rightCell) != heightBelow) {
+            return TilePlacementResult.AIR_BELOW_TILE;
+        }
 
+        if (boardLayers.getTerrain(volcanoCell) != Terrain.VOLCANO) {
+            return TilePlacementResult.TOP_VOLCANO_DOES_NOT_COVER_BOTTOM_VOLCANO;
+        }
 
-    private boolean doesNotCoverTigersOrTotoros(Location[] locationsOfTileHexes) throws IllegalTilePlacementException {
-        for (Location location:locationsOfTileHexes) {
-            Hex hex = tileManager.getHexRegardlessOfHeight(location.getxCoordinate(), location.getyCoordinate());
+        int volcanoTileId = boardLayers.getTileId(volcanoCell);
+        if (volcanoTileId == boardLayers.getTileId(leftCell) && volcanoTileId == boardLayers.getTileId(rightCell)) {
+            return TilePlacementResult.TILE_COMPLETELY_OVERLAPS_ANOTHER;
+        }
 
-            Settlement settlement = hex.getSettlement();
+        TilePlacementResult result = checkCellDoesNotCrushTigerOrTotoro(boardLayers, volcanoCell);
+        if (result.isLegal()) {
+            result = checkCellDoesNotCrushTigerOrTotoro(boardLayers, leftCell);
+        }
+        if (result.isLegal()) {
+            result = checkCellDoesNotCrushTigerOrTotoro(boardLayers, rightCell);
+        }
 
-            if (settlement == null) {
-                continue;
-            }
+        boolean coversASettlement = boardLayers.getOccupant(volcanoCell) != BoardLayers.EMPTY
+                || boardLayers.getOccupant(leftCell) != BoardLayers.EMPTY
+                || boardLayers.getOccupant(rightCell) != BoardLayers.EMPTY;
+        if (result.isLegal() && coversASettlement) {
+            result = checkTileDoesNotDestroySettlement(boardLayers.getTopHex(volcanoCell),
+                    boardLayers.getTopHex(leftCell), boardLayers.getTopHex(rightCell));
+        }
 
-            Location locationOfTiger = settlement.getTigerLocation();
-            Location locationOfTotoro = settlement.getTotoroLocation();
+        return result;
+    }
 
-            if (locationOfTiger == null && locationOfTotoro == null) {
-                continue;
-            }
+    private TilePlacementResult checkTileDoesNotDestroySettlement(Hex volcanoBelow, Hex leftBelow, Hex rightBelow) {
+        if (settlementIsCompletelyCovered(volcanoBelow, volcanoBelow, leftBelow, rightBelow)
+                || settlementIsCompletelyCovered(leftBelow, volcanoBelow, leftBelow, rightBelow)
+                || settlementIsCompletelyCovered(rightBelow, volcanoBelow, leftBelow, rightBelow)) {
+            return TilePlacementResult.SETTLEMENT_WOULD_BE_DESTROYED;
+        }
 
-            if (locationOfTiger != null) {
-                if (location.getxCoordinate() == locationOfTiger.getxCoordinate() && location.getyCoordinate() == locationOfTiger.getyCoordinate()) {
-                    throw new TigerWouldBeCrushedException("Tiger would be crushed at " + locationOfTiger.toString());
-                }
-            }
+        return TilePlacementResult.LEGAL;
+    }
 
-            if (locationOfTotoro != null) {
-                if (location.getxCoordinate() == locationOfTotoro.getxCoordinate() && location.getyCoordinate() == locationOfTotoro.getyCoordinate()) {
-                    throw new TotoroWouldBeCrushedException("Totoro would be crushed at "+ locationOfTotoro.toString());
-                }
-            }
+    private boolean settlementIsCompletelyCovered(Hex coveredHex, Hex volcanoBelow, Hex leftBelow, Hex rightBelow) {
+        Settlement settlement = coveredHex.getSettlement();
 
+        if (settlement == null) {
+            return false;
         }
 
-        return true;
-    }
+        int coveredHexesOfSettlement = 0;
+        if (volcanoBelow.getSettlement() == settlement) {
+            coveredHexesOfSettlement++;
+        }
+        if (leftBelow.getSettlement() == settlement) {
+            coveredHexesOfSettlement++;
+        }
+        if (rightBelow.getSettlement() == settlement) {
+            coveredHexesOfSettlement++;
+        }
 
+        return settlement.getSettlementSize() <= coveredHexesOfSettlement;
+    }
 
-    private void verifyNoHexesExistAtLocations(Location[] locationOfHexes) throws HexAlreadyAtLocationException {
-        boolean ableToInsertTileIntoWorld = true;
-        Location notEmptyLocation = null;
+    private TilePlacementResult checkCellDoesNotCrushTigerOrTotoro(BoardLayers boardLayers, int cell) {
+        byte occupant = boardLayers.getOccupant(cell);
 
-        if (!hexLocationIsEmpty(locationOfHexes[0])) {
-            ableToInsertTileIntoWorld = false;
-            notEmptyLocation = locationOfHexes[0];
+        if (occupant == BoardLayers.TIGER) {
+            return TilePlacementResult.TIGER_WOULD_BE_CRUSHED;
         }
 
-        if(!hexLocationIsEmpty(locationOfHexes[1])) {
-            ableToInsertTileIntoWorld = false;
-            notEmptyLocation = locationOfHexes[1];
+        if (occupant == BoardLayers.TOTORO) {
+            return TilePlacementResult.TOTORO_WOULD_BE_CRUSHED;
         }
 
-        if (!hexLocationIsEmpty(locationOfHexes[2])) {
-            ableToInsertTileIntoWorld = false;
-            notEmptyLocation = locationOfHexes[2];
+        return TilePlacementResult.LEGAL;
+    }
+
+    private boolean locationMatchesCoordinates(Location location, int x, int y) {
+        return location != null && location.getxCoordinate() == x && location.getyCoordinate() == y;
+    }
+
+    private TilePlacementResult checkBaseLayerPlacement(int volcanoX, int volcanoY, int leftX, int leftY, int rightX, int rightY) {
+        if (hexIsAdjacentToAnExistingHex(volcanoX, volcanoY)
+                || hexIsAdjacentToAnExistingHex(leftX, leftY)
+                || hexIsAdjacentToAnExistingHex(rightX, rightY)) {
+            return TilePlacementResult.LEGAL;
         }
 
-        if (ableToInsertTileIntoWorld) {
-            return;
+        return TilePlacementResult.TILE_NOT_ADJACENT_TO_ANOTHER;
+    }
+
+    private boolean hexIsAdjacentToAnExistingHex(int x, int y) {
+        BoardLayers boardLayers = tileManager.getBoardLayers();
+
+        for (int orientation = 0; orientation < CoordinateSystemHelper.NUMBER_OF_ADJACENT_HEXES; orientation++) {
+            int adjacentX = CoordinateSystemHelper.getAdjacentXCoordinate(x, orientation);
+            int adjacentY = CoordinateSystemHelper.getAdjacentYCoordinate(y, orientation);
+
+            if (boardLayers.hasHex(boardLayers.findCell(adjacentX, adjacentY))) {
+                return true;
+            }
         }
-        else {
 
-            String errorMessage = "Hex already exists at location " + notEmptyLocation.toString();
-            throw new HexAlreadyAtLocationException(errorMessage);
+        return false;
+    }
+
+    private boolean hexLocationIsEmpty(int x, int y, int z) {
+        BoardLayers boardLayers = tileManager.getBoardLayers();
+        return boardLayers.getHeight(boardLayers.findCell(x, y)) != z;
+    }
+
+    private IllegalTilePlacementException createPlacementException(TilePlacementResult result, Location[] locationsOfTileHexes) {
+        MetricsRegistry.get().tileRuleExceptionThrown();
+        Location locationOfVolcano = locationsOfTileHexes[0];
+
+        switch (result) {
+            case FIRST_TILE_NOT_PLACED:
+                return new SpecialFirstTileHasNotBeenPlacedException("Special first game.tile has not been placed!");
+
+            case HEX_ALREADY_AT_LOCATION:
+                Location notEmptyLocation = null;
+                for (Location location : locationsOfTileHexes) {
+                    if (!hexLocationIsEmpty(location.getxCoordinate(), location.getyCoordinate(), location.getHeight())) {
+                        notEmptyLocation = location;
+                    }
+                }
+                return new HexAlreadyAtLocationException("Hex already exists at location " + notEmptyLocation);
+
+            case TILE_NOT_ADJACENT_TO_ANOTHER:
+                return new TileNotAdjacentToAnotherException("Tile being placed is not adjacent to an existing game.tile "
+                        + locationsOfTileHexes[0] + locationsOfTileHexes[1] + locationsOfTileHexes[2]);
+
+            case AIR_BELOW_TILE:
+                return new AirBelowTileException("Air below game.tile");
+
+            case TOP_VOLCANO_DOES_NOT_COVER_BOTTOM_VOLCANO:
+                return new TopVolcanoDoesNotCoverBottomVolcanoException(String.format("Hex at (%d,%d,%d) is not volcano",
+                        locationOfVolcano.getxCoordinate(), locationOfVolcano.getyCoordinate(), locationOfVolcano.getHeight() - 1));
+
+            case TILE_COMPLETELY_OVERLAPS_ANOTHER:
+                return new TileCompletelyOverlapsAnotherException("Tile completely overlaps another");
+
+            case TIGER_WOULD_BE_CRUSHED:
+                return new TigerWouldBeCrushedException("Tiger would be crushed at " + findCrushedPieceLocation(locationsOfTileHexes, true));
+
+            case TOTORO_WOULD_BE_CRUSHED:
+                return new TotoroWouldBeCrushedException("Totoro would be crushed at " + findCrushedPieceLocation(locationsOfTileHexes, false));
+
+            case SETTLEMENT_WOULD_BE_DESTROYED:
+                return new SettlementWouldBeDestroyedException("Settlement would be completely destroyed");
+
+            default:
+                return new IllegalTilePlacementException("Illegal tile placement " + result);
         }
     }
 
-    private boolean ableToPlaceTileOnBaseLayer(Tile tile, Location[] locationsOfTileHexes) throws IllegalTilePlacementException {
-        return tileIsAdjacentToAnExistingTile(locationsOfTileHexes);
+    private Location findCrushedPieceLocation(Location[] locationsOfTileHexes, boolean lookingForTiger) {
+        for (Location location : locationsOfTileHexes) {
+            Hex hexBelow = tileManager.findHexRegardlessOfHeight(location.getxCoordinate(), location.getyCoordinate());
+            if (hexBelow == null || hexBelow.getSettlement() == null) {
+                continue;
+            }
+
+            Settlement settlement = hexBelow.getSettlement();
+            Location pieceLocation = lookingForTiger ? settlement.getTigerLocation() : settlement.getTotoroLocation();
+
+            if (locationMatchesCoordinates(pieceLocation, location.getxCoordinate(), location.getyCoordinate())) {
+                return pieceLocation;
+            }
+        }
+
+        return null;
     }
 
     public boolean noAirBelowTile(Location[] locationOfTileHexes) throws AirBelowTileException {
-        int zCoordinate = locationOfTileHexes[0].getHeight();
-        int zLayerToCheck = zCoordinate - 1;
+        int zLayerToCheck = locationOfTileHexes[0].getHeight() - 1;
 
-        try {
-            tileManager.getHexByCoordinate(locationOfTileHexes[0].getxCoordinate(), locationOfTileHexes[0].getyCoordinate(), zLayerToCheck);
-            tileManager.getHexByCoordinate(locationOfTileHexes[1].getxCoordinate(), locationOfTileHexes[1].getyCoordinate(), zLayerToCheck);
-            tileManager.getHexByCoordinate(locationOfTileHexes[2].getxCoordinate(), locationOfTileHexes[2].getyCoordinate(), zLayerToCheck);
-        }
-        catch (NoHexAtLocationException e) {
-            throw new AirBelowTileException("Air below game.tile");
+        for (Location location : locationOfTileHexes) {
+            if (hexLocationIsEmpty(location.getxCoordinate(), location.getyCoordinate(), zLayerToCheck)) {
+                MetricsRegistry.get().tileRuleExceptionThrown();
+                throw new AirBelowTileException("Air below game.tile");
+            }
         }
 
         return true;
@@ -124,35 +279,25 @@ public class TileRulesManager {
         int yCoordinate = locationOfVolcano.getyCoordinate();
         int zCoordinateToCheck = locationOfVolcano.getHeight() - 1;
         if (tileManager.getHexByCoordinate(xCoordinate,yCoordinate,zCoordinateToCheck).getTerrain() != Terrain.VOLCANO) {
+            MetricsRegistry.get().tileRuleExceptionThrown();
             throw new TopVolcanoDoesNotCoverBottomVolcanoException(String.format("Hex at (%d,%d,%d) is not volcano", xCoordinate,yCoordinate,zCoordinateToCheck));
         }
         return true;
     }
 
     public boolean tileDoesNotLieCompletelyOnAnother(Location[] locationOfTileHexes) throws IllegalTilePlacementException {
-
-        Tile tileOne;
-        Tile tileTwo;
-        Tile tileThree;
-
         int zCoordinateToCheck = locationOfTileHexes[0].getHeight() - 1;
 
         Location locationOne = locationOfTileHexes[0];
         Location locationTwo = locationOfTileHexes[1];
         Location locationThree = locationOfTileHexes[2];
 
-        Location locationOneToCheck = new Location(locationOne.getxCoordinate(), locationOne.getyCoordinate(), zCoordinateToCheck);
-        Location locationTwoToCheck = new Location(locationTwo.getxCoordinate(), locationTwo.getyCoordinate(), zCoordinateToCheck);
-        Location locationThreeToCheck = new Location(locationThree.getxCoordinate(), locationThree.getyCoordinate(), zCoordinateToCheck);
-
-
-        tileOne = tileManager.getHexByLocation(locationOneToCheck).getOwner();
-        tileTwo = tileManager.getHexByLocation(locationTwoToCheck).getOwner();
-        tileThree = tileManager.getHexByLocation(locationThreeToCheck).getOwner();
-
-
+        Tile tileOne = tileManager.getHexByCoordinate(locationOne.getxCoordinate(), locationOne.getyCoordinate(), zCoordinateToCheck).getOwner();
+        Tile tileTwo = tileManager.getHexByCoordinate(locationTwo.getxCoordinate(), locationTwo.getyCoordinate(), zCoordinateToCheck).getOwner();
+        Tile tileThree = tileManager.getHexByCoordinate(locationThree.getxCoordinate(), locationThree.getyCoordinate(), zCoordinateToCheck).getOwner();
 
         if (tileOne == tileTwo && tileOne == tileThree) {
+            MetricsRegistry.get().tileRuleExceptionThrown();
             throw new TileCompletelyOverlapsAnotherException("Tile completely overlaps another");
         }
         else {
@@ -161,33 +306,19 @@ public class TileRulesManager {
     }
 
     public boolean tileIsAdjacentToAnExistingTile(Location[] locationOfHexes) throws TileNotAdjacentToAnotherException {
-        Location[] adjecentHexLocations = CoordinateSystemHelper.getAdjacentHexLocationsToTile(locationOfHexes);
-
-        for (int i = 0; i < 12; i++) {
-            try {
-                if (hexExistsAtLocationOrBaseLevelAtLocation(adjecentHexLocations[i])) {
-                    return true;
-                }
-            }
-            catch (NoHexAtLocationException e) {
-                continue;
+        for (Location location : locationOfHexes) {
+            if (hexIsAdjacentToAnExistingHex(location.getxCoordinate(), location.getyCoordinate())) {
+                return true;
             }
         }
-        throw new TileNotAdjacentToAnotherException("Tile being placed is not adjacent to an existing game.tile " + locationOfHexes[0] + locationOfHexes[1] + locationOfHexes[2]);
-    }
 
-    private boolean hexLocationIsEmpty(Location location) {
-        try {
-            Hex hex = tileManager.getHexByLocation(location);
-        }
-        catch (NoHexAtLocationException e) {
-            return true;
-        }
-        return false;
+        MetricsRegistry.get().tileRuleExceptionThrown();
+        throw new TileNotAdjacentToAnotherException("Tile being placed is not adjacent to an existing game.tile " + locationOfHexes[0] + locationOfHexes[1] + locationOfHexes[2]);
     }
 
     public boolean ableToPlaceFirstTile() throws SpecialFirstTileHasAlreadyBeenPlacedExeption {
         if (tileManager.getFirstTileHasBeenPlaced()) {
+            MetricsRegistry.get().tileRuleExceptionThrown();
             throw new SpecialFirstTileHasAlreadyBeenPlacedExeption("Special first game.tile has already been placed!");
         }
 
@@ -195,10 +326,4 @@ public class TileRulesManager {
             return true;
         }
     }
-
-    private boolean hexExistsAtLocationOrBaseLevelAtLocation(Location location) throws NoHexAtLocationException {
-        Hex hex = tileManager.getHexRegardlessOfHeight(location.getxCoordinate(), location.getyCoordinate());
-        return true;
-    }
 }
-
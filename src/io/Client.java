@@ -1,10 +1,16 @@
 package io;
 
+import logging.Log;
+import metrics.MetricsRegistry;
+
 import java.io.*;
 import java.net.*;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 public class Client extends Thread {
+    private static final long RESPONSE_POLL_INTERVAL_IN_MILLISECONDS = 100;
+
     private String hostName;
     private int portNumber;
     private BlockingQueue<String> stringsFromServerQueue;
@@ -27,46 +33,58 @@ public class Client extends Thread {
                 PrintWriter out = new PrintWriter(kkSocket.getOutputStream(), true);
                 BufferedReader in = new BufferedReader(new InputStreamReader(kkSocket.getInputStream()));
         ) {
-            String stringFromServer;
-            while (!disconnect && ((stringFromServer = in.readLine()) != null)) {
-                System.out.println("Server: " + stringFromServer);
+            kkSocket.setTcpNoDelay(true);
 
-                stringsFromServerQueue.add(stringFromServer);
+            Thread responseWriter = new Thread(() -> writeResponsesToServer(out));
+            responseWriter.setDaemon(true);
+            responseWriter.start();
 
-                String responseToServer = waitForResponseToServer();
-                if (responseToServer.equals("")) {
-                    continue;
-                }
-
-                System.out.println("Client: " + responseToServer);
-                out.println(responseToServer);
-            }
+            readStringsFromServer(in);
         } catch (UnknownHostException e) {
-            System.err.println("Don't know about host STRANGER DANGER" + hostName);
+            Log.error("Don't know about host STRANGER DANGER" + hostName);
+            Log.flush();
             System.exit(1);
         } catch (IOException e) {
-            System.err.println("Couldn't get I/O for the connection to " +
-                    hostName);
+            Log.error("Couldn't get I/O for the connection to " + hostName);
+            Log.flush();
             System.exit(1);
         }
     }
 
-    private String waitForResponseToServer() {
-        while(true) {
-            String responseToServer = null;
+    private void readStringsFromServer(BufferedReader in) throws IOException {
+        String stringFromServer;
+        while (!disconnect && ((stringFromServer = in.readLine()) != null)) {
+            Log.info("Server: %s", stringFromServer);
 
             try {
-                responseToServer = stringsToServerQueue.take();
+                stringsFromServerQueue.put(stringFromServer);
             }
-            catch(InterruptedException e) {
+            catch (InterruptedException e) {
+                return;
             }
+        }
+    }
 
-            if (responseToServer != null) {
-                return responseToServer;
+    private void writeResponsesToServer(PrintWriter out) {
+        while (!disconnect) {
+            String responseToServer = waitForResponseToServer();
+            if (responseToServer == null) {
+                continue;
             }
-        }
 
+            Log.info("Client: %s", responseToServer);
+            out.println(responseToServer);
+            MetricsRegistry.get().replyWritten(responseToServer);
+        }
+    }
 
+    private String waitForResponseToServer() {
+        try {
+            return stringsToServerQueue.poll(RESPONSE_POLL_INTERVAL_IN_MILLISECONDS, TimeUnit.MILLISECONDS);
+        }
+        catch (InterruptedException e) {
+            return null;
+        }
     }
 
     public void disconnect() {
@@ -0,0 +1,150 @@
+package io;
+
+import metrics.LatencyHistogram;
+
+import java.util.Arrays;
+
+public class ReplayReport {
+    private long[] decisionLatencies;
+    private int numberOfDecisions;
+    private int missedDeadlines;
+    private int illegalMoves;
+    private int outcomesReceived;
+    private int linesSent;
+
+    private long startTime;
+    private long endTime;
+
+    private LatencyHistogram clientTurnaroundTimes;
+    private LatencyHistogram clientParseTimes;
+    private LatencyHistogram clientEncodeTimes;
+
+    public ReplayReport() {
+        this.decisionLatencies = new long[256];
+        this.numberOfDecisions = 0;
+        this.missedDeadlines = 0;
+        this.illegalMoves = 0;
+        this.outcomesReceived = 0;
+        this.linesSent = 0;
+        this.clientTurnaroundTimes = new LatencyHistogram();
+        this.clientParseTimes = new LatencyHistogram();
+        this.clientEncodeTimes = new LatencyHistogram();
+    }
+
+    void start() {
+        startTime = System.nanoTime();
+    }
+
+    void finish() {
+        endTime = System.nanoTime();
+    }
+
+    void recordLineSent() {
+        linesSent++;
+    }
+
+    void recordDecision(long latencyInNanoseconds, boolean missedDeadline) {
+        if (numberOfDecisions == decisionLatencies.length) {
+            decisionLatencies = Arrays.copyOf(decisionLatencies, numberOfDecisions * 2);
+        }
+        decisionLatencies[numberOfDecisions++] = latencyInNanoseconds;
+
+        if (missedDeadline) {
+            missedDeadlines++;
+        }
+    }
+
+    void recordIllegalMove() {
+        illegalMoves++;
+    }
+
+    void recordOutcome() {
+        outcomesReceived++;
+    }
+
+    void setClientTurnaroundTimes(LatencyHistogram clientTurnaroundTimes) {
+        this.clientTurnaroundTimes = clientTurnaroundTimes;
+    }
+
+    void setClientParseTimes(LatencyHistogram clientParseTimes) {
+        this.clientParseTimes = clientParseTimes;
+    }
+
+    void setClientEncodeTimes(LatencyHistogram clientEncodeTimes) {
+        this.clientEncodeTimes = clientEncodeTimes;
+    }
+
+    public int getNumberOfDecisions() {
+        return numberOfDecisions;
+    }
+
+    public int getMissedDeadlines() {
+        return missedDeadlines;
+    }
+
+    public int getIllegalMoves() {
+        return illegalMoves;
+    }
+
+    public int getOutcomesReceived() {
+        return outcomesReceived;
+    }
+
+    public int getLinesSent() {
+        return linesSent;
+    }
+
+    public LatencyHistogram getClientTurnaroundTimes() {
+        return clientTurnaroundTimes;
+    }
+
+    public LatencyHistogram getClientParseTimes() {
+        return clientParseTimes;
+    }
+
+    public LatencyHistogram getClientEncodeTimes() {
+        return clientEncodeTimes;
+    }
+
+    public long getDecisionLatencyPercentile(double percentile) {
+        return percentile(Arrays.copyOf(decisionLatencies, numberOfDecisions), percentile);
+    }
+
+    public double getDecisionsPerSecond() {
+        double elapsedSeconds = (endTime - startTime) / 1e9;
+        return elapsedSeconds > 0 ? numberOfDecisions / elapsedSeconds : 0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+
+        report.append(String.format("decisions: %d (%.1f/s), missed deadlines: %d, illegal moves: %d, outcomes: %d, lines sent: %d%n",
+                numberOfDecisions, getDecisionsPerSecond(), missedDeadlines, illegalMoves, outcomesReceived, linesSent));
+        report.append(String.format("decision latency ms: p50 %.2f  p90 %.2f  p99 %.2f  max %.2f%n",
+                getDecisionLatencyPercentile(50) / 1e6, getDecisionLatencyPercentile(90) / 1e6,
+                getDecisionLatencyPercentile(99) / 1e6, getDecisionLatencyPercentile(100) / 1e6));
+        if (clientTurnaroundTimes.getCount() == 0) {
+            report.append("client timings: not available, the client ran in another JVM");
+        }
+        else {
+            report.append(String.format("client command to reply %s%n", clientTurnaroundTimes.getSummary()));
+            report.append(String.format("client parse %s%n", clientParseTimes.getSummaryInMicroseconds()));
+            report.append(String.format("client encode %s", clientEncodeTimes.getSummaryInMicroseconds()));
+        }
+
+        return report.toString();
+    }
+
+    private static long percentile(long[] values, double percentile) {
+        if (values.length == 0) {
+            return 0;
+        }
+
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
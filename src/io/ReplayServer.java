@@ -0,0 +1,354 @@
+package io;
+
+import game.Game;
+import game.search.SearchAi;
+import game.tile.Terrain;
+import game.tile.Tile;
+import game.world.rules.exceptions.IllegalTilePlacementException;
+import metrics.MetricsRegistry;
+import thread.message.GameActionMessage;
+import thread.message.GameCommandMessage;
+import thread.message.Message;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Random;
+
+/**
+ * Local stand-in for the tournament server, for load-testing the client.
+ */
+public class ReplayServer extends Thread {
+    private static final Terrain[] TILE_TERRAINS = {Terrain.JUNGLE, Terrain.LAKE, Terrain.GRASSLANDS, Terrain.ROCKY};
+    private static final String[] SERVER_TERRAIN_NAMES = {"JUNGLE", "LAKE", "GRASS", "ROCK"};
+    private static final long MINIMUM_READ_TIMEOUT_IN_MILLISECONDS = 10000;
+
+    private ServerSocket serverSocket;
+    private ReplaySettings settings;
+    private ReplayReport report;
+    private Random random;
+
+    private PrintWriter out;
+    private BufferedReader in;
+
+    private LinkedHashMap<String, ReplayGame> gamesAwaitingMove;
+    private LinkedHashMap<String, ReplayGame> gamesAwaitingOutcome;
+
+    private HashSet<String> gamesCommanded;
+
+    public ReplayServer(ServerSocket serverSocket, ReplaySettings settings) {
+        this.serverSocket = serverSocket;
+        this.settings = settings;
+        this.report = new ReplayReport();
+        this.random = new Random(settings.seed);
+
+        this.gamesAwaitingMove = new LinkedHashMap<>();
+        this.gamesAwaitingOutcome = new LinkedHashMap<>();
+
+        this.gamesCommanded = new HashSet<>();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: java io.ReplayServer <port number> [--log <client log>] " +
+                    "[matches] [games per match] [moves per game] [move time in seconds] [pause between moves in milliseconds]");
+            System.exit(1);
+        }
+
+        ReplaySettings settings = new ReplaySettings();
+        if (args.length >= 3 && args[1].equals("--log")) {
+            settings.recordedLines = readRecordedLines(args[2]);
+        }
+        else {
+            if (args.length >= 2) settings.numberOfMatches = Integer.parseInt(args[1]);
+            if (args.length >= 3) settings.gamesPerMatch = Integer.parseInt(args[2]);
+            if (args.length >= 4) settings.movesPerGame = Integer.parseInt(args[3]);
+            if (args.length >= 5) settings.moveTimeInSeconds = Double.parseDouble(args[4]);
+            if (args.length >= 6) settings.pauseBetweenMovesInMilliseconds = Long.parseLong(args[5]);
+        }
+
+        ReplayServer server = new ReplayServer(new ServerSocket(Integer.parseInt(args[0])), settings);
+        server.run();
+
+        System.out.println(server.getReport());
+    }
+
+    public static ArrayList<String> readRecordedLines(String logFile) throws IOException {
+        String serverPrefix = "Server: ";
+        ArrayList<String> recordedLines = new ArrayList<>();
+
+        for (String line : Files.readAllLines(Paths.get(logFile))) {
+            if (line.startsWith(serverPrefix)) {
+                recordedLines.add(line.substring(serverPrefix.length()));
+            }
+        }
+
+        return recordedLines;
+    }
+
+    @Override
+    public void run() {
+        try (
+                ServerSocket listening = serverSocket;
+                Socket clientSocket = listening.accept();
+                PrintWriter out = new PrintWriter(clientSocket.getOutputStream(), true);
+                BufferedReader in = new BufferedReader(new InputStreamReader(clientSocket.getInputStream()));
+        ) {
+            clientSocket.setTcpNoDelay(true);
+            clientSocket.setSoTimeout((int) Math.max(MINIMUM_READ_TIMEOUT_IN_MILLISECONDS, settings.moveTimeInSeconds * 10000));
+            this.out = out;
+            this.in = in;
+
+            MetricsRegistry.get().reset();
+            report.start();
+            if (settings.recordedLines != null) {
+                replayRecordedLines();
+            }
+            else {
+                playTournament();
+            }
+            report.finish();
+        }
+        catch (IOException e) {
+            report.finish();
+            System.err.println(String.format("Replay stopped: %s", e.getMessage()));
+        }
+
+        report.setClientTurnaroundTimes(MetricsRegistry.get().getMoveTurnaroundTimes());
+        report.setClientParseTimes(MetricsRegistry.get().getParseTimes());
+        report.setClientEncodeTimes(MetricsRegistry.get().getEncodeTimes());
+    }
+
+    public ReplayReport getReport() {
+        return report;
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    private void replayRecordedLines() throws IOException {
+        for (String line : settings.recordedLines) {
+            Message message = ServerToClientParser.parseServerInputAndComposeMessage(line);
+
+            if (message instanceof GameCommandMessage) {
+                GameCommandMessage command = (GameCommandMessage) message;
+                ReplayGame game = new ReplayGame(command.getGameId(), null);
+                game.moveTimeInSeconds = command.getMoveTime();
+
+                send(line);
+                game.commandSentAt = System.nanoTime();
+                gamesAwaitingMove.put(game.gameId, game);
+                gamesCommanded.add(game.gameId);
+            }
+            else if (line.startsWith("GAME") && line.contains(ServerStrings.GAME_OVER)) {
+                send(line);
+
+                String gameId = gameIdOf(line);
+                if (gamesCommanded.contains(gameId)) {
+                    gamesAwaitingOutcome.put(gameId, new ReplayGame(gameId, null));
+                }
+            }
+            else {
+                send(line);
+                if (line.startsWith(ServerStrings.WELCOME) || line.startsWith(ServerStrings.TWO_SHALL_ENTER)) {
+                    readLineFromClient();
+                }
+            }
+
+            while (!gamesAwaitingMove.isEmpty() || !gamesAwaitingOutcome.isEmpty()) {
+                String reply = readLineFromClient();
+                if (isOutcome(reply)) {
+                    gamesAwaitingOutcome.remove(gameIdOf(reply));
+                    report.recordOutcome();
+                }
+                else if (isMove(reply)) {
+                    ReplayGame game = gamesAwaitingMove.remove(gameIdOf(reply));
+                    if (game != null) {
+                        recordDecision(game, reply);
+                    }
+                }
+            }
+        }
+    }
+
+    private void playTournament() throws IOException {
+        send(ServerStrings.WELCOME);
+        readLineFromClient();
+        send(ServerStrings.TWO_SHALL_ENTER);
+        readLineFromClient();
+
+        send(String.format("%s %s", ServerStrings.WAIT_FOR_THE_TOURNAMENT, settings.playerId));
+        send(String.format("%s 1 YOU WILL PLAY %d MATCHES", ServerStrings.NEW_CHALLENGE, settings.numberOfMatches));
+
+        for (int match = 1; match <= settings.numberOfMatches; match++) {
+            send(String.format("%s %d OF %d", ServerStrings.BEGIN_ROUND, match, settings.numberOfMatches));
+            send(String.format("%s BEGINNING NOW YOUR OPPONENT: PLAYER %s", ServerStrings.NEW_MATCH, settings.opponentPlayerId));
+
+            playMatch(match);
+
+            send(String.format("END OF ROUND %d OF %d", match, settings.numberOfMatches));
+        }
+
+        send("END OF CHALLENGES");
+        send("THANK YOU FOR PLAYING! GOODBYE");
+    }
+
+    private void playMatch(int match) throws IOException {
+        for (int gameNumber = 0; gameNumber < settings.gamesPerMatch; gameNumber++) {
+            Game shadowGame = new Game();
+            ReplayGame game = new ReplayGame(String.format("m%dg%d", match, gameNumber), shadowGame);
+            game.opponentAi = new SearchAi(shadowGame, 1);
+            game.moveTimeInSeconds = settings.moveTimeInSeconds;
+
+            sendMoveCommand(game);
+        }
+
+        while (!gamesAwaitingMove.isEmpty() || !gamesAwaitingOutcome.isEmpty()) {
+            String reply = readLineFromClient();
+
+            if (isOutcome(reply)) {
+                String gameId = gameIdOf(reply);
+                if (gamesAwaitingOutcome.remove(gameId) != null) {
+                    report.recordOutcome();
+                    send(reply);
+                }
+            }
+            else if (isMove(reply)) {
+                ReplayGame game = gamesAwaitingMove.remove(gameIdOf(reply));
+                if (game != null) {
+                    playOpponentTurn(game, recordDecision(game, reply));
+                }
+            }
+        }
+    }
+
+    private void playOpponentTurn(ReplayGame game, GameActionMessage ourMove) throws IOException {
+        try {
+            game.shadowGame.applyAction(game.shadowGame.opponent, ourMove);
+        }
+        catch (IllegalTilePlacementException e) {
+            report.recordIllegalMove();
+            send(String.format("GAME %s MOVE %d PLAYER %s FORFEITED: ILLEGAL TILE PLACEMENT", game.gameId, game.moveNumber, settings.playerId));
+            endGame(game);
+            return;
+        }
+
+        send(withPlayerId(ClientToServerParser.getStringFromGameActionMessage(ourMove), settings.playerId));
+        game.movesPlayed++;
+        game.moveNumber++;
+
+        if (game.movesPlayed >= settings.movesPerGame) {
+            endGame(game);
+            return;
+        }
+
+        long deadline = System.nanoTime() + settings.opponentThinkTimeInMilliseconds * SearchAi.NANOSECONDS_PER_MILLISECOND;
+        GameActionMessage opponentMove =
+                game.opponentAi.chooseMove(game.gameId, game.moveNumber, settings.opponentPlayerId, drawTile(), deadline);
+        send(withPlayerId(ClientToServerParser.getStringFromGameActionMessage(opponentMove), settings.opponentPlayerId));
+        game.moveNumber++;
+
+        sendMoveCommand(game);
+    }
+
+    private void sendMoveCommand(ReplayGame game) throws IOException {
+        String tile = SERVER_TERRAIN_NAMES[random.nextInt(SERVER_TERRAIN_NAMES.length)] + "+" +
+                SERVER_TERRAIN_NAMES[random.nextInt(SERVER_TERRAIN_NAMES.length)];
+
+        pause();
+        send(String.format("%s IN GAME %s WITHIN %s SECONDS: MOVE %d PLACE %s",
+                ServerStrings.MAKE_YOUR_MOVE, game.gameId, game.moveTimeInSeconds, game.moveNumber, tile));
+
+        game.commandSentAt = System.nanoTime();
+        gamesAwaitingMove.put(game.gameId, game);
+    }
+
+    private void endGame(ReplayGame game) throws IOException {
+        send(String.format("GAME %s %s", game.gameId, ServerStrings.GAME_OVER));
+        gamesAwaitingOutcome.put(game.gameId, game);
+    }
+
+    private GameActionMessage recordDecision(ReplayGame game, String reply) {
+        long latency = System.nanoTime() - game.commandSentAt;
+        report.recordDecision(latency, latency > game.moveTimeInSeconds * 1e9);
+
+        return (GameActionMessage) ServerToClientParser.parseServerInputAndComposeMessage(
+                withPlayerId(reply, settings.playerId));
+    }
+
+    private Tile drawTile() {
+        return new Tile(TILE_TERRAINS[random.nextInt(TILE_TERRAINS.length)], TILE_TERRAINS[random.nextInt(TILE_TERRAINS.length)]);
+    }
+
+    private void send(String line) {
+        out.println(line);
+        report.recordLineSent();
+    }
+
+    private void pause() {
+        if (settings.pauseBetweenMovesInMilliseconds <= 0) {
+            return;
+        }
+
+        try {
+            Thread.sleep(settings.pauseBetweenMovesInMilliseconds);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String readLineFromClient() throws IOException {
+        String line = in.readLine();
+        if (line == null) {
+            throw new IOException("The client closed the connection");
+        }
+
+        return line;
+    }
+
+    private static boolean isMove(String reply) {
+        return reply.startsWith("GAME ") && reply.contains(" MOVE ");
+    }
+
+    private static boolean isOutcome(String reply) {
+        return reply.startsWith("GAME ") && reply.contains(" OVER PLAYER ");
+    }
+
+    private static String gameIdOf(String line) {
+        int start = line.indexOf(' ') + 1;
+        int end = line.indexOf(' ', start);
+        return end < 0 ? line.substring(start) : line.substring(start, end);
+    }
+
+    private static String withPlayerId(String clientMove, String playerId) {
+        int placeIndex = clientMove.indexOf(" PLACE ");
+        return clientMove.substring(0, placeIndex) + " PLAYER " + playerId + clientMove.substring(placeIndex);
+    }
+
+    private static class ReplayGame {
+        private String gameId;
+        private Game shadowGame;
+        private SearchAi opponentAi;
+        private double moveTimeInSeconds;
+        private long commandSentAt;
+        private int moveNumber;
+        private int movesPlayed;
+
+        private ReplayGame(String gameId, Game shadowGame) {
+            this.gameId = gameId;
+            this.shadowGame = shadowGame;
+            this.moveNumber = 1;
+            this.movesPlayed = 0;
+        }
+    }
+}
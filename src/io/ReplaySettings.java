@@ -0,0 +1,18 @@
+package io;
+
+import java.util.List;
+
+public class ReplaySettings {
+    public int numberOfMatches = 2;
+    public int gamesPerMatch = 2;
+    public int movesPerGame = 12;
+    public double moveTimeInSeconds = 1.0;
+    public long opponentThinkTimeInMilliseconds = 5;
+    public long pauseBetweenMovesInMilliseconds = 0;
+    public long seed = 42L;
+
+    public String playerId = "7";
+    public String opponentPlayerId = "12";
+
+    public List<String> recordedLines = null;
+}
@@ -0,0 +1,161 @@
+package io;
+
+class ServerLineTokenizer {
+    private CharSequence line;
+    private int position;
+    private int tokenStart;
+    private int tokenEnd;
+
+    ServerLineTokenizer(CharSequence line) {
+        this.line = line;
+        this.position = 0;
+        this.tokenStart = 0;
+        this.tokenEnd = 0;
+    }
+
+    boolean next() {
+        int length = line.length();
+        while (position < length && line.charAt(position) == ' ') {
+            position++;
+        }
+
+        if (position >= length) {
+            return false;
+        }
+
+        tokenStart = position;
+        while (position < length && line.charAt(position) != ' ') {
+            position++;
+        }
+        tokenEnd = position;
+
+        return true;
+    }
+
+    void expectNext() {
+        if (!next()) {
+            String errorMessage = String.format("The server line ended unexpectedly: %s", line);
+            throw new IllegalArgumentException(errorMessage);
+        }
+    }
+
+    void skip(int numberOfTokens) {
+        for (int i = 0; i < numberOfTokens; i++) {
+            expectNext();
+        }
+    }
+
+    void skipToLastToken() {
+        int lastTokenStart = tokenStart;
+        int lastTokenEnd = tokenEnd;
+
+        while (next()) {
+            lastTokenStart = tokenStart;
+            lastTokenEnd = tokenEnd;
+        }
+
+        tokenStart = lastTokenStart;
+        tokenEnd = lastTokenEnd;
+    }
+
+    boolean tokenIs(String keyword) {
+        return tokenEnd - tokenStart == keyword.length() && tokenStartsWith(keyword);
+    }
+
+    boolean tokenStartsWith(String prefix) {
+        if (tokenEnd - tokenStart < prefix.length()) {
+            return false;
+        }
+
+        for (int i = 0; i < prefix.length(); i++) {
+            if (line.charAt(tokenStart + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    char tokenCharAt(int index) {
+        return line.charAt(tokenStart + index);
+    }
+
+    int tokenIndexOf(char character) {
+        for (int i = tokenStart; i < tokenEnd; i++) {
+            if (line.charAt(i) == character) {
+                return i - tokenStart;
+            }
+        }
+
+        return -1;
+    }
+
+    String tokenAsString() {
+        return line.subSequence(tokenStart, tokenEnd).toString();
+    }
+
+    int tokenAsInt() {
+        int index = tokenStart;
+        boolean negative = index < tokenEnd && line.charAt(index) == '-';
+        if (negative || (index < tokenEnd && line.charAt(index) == '+')) {
+            index++;
+        }
+
+        if (index == tokenEnd) {
+            throw notANumber();
+        }
+
+        int value = 0;
+        for (; index < tokenEnd; index++) {
+            int digit = line.charAt(index) - '0';
+            if (digit < 0 || digit > 9) {
+                throw notANumber();
+            }
+            value = value * 10 + digit;
+        }
+
+        return negative ? -value : value;
+    }
+
+    double tokenAsDouble() {
+        int index = tokenStart;
+        boolean negative = index < tokenEnd && line.charAt(index) == '-';
+        if (negative) {
+            index++;
+        }
+
+        long digits = 0;
+        long scale = 1;
+        boolean seenPoint = false;
+        boolean seenDigit = false;
+        for (; index < tokenEnd; index++) {
+            char character = line.charAt(index);
+
+            if (character == '.' && !seenPoint) {
+                seenPoint = true;
+            }
+            else if (character >= '0' && character <= '9') {
+                digits = digits * 10 + (character - '0');
+                seenDigit = true;
+                if (seenPoint) {
+                    scale *= 10;
+                }
+            }
+            else {
+                throw notANumber();
+            }
+        }
+
+        if (!seenDigit) {
+            throw notANumber();
+        }
+
+        double value = (double) digits / scale;
+        return negative ? -value : value;
+    }
+
+    private NumberFormatException notANumber() {
+        String errorMessage = String.format("Expected a number but found \"%s\" in: %s", tokenAsString(), line);
+        return new NumberFormatException(errorMessage);
+    }
+}
@@ -0,0 +1,118 @@
+package io;
+
+import game.settlements.BuildAction;
+import game.tile.Location;
+import game.tile.Terrain;
+import game.tile.Tile;
+import game.tile.orientation.TileOrientation;
+import thread.message.GameActionMessage;
+import thread.message.PlayerScoreMessage;
+
+/**
+ * Not thread-safe; each writer thread keeps its own.
+ */
+public class ServerStringEncoder {
+    private static final int INITIAL_CAPACITY = 128;
+
+    private StringBuilder buffer;
+
+    public ServerStringEncoder() {
+        this.buffer = new StringBuilder(INITIAL_CAPACITY);
+    }
+
+    public String encode(GameActionMessage gameActionMessage) {
+        buffer.setLength(0);
+
+        buffer.append("GAME ").append(gameActionMessage.getGameId())
+                .append(" MOVE ").append(gameActionMessage.getMoveNumber()).append(' ');
+
+        appendTilePlacement(gameActionMessage.getTilePlaced(), gameActionMessage.getLocationOfVolcano(),
+                gameActionMessage.getTileOrientationPlaced());
+
+        appendBuildAction(gameActionMessage.getBuildActionPerformed(), gameActionMessage.getLocationOfBuildAction(),
+                gameActionMessage.getTerrainExpandedOnto());
+
+        return buffer.toString();
+    }
+
+    public String encode(PlayerScoreMessage message) {
+        buffer.setLength(0);
+
+        buffer.append("GAME ").append(message.getGameId())
+                .append(" OVER PLAYER ").append(message.getPlayerOne()).append(' ').append(message.getPlayerOneScore())
+                .append(" PLAYER ").append(message.getPlayerTwo()).append(' ').append(message.getPlayerTwoScore());
+
+        return buffer.toString();
+    }
+
+    public String encode(Location location) {
+        buffer.setLength(0);
+        appendServerCoordinates(location);
+        return buffer.toString();
+    }
+
+    private void appendTilePlacement(Tile tile, Location location, TileOrientation orientation) {
+        buffer.append("PLACE ")
+                .append(terrainToString(tile.getRightHexRelativeToVolcano().getTerrain())).append('+')
+                .append(terrainToString(tile.getLeftHexRelativeToVolcano().getTerrain()))
+                .append(" AT ");
+
+        appendServerCoordinates(location);
+
+        buffer.append(' ').append(orientation.getServerProtocolOrientation()).append(' ');
+    }
+
+    private void appendBuildAction(BuildAction buildAction, Location locationOfBuildAction, Terrain terrainExpandedTo) {
+        switch (buildAction) {
+            case FOUNDED_SETTLEMENT:
+                buffer.append("FOUND SETTLEMENT AT ");
+                break;
+            case EXPANDED_SETTLEMENT:
+                buffer.append("EXPAND SETTLEMENT AT ");
+                break;
+            case BUILT_TOTORO_SANCTUARY:
+                buffer.append("BUILD TOTORO SANCTUARY AT ");
+                break;
+            case BUILT_TIGER_PLAYGROUND:
+                buffer.append("BUILD TIGER PLAYGROUND AT ");
+                break;
+            case SHANGRILA:
+                buffer.append("FOUND SHANGRILA AT ");
+                break;
+            case UNABLE_TO_BUILD:
+                buffer.append("UNABLE TO BUILD");
+                return;
+        }
+
+        appendServerCoordinates(locationOfBuildAction);
+
+        if (buildAction == BuildAction.EXPANDED_SETTLEMENT) {
+            buffer.append(' ').append(terrainToString(terrainExpandedTo));
+        }
+    }
+
+    private void appendServerCoordinates(Location location) {
+        int serverXCoordinate = location.getxCoordinate();
+        int serverZCoordinate = location.getyCoordinate() * -1;
+        int serverYCoordinate = -(serverXCoordinate + serverZCoordinate);
+
+        buffer.append(serverXCoordinate).append(' ').append(serverYCoordinate).append(' ').append(serverZCoordinate);
+    }
+
+    private static String terrainToString(Terrain terrain) {
+        switch (terrain) {
+            case GRASSLANDS:
+                return "GRASS";
+            case LAKE:
+                return "LAKE";
+            case ROCKY:
+                return "ROCK";
+            case JUNGLE:
+                return "JUNGLE";
+            case PADDY:
+                return "PADDY";
+        }
+
+        return null;
+    }
+}
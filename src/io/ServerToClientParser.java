@@ -5,6 +5,8 @@ import game.tile.Location;
 import game.tile.orientation.TileOrientation;
 import game.tile.Terrain;
 import game.tile.Tile;
+import profiling.MoveContext;
+import profiling.ParseEvent;
 import thread.message.*;
 
 import static game.tile.Terrain.*;
@@ -14,185 +16,231 @@ public class ServerToClientParser {
     private static String userName;
     private static String userPassword;
 
-    public static Message parseServerInputAndComposeMessage(String serverInput){
-        String parts[] = serverInput.split(" ");
+    public static Message parseServerInputAndComposeMessage(CharSequence serverInput) {
+        ParseEvent event = new ParseEvent();
+        event.begin();
 
-        Message actionToTake = null;
+        Message message = parseLine(serverInput);
 
-        if (serverInput.contains(ServerStrings.WELCOME)){
-            actionToTake = new ClientMessage(ClientStrings.ENTER + tournamentPassword);
+        event.end();
+        if (event.shouldCommit()) {
+            tagParseEvent(event, message);
+            event.commit();
         }
-        else if (serverInput.contains(ServerStrings.TWO_SHALL_ENTER)){
-            actionToTake = new ClientMessage(ClientStrings.I_AM + userName + " " + userPassword);
-        }
-        else if (serverInput.contains(ServerStrings.WAIT_FOR_THE_TOURNAMENT)){
-            String ourPlayerId = parts[6];
 
-            actionToTake = new PlayerIdMessage(ourPlayerId);
+        return message;
+    }
+
+    private static void tagParseEvent(ParseEvent event, Message message) {
+        event.messageType = message.getClass().getSimpleName();
+        event.moveNumber = MoveContext.NO_MOVE;
+
+        if (message instanceof GameCommandMessage) {
+            event.gameId = ((GameCommandMessage) message).getGameId();
+            event.moveNumber = ((GameCommandMessage) message).getMoveNumber();
         }
-        else if (serverInput.contains(ServerStrings.NEW_CHALLENGE)){
+        else if (message instanceof GameActionMessage) {
+            event.gameId = ((GameActionMessage) message).getGameId();
+            event.moveNumber = ((GameActionMessage) message).getMoveNumber();
+        }
+    }
+
+    private static Message parseLine(CharSequence serverInput) {
+        ServerLineTokenizer tokens = new ServerLineTokenizer(serverInput);
 
-            actionToTake = Message.NO_ACTION;
+        if (!tokens.next()) {
+            return Message.NO_ACTION;
         }
-        else if (serverInput.contains(ServerStrings.BEGIN_ROUND)){
 
-            actionToTake = Message.NO_ACTION;
+        if (tokens.tokenIs("WELCOME")) {
+            return new ClientMessage(ClientStrings.ENTER + tournamentPassword);
+        }
+        else if (tokens.tokenIs("TWO")) {
+            return new ClientMessage(ClientStrings.I_AM + userName + " " + userPassword);
+        }
+        else if (tokens.tokenIs("WAIT")) {
+            return parseWait(tokens);
+        }
+        else if (tokens.tokenIs("NEW")) {
+            return parseNew(tokens);
+        }
+        else if (tokens.tokenIs("MAKE")) {
+            return parseGameCommand(tokens);
+        }
+        else if (tokens.tokenIs("GAME")) {
+            return parseGameUpdate(tokens);
+        }
+        else if (tokens.tokenIs("THANK")) {
+            return new DisconnectMessage();
         }
 
-        else if (serverInput.contains(ServerStrings.NEW_MATCH)){
-            String opponentId = parts[parts.length-1];
+        return Message.NO_ACTION;
+    }
 
-            actionToTake = new NewMatchMessage(opponentId);
+    private static Message parseWait(ServerLineTokenizer tokens) {
+        tokens.skip(3);
+        if (!tokens.tokenIs("TOURNAMENT")) {
+            return Message.NO_ACTION;
         }
-        else if (serverInput.contains(ServerStrings.MAKE_YOUR_MOVE)){
-            String gameId = parts[5];
-            double moveTime = Double.parseDouble(parts[7]);
-            int moveNumber = Integer.parseInt(parts[10]);
-            String tileString = parts[parts.length-1];
 
-            Tile tileToPlace = getTileFromServerTerrain(tileString);
+        tokens.skip(3);
+        String ourPlayerId = tokens.tokenAsString();
+
+        return new PlayerIdMessage(ourPlayerId);
+    }
 
-            actionToTake = new GameCommandMessage(gameId, moveTime, moveNumber, tileToPlace);
+    private static Message parseNew(ServerLineTokenizer tokens) {
+        tokens.expectNext();
+        if (!tokens.tokenIs("MATCH")) {
+            return Message.NO_ACTION;
         }
 
-        else if (parts[0].contains("GAME") && parts[2].contains("MOVE")){
-            if(parts[6].contains("FORFEITED") || parts[6].contains("LOST")) {
-                String gameId = parts[1];
+        tokens.skipToLastToken();
+        String opponentId = tokens.tokenAsString();
 
-                actionToTake = new GameEndMessage(gameId);
-            }
-            else {
-                actionToTake = composeGameActionMessage(parts);
-            }
+        return new NewMatchMessage(opponentId);
+    }
 
-        }
-        else if(serverInput.contains(ServerStrings.GAME_OVER)) {
-            String gameId = parts[1];
+    private static Message parseGameCommand(ServerLineTokenizer tokens) {
+        tokens.skip(5);
+        String gameId = tokens.tokenAsString();
 
-            actionToTake = new GameOverMessage(gameId);
-        }
-        else if (parts[0].contains("GAME") && parts[2].contains("OVER")){
-            String gameIdToEnd = parts[1];
+        tokens.skip(2);
+        double moveTime = tokens.tokenAsDouble();
 
-            actionToTake = new GameEndMessage(gameIdToEnd);
-        }
-        else if (serverInput.contains(ServerStrings.THANK_YOU_FOR_PLAYING)) {
-            actionToTake = new DisconnectMessage();
+        tokens.skip(3);
+        int moveNumber = tokens.tokenAsInt();
 
-        }
+        tokens.skipToLastToken();
+        Tile tileToPlace = getTileFromServerTerrain(tokens);
 
-        else {
-            actionToTake = Message.NO_ACTION;
-        }
-        
-      return actionToTake;
+        return new GameCommandMessage(gameId, moveTime, moveNumber, tileToPlace);
     }
 
-    private static Tile getTileFromServerTerrain(String tile) {
-        String terrain[] = tile.split("\\+");
-        Terrain terrainZero = stringToTerrain(terrain[0]);
-        Terrain terrainOne = stringToTerrain(terrain[1]);
-        Tile tileToBePlaced = new Tile(terrainOne,terrainZero);
+    private static Message parseGameUpdate(ServerLineTokenizer tokens) {
+        tokens.expectNext();
+        String gameId = tokens.tokenAsString();
 
-        return tileToBePlaced;
-    }
+        tokens.expectNext();
+        if (tokens.tokenIs("MOVE")) {
+            return parseGameMove(tokens, gameId);
+        }
 
-    private static GameActionMessage composeGameActionMessage(String parts[]) {
-        String gameId = parts[1];
-        int moveNumber = Integer.parseInt(parts[3]);
-        String playerId = parts[5];
+        if (tokens.tokenIs("OVER")) {
+            tokens.expectNext();
+            if (tokens.tokenIs("SEND")) {
+                return new GameOverMessage(gameId);
+            }
 
-        String tileString = parts[7];
-        Tile tilePlaced = getTileFromServerTerrain(tileString);
+            return new GameEndMessage(gameId);
+        }
 
-        String serverX = parts[9];
-        String serverY = parts[10];
-        String serverZ = parts[11];
+        return Message.NO_ACTION;
+    }
 
-        Location locationOfVolcano = convertServerCoordinatesToClientLocation(serverX, serverY, serverZ);
+    private static Message parseGameMove(ServerLineTokenizer tokens, String gameId) {
+        tokens.expectNext();
+        int moveNumber = tokens.tokenAsInt();
 
-        int intOrientation = Integer.parseInt(parts[12]);
-        TileOrientation tileOrientation = TileOrientation.getOrientationFromServerOrientation(intOrientation);
+        tokens.skip(2);
+        String playerId = tokens.tokenAsString();
 
-        BuildAction buildAction = null;
+        tokens.expectNext();
+        if (tokens.tokenStartsWith("FORFEITED") || tokens.tokenStartsWith("LOST")) {
+            return new GameEndMessage(gameId);
+        }
 
-        String serverBuildX = "0";
-        String serverBuildY = "0";
-        String serverBuildZ = "0";
+        tokens.expectNext();
+        Tile tilePlaced = getTileFromServerTerrain(tokens);
 
-        Terrain terrainToExpandOnto = null;
+        tokens.skip(2);
+        Location locationOfVolcano = parseServerCoordinates(tokens);
 
-        if (parts[13].contains("FOUND")) {
-            if (parts[14].contains("SETTLEMENT")) {
-                buildAction = BuildAction.FOUNDED_SETTLEMENT;
+        tokens.expectNext();
+        TileOrientation tileOrientation = TileOrientation.getOrientationFromServerOrientation(tokens.tokenAsInt());
 
-                serverBuildX = parts[16];
-                serverBuildY = parts[17];
-                serverBuildZ = parts[18];
-            }
-            else {
-                buildAction = BuildAction.SHANGRILA;
-            }
+        BuildAction buildAction = null;
+        Location locationOfBuildAction = convertServerCoordinatesToClientLocation(0, 0, 0);
+        Terrain terrainToExpandOnto = null;
+
+        tokens.expectNext();
+        if (tokens.tokenStartsWith("FOUND")) {
+            tokens.expectNext();
+            buildAction = tokens.tokenIs("SETTLEMENT") ? BuildAction.FOUNDED_SETTLEMENT : BuildAction.SHANGRILA;
 
-            serverBuildX = parts[16];
-            serverBuildY = parts[17];
-            serverBuildZ = parts[18];
+            tokens.skip(2);
+            locationOfBuildAction = parseServerCoordinates(tokens);
         }
-        else if(parts[13].contains("EXPAND")) {
+        else if (tokens.tokenStartsWith("EXPAND")) {
             buildAction = BuildAction.EXPANDED_SETTLEMENT;
 
-            serverBuildX = parts[16];
-            serverBuildY = parts[17];
-            serverBuildZ = parts[18];
+            tokens.skip(3);
+            locationOfBuildAction = parseServerCoordinates(tokens);
 
-            terrainToExpandOnto = stringToTerrain(parts[19]);
+            tokens.expectNext();
+            terrainToExpandOnto = getTerrainStartingAt(tokens, 0);
         }
-        else if(parts[13].contains("BUILD") && parts[14].contains("TOTORO")) {
-            buildAction = BuildAction.BUILT_TOTORO_SANCTUARY;
-
-            serverBuildX = parts[17];
-            serverBuildY = parts[18];
-            serverBuildZ = parts[19];
-        }
-        else if(parts[13].contains("BUILD") && parts[14].contains("TIGER")) {
-            buildAction = BuildAction.BUILT_TIGER_PLAYGROUND;
+        else if (tokens.tokenIs("BUILD")) {
+            tokens.expectNext();
+            if (tokens.tokenIs("TOTORO")) {
+                buildAction = BuildAction.BUILT_TOTORO_SANCTUARY;
+            }
+            else if (tokens.tokenIs("TIGER")) {
+                buildAction = BuildAction.BUILT_TIGER_PLAYGROUND;
+            }
 
-            serverBuildX = parts[17];
-            serverBuildY = parts[18];
-            serverBuildZ = parts[19];
+            tokens.skip(3);
+            locationOfBuildAction = parseServerCoordinates(tokens);
         }
-        else if(parts[13].contains("UNABLE")) {
+        else if (tokens.tokenIs("UNABLE")) {
             buildAction = BuildAction.UNABLE_TO_BUILD;
         }
 
-        Location locationOfBuildAction = convertServerCoordinatesToClientLocation(serverBuildX, serverBuildY, serverBuildZ);
-
-        GameActionMessage actionToTake
-                = new GameActionMessage(gameId, moveNumber, playerId, tilePlaced, locationOfVolcano, tileOrientation,
+        return new GameActionMessage(gameId, moveNumber, playerId, tilePlaced, locationOfVolcano, tileOrientation,
                 buildAction, locationOfBuildAction, terrainToExpandOnto);
+    }
+
+    private static Location parseServerCoordinates(ServerLineTokenizer tokens) {
+        int serverX = tokens.tokenAsInt();
 
-        return actionToTake;
+        tokens.expectNext();
+        int serverY = tokens.tokenAsInt();
 
+        tokens.expectNext();
+        int serverZ = tokens.tokenAsInt();
+
+        return convertServerCoordinatesToClientLocation(serverX, serverY, serverZ);
+    }
+
+    private static Tile getTileFromServerTerrain(ServerLineTokenizer tokens) {
+        Terrain terrainZero = getTerrainStartingAt(tokens, 0);
+        Terrain terrainOne = getTerrainStartingAt(tokens, tokens.tokenIndexOf('+') + 1);
+
+        return new Tile(terrainOne, terrainZero);
     }
 
-    private static Terrain stringToTerrain(String type) {
-        if(type.contains("JUNGLE"))
-            return JUNGLE;
-        if(type.contains("LAKE"))
-            return LAKE;
-        if(type.contains("GRASS"))
-            return GRASSLANDS;
-        if (type.contains("PADDY"))
-            return PADDY;
-        else
-            return ROCKY;
+    private static Terrain getTerrainStartingAt(ServerLineTokenizer tokens, int index) {
+        switch (tokens.tokenCharAt(index)) {
+            case 'J':
+                return JUNGLE;
+            case 'L':
+                return LAKE;
+            case 'G':
+                return GRASSLANDS;
+            case 'P':
+                return PADDY;
+            default:
+                return ROCKY;
+        }
+    }
 
+    public static Location convertServerCoordinatesToClientLocation(String x, String y, String z) {
+        return convertServerCoordinatesToClientLocation(Integer.parseInt(x), Integer.parseInt(y), Integer.parseInt(z));
     }
 
-    public static Location convertServerCoordinatesToClientLocation(String x, String y, String z)
-    {
-        int clientX = Integer.parseInt(x);
-        int clientY = Integer.parseInt(z) * -1;
+    public static Location convertServerCoordinatesToClientLocation(int x, int y, int z) {
+        int clientX = x;
+        int clientY = z * -1;
         int clientZ = 0;
 
         return new Location(clientX, clientY, clientZ);
@@ -0,0 +1,170 @@
+package logging;
+
+import java.io.PrintStream;
+import java.util.IllegalFormatException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+public class AsyncAppender {
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    private static final long IDLE_PARK_IN_NANOSECONDS = 1_000_000;
+    private static final long FLUSH_PARK_IN_NANOSECONDS = 100_000;
+
+    private LogEvent[] events;
+    private int mask;
+    private AtomicLong tail;
+    private volatile long head;
+    private AtomicLong droppedEvents;
+
+    private PrintStream out;
+    private Thread writer;
+    private volatile boolean closed;
+
+    public AsyncAppender(PrintStream out) {
+        this(out, DEFAULT_CAPACITY);
+    }
+
+    public AsyncAppender(PrintStream out, int capacity) {
+        int roundedCapacity = 2;
+        while (roundedCapacity < capacity) {
+            roundedCapacity <<= 1;
+        }
+
+        this.events = new LogEvent[roundedCapacity];
+        for (int i = 0; i < roundedCapacity; i++) {
+            events[i] = new LogEvent(i);
+        }
+        this.mask = roundedCapacity - 1;
+        this.tail = new AtomicLong(0);
+        this.head = 0;
+        this.droppedEvents = new AtomicLong(0);
+
+        this.out = out;
+        this.closed = false;
+        this.writer = new Thread(this::writeEvents, "log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public boolean append(LogLevel level, String format, int numberOfArguments, Object firstArgument, Object secondArgument, Throwable throwable) {
+        long position = tail.get();
+        LogEvent event;
+
+        while (true) {
+            event = events[(int) position & mask];
+            long difference = event.sequence - position;
+
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = tail.get();
+            }
+            else if (difference < 0) {
+                droppedEvents.incrementAndGet();
+                return false;
+            }
+            else {
+                position = tail.get();
+            }
+        }
+
+        event.level = level;
+        event.format = format;
+        event.numberOfArguments = numberOfArguments;
+        event.firstArgument = firstArgument;
+        event.secondArgument = secondArgument;
+        event.throwable = throwable;
+        event.sequence = position + 1;
+
+        return true;
+    }
+
+    public void flush() {
+        long target = tail.get();
+
+        while (head < target && writer.isAlive()) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(FLUSH_PARK_IN_NANOSECONDS);
+        }
+
+        out.flush();
+    }
+
+    public void close() {
+        flush();
+        closed = true;
+        LockSupport.unpark(writer);
+    }
+
+    public long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+
+    private void writeEvents() {
+        while (!closed) {
+            if (!writeNextEvent()) {
+                out.flush();
+                LockSupport.parkNanos(this, IDLE_PARK_IN_NANOSECONDS);
+            }
+        }
+    }
+
+    private boolean writeNextEvent() {
+        long position = head;
+        LogEvent event = events[(int) position & mask];
+
+        if (event.sequence != position + 1) {
+            return false;
+        }
+
+        out.println(event.formatMessage());
+        if (event.throwable != null) {
+            event.throwable.printStackTrace(out);
+        }
+
+        event.clear();
+        event.sequence = position + events.length;
+        head = position + 1;
+
+        return true;
+    }
+
+    private static class LogEvent {
+        private volatile long sequence;
+
+        private LogLevel level;
+        private String format;
+        private int numberOfArguments;
+        private Object firstArgument;
+        private Object secondArgument;
+        private Throwable throwable;
+
+        private LogEvent(long sequence) {
+            this.sequence = sequence;
+        }
+
+        private String formatMessage() {
+            String message = format;
+            if (numberOfArguments > 0) {
+                try {
+                    message = String.format(format, firstArgument, secondArgument);
+                }
+                catch (IllegalFormatException e) {
+                    message = format + " " + firstArgument + " " + secondArgument;
+                }
+            }
+
+            return level.ordinal() >= LogLevel.WARN.ordinal() ? level + " " + message : message;
+        }
+
+        private void clear() {
+            level = null;
+            format = null;
+            firstArgument = null;
+            secondArgument = null;
+            throwable = null;
+        }
+    }
+}
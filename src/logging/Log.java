@@ -0,0 +1,127 @@
+package logging;
+
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+
+/**
+ * Level from -Dlog.level (INFO by default), output from -Dlog.file (standard output by default).
+ */
+public class Log {
+    private static volatile LogLevel level = LogLevel.valueOf(System.getProperty("log.level", LogLevel.INFO.name()));
+    private static volatile AsyncAppender appender = null;
+
+    public static LogLevel getLevel() {
+        return level;
+    }
+
+    public static void setLevel(LogLevel level) {
+        Log.level = level;
+    }
+
+    public static boolean isEnabled(LogLevel level) {
+        return level.ordinal() >= Log.level.ordinal();
+    }
+
+    public static synchronized void setAppender(AsyncAppender appender) {
+        AsyncAppender previousAppender = Log.appender;
+        Log.appender = appender;
+
+        if (previousAppender != null) {
+            previousAppender.close();
+        }
+    }
+
+    public static void flush() {
+        AsyncAppender currentAppender = appender;
+        if (currentAppender != null) {
+            currentAppender.flush();
+        }
+    }
+
+    public static long getDroppedEvents() {
+        AsyncAppender currentAppender = appender;
+        return currentAppender == null ? 0 : currentAppender.getDroppedEvents();
+    }
+
+    public static void trace(String message) {
+        log(LogLevel.TRACE, message, 0, null, null, null);
+    }
+
+    public static void debug(String message) {
+        log(LogLevel.DEBUG, message, 0, null, null, null);
+    }
+
+    public static void debug(String format, Object argument) {
+        log(LogLevel.DEBUG, format, 1, argument, null, null);
+    }
+
+    public static void debug(String format, Object firstArgument, Object secondArgument) {
+        log(LogLevel.DEBUG, format, 2, firstArgument, secondArgument, null);
+    }
+
+    public static void info(String message) {
+        log(LogLevel.INFO, message, 0, null, null, null);
+    }
+
+    public static void info(String format, Object argument) {
+        log(LogLevel.INFO, format, 1, argument, null, null);
+    }
+
+    public static void info(String format, Object firstArgument, Object secondArgument) {
+        log(LogLevel.INFO, format, 2, firstArgument, secondArgument, null);
+    }
+
+    public static void warn(String message) {
+        log(LogLevel.WARN, message, 0, null, null, null);
+    }
+
+    public static void warn(String format, Object argument) {
+        log(LogLevel.WARN, format, 1, argument, null, null);
+    }
+
+    public static void error(String message) {
+        log(LogLevel.ERROR, message, 0, null, null, null);
+    }
+
+    public static void error(String message, Throwable throwable) {
+        log(LogLevel.ERROR, message, 0, null, null, throwable);
+    }
+
+    private static void log(LogLevel messageLevel, String format, int numberOfArguments,
+                            Object firstArgument, Object secondArgument, Throwable throwable) {
+        if (messageLevel.ordinal() < level.ordinal()) {
+            return;
+        }
+
+        AsyncAppender currentAppender = appender;
+        if (currentAppender == null) {
+            currentAppender = createDefaultAppender();
+        }
+
+        currentAppender.append(messageLevel, format, numberOfArguments, firstArgument, secondArgument, throwable);
+    }
+
+    private static synchronized AsyncAppender createDefaultAppender() {
+        if (appender != null) {
+            return appender;
+        }
+
+        PrintStream out = System.out;
+        String logFile = System.getProperty("log.file");
+        if (logFile != null) {
+            try {
+                out = new PrintStream(new FileOutputStream(logFile, true), false);
+            }
+            catch (FileNotFoundException e) {
+                System.err.println(String.format("Cannot open log file %s, logging to standard output", logFile));
+            }
+        }
+
+        AsyncAppender defaultAppender = new AsyncAppender(out);
+        Runtime.getRuntime().addShutdownHook(new Thread(defaultAppender::flush));
+
+        appender = defaultAppender;
+        return defaultAppender;
+    }
+}
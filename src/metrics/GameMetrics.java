@@ -0,0 +1,30 @@
+package metrics;
+
+public class GameMetrics {
+    private String gameId;
+    private LatencyHistogram chooseMoveTimes;
+    private LatencyHistogram moveTurnaroundTimes;
+
+    public GameMetrics(String gameId) {
+        this.gameId = gameId;
+        this.chooseMoveTimes = new LatencyHistogram();
+        this.moveTurnaroundTimes = new LatencyHistogram();
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    public LatencyHistogram getChooseMoveTimes() {
+        return chooseMoveTimes;
+    }
+
+    public LatencyHistogram getMoveTurnaroundTimes() {
+        return moveTurnaroundTimes;
+    }
+
+    public String getSummary() {
+        return String.format("game %s: chooseMove %s, turnaround %s",
+                gameId, chooseMoveTimes.getSummary(), moveTurnaroundTimes.getSummary());
+    }
+}
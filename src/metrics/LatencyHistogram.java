@@ -0,0 +1,118 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int NUMBER_OF_BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private AtomicLongArray buckets;
+    private LongAdder count;
+    private LongAdder sum;
+    private LongAccumulator maximum;
+
+    public LatencyHistogram() {
+        this.buckets = new AtomicLongArray(NUMBER_OF_BUCKETS);
+        this.count = new LongAdder();
+        this.sum = new LongAdder();
+        this.maximum = new LongAccumulator(Math::max, 0);
+    }
+
+    public void record(long nanoseconds) {
+        if (nanoseconds < 0) {
+            nanoseconds = 0;
+        }
+
+        buckets.incrementAndGet(bucketOf(nanoseconds));
+        count.increment();
+        sum.add(nanoseconds);
+        maximum.accumulate(nanoseconds);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMeanNanoseconds() {
+        long numberOfValues = count.sum();
+        return numberOfValues == 0 ? 0 : sum.sum() / numberOfValues;
+    }
+
+    public long getMaximumNanoseconds() {
+        return maximum.get();
+    }
+
+    public long getPercentileNanoseconds(double percentile) {
+        long numberOfValues = 0;
+        for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+            numberOfValues += buckets.get(i);
+        }
+
+        if (numberOfValues == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(numberOfValues * percentile / 100.0));
+        long valuesSeen = 0;
+        for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+            valuesSeen += buckets.get(i);
+            if (valuesSeen >= rank) {
+                return Math.min(upperBoundOf(i), getMaximumNanoseconds());
+            }
+        }
+
+        return getMaximumNanoseconds();
+    }
+
+    public String getSummary() {
+        return String.format("n=%d mean=%.3fms p50=%.3fms p99=%.3fms max=%.3fms",
+                getCount(),
+                toMilliseconds(getMeanNanoseconds()),
+                toMilliseconds(getPercentileNanoseconds(50)),
+                toMilliseconds(getPercentileNanoseconds(99)),
+                toMilliseconds(getMaximumNanoseconds()));
+    }
+
+    public String getSummaryInMicroseconds() {
+        return String.format("n=%d mean=%.1fus p50=%.1fus p99=%.1fus max=%.1fus",
+                getCount(),
+                toMicroseconds(getMeanNanoseconds()),
+                toMicroseconds(getPercentileNanoseconds(50)),
+                toMicroseconds(getPercentileNanoseconds(99)),
+                toMicroseconds(getMaximumNanoseconds()));
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        int highestBit = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (highestBit - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+
+        return (highestBit - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+
+        int highestBit = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = bucket % SUB_BUCKETS;
+        long lowerBound = (SUB_BUCKETS + subBucket) << (highestBit - SUB_BUCKET_BITS);
+
+        return lowerBound + (1L << (highestBit - SUB_BUCKET_BITS)) - 1;
+    }
+
+    static double toMilliseconds(long nanoseconds) {
+        return nanoseconds / 1_000_000.0;
+    }
+
+    static double toMicroseconds(long nanoseconds) {
+        return nanoseconds / 1_000.0;
+    }
+}
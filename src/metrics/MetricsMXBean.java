@@ -0,0 +1,41 @@
+package metrics;
+
+import java.util.Map;
+
+public interface MetricsMXBean {
+    long getMovesMade();
+
+    double getChooseMoveP50Milliseconds();
+
+    double getChooseMoveP99Milliseconds();
+
+    double getChooseMoveMaximumMilliseconds();
+
+    double getMoveTurnaroundP50Milliseconds();
+
+    double getMoveTurnaroundP99Milliseconds();
+
+    double getMoveTurnaroundMaximumMilliseconds();
+
+    double getParseP99Microseconds();
+
+    double getEncodeP99Microseconds();
+
+    long getRuleChecks();
+
+    long getTileRuleExceptions();
+
+    long getSettlementExceptions();
+
+    long getSettlementMerges();
+
+    long getMovesAnsweredByWatchdog();
+
+    Map<String, Long> getQueueDepths();
+
+    Map<String, String> getGameSummaries();
+
+    String getSummary();
+
+    void reset();
+}
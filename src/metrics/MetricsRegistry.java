@@ -0,0 +1,277 @@
+package metrics;
+
+import logging.Log;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+public class MetricsRegistry implements MetricsMXBean {
+    public static final String OBJECT_NAME = "tigerisland:type=Metrics";
+
+    private static final int MAXIMUM_PENDING_REPLIES = 1024;
+    private static final MetricsRegistry registry = new MetricsRegistry();
+
+    private volatile LongAdder ruleChecks;
+    private volatile LongAdder tileRuleExceptions;
+    private volatile LongAdder settlementExceptions;
+    private volatile LongAdder settlementMerges;
+    private volatile LongAdder movesAnsweredByWatchdog;
+    private volatile LatencyHistogram chooseMoveTimes;
+    private volatile LatencyHistogram moveTurnaroundTimes;
+    private volatile LatencyHistogram parseTimes;
+    private volatile LatencyHistogram encodeTimes;
+
+    private volatile ConcurrentHashMap<String, GameMetrics> gameMetricsFromId;
+    private volatile ConcurrentHashMap<String, PendingReply> pendingReplies;
+    private ConcurrentHashMap<String, LongSupplier> queueDepths;
+
+    private boolean registered;
+
+    MetricsRegistry() {
+        this.queueDepths = new ConcurrentHashMap<>();
+        reset();
+    }
+
+    public static MetricsRegistry get() {
+        return registry;
+    }
+
+    public static synchronized void registerMBean() {
+        if (registry.registered) {
+            return;
+        }
+
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(registry, new ObjectName(OBJECT_NAME));
+            registry.registered = true;
+        }
+        catch (JMException e) {
+            Log.warn("Metrics could not be registered over JMX: %s", e.getMessage());
+        }
+    }
+
+    public void ruleChecked() {
+        ruleChecks.increment();
+    }
+
+    public void tileRuleExceptionThrown() {
+        tileRuleExceptions.increment();
+    }
+
+    public void settlementExceptionThrown() {
+        settlementExceptions.increment();
+    }
+
+    public void settlementsMerged() {
+        settlementMerges.increment();
+    }
+
+    public void moveAnsweredByWatchdog() {
+        movesAnsweredByWatchdog.increment();
+    }
+
+    public void moveChosen(String gameId, long nanoseconds) {
+        chooseMoveTimes.record(nanoseconds);
+        getGameMetrics(gameId).getChooseMoveTimes().record(nanoseconds);
+    }
+
+    public void serverLineParsed(long nanoseconds) {
+        parseTimes.record(nanoseconds);
+    }
+
+    public void moveEncoded(long nanoseconds) {
+        encodeTimes.record(nanoseconds);
+    }
+
+    public void replyEncoded(String line, String gameId, long commandReceivedTime) {
+        if (pendingReplies.size() >= MAXIMUM_PENDING_REPLIES) {
+            pendingReplies.clear();
+        }
+
+        pendingReplies.put(line, new PendingReply(gameId, commandReceivedTime));
+    }
+
+    public void replyWritten(String line) {
+        PendingReply reply = pendingReplies.remove(line);
+        if (reply == null) {
+            return;
+        }
+
+        long turnaround = System.nanoTime() - reply.commandReceivedTime;
+        moveTurnaroundTimes.record(turnaround);
+        getGameMetrics(reply.gameId).getMoveTurnaroundTimes().record(turnaround);
+    }
+
+    public void registerQueue(String name, LongSupplier depth) {
+        queueDepths.put(name, depth);
+    }
+
+    public GameMetrics getGameMetrics(String gameId) {
+        String key = gameId == null ? "" : gameId;
+        GameMetrics gameMetrics = gameMetricsFromId.get(key);
+
+        if (gameMetrics == null) {
+            gameMetrics = gameMetricsFromId.computeIfAbsent(key, GameMetrics::new);
+        }
+
+        return gameMetrics;
+    }
+
+    public LatencyHistogram getChooseMoveTimes() {
+        return chooseMoveTimes;
+    }
+
+    public LatencyHistogram getMoveTurnaroundTimes() {
+        return moveTurnaroundTimes;
+    }
+
+    public LatencyHistogram getParseTimes() {
+        return parseTimes;
+    }
+
+    public LatencyHistogram getEncodeTimes() {
+        return encodeTimes;
+    }
+
+    @Override
+    public long getMovesMade() {
+        return chooseMoveTimes.getCount();
+    }
+
+    @Override
+    public double getChooseMoveP50Milliseconds() {
+        return LatencyHistogram.toMilliseconds(chooseMoveTimes.getPercentileNanoseconds(50));
+    }
+
+    @Override
+    public double getChooseMoveP99Milliseconds() {
+        return LatencyHistogram.toMilliseconds(chooseMoveTimes.getPercentileNanoseconds(99));
+    }
+
+    @Override
+    public double getChooseMoveMaximumMilliseconds() {
+        return LatencyHistogram.toMilliseconds(chooseMoveTimes.getMaximumNanoseconds());
+    }
+
+    @Override
+    public double getMoveTurnaroundP50Milliseconds() {
+        return LatencyHistogram.toMilliseconds(moveTurnaroundTimes.getPercentileNanoseconds(50));
+    }
+
+    @Override
+    public double getMoveTurnaroundP99Milliseconds() {
+        return LatencyHistogram.toMilliseconds(moveTurnaroundTimes.getPercentileNanoseconds(99));
+    }
+
+    @Override
+    public double getMoveTurnaroundMaximumMilliseconds() {
+        return LatencyHistogram.toMilliseconds(moveTurnaroundTimes.getMaximumNanoseconds());
+    }
+
+    @Override
+    public double getParseP99Microseconds() {
+        return LatencyHistogram.toMicroseconds(parseTimes.getPercentileNanoseconds(99));
+    }
+
+    @Override
+    public double getEncodeP99Microseconds() {
+        return LatencyHistogram.toMicroseconds(encodeTimes.getPercentileNanoseconds(99));
+    }
+
+    @Override
+    public long getRuleChecks() {
+        return ruleChecks.sum();
+    }
+
+    @Override
+    public long getTileRuleExceptions() {
+        return tileRuleExceptions.sum();
+    }
+
+    @Override
+    public long getSettlementExceptions() {
+        return settlementExceptions.sum();
+    }
+
+    @Override
+    public long getSettlementMerges() {
+        return settlementMerges.sum();
+    }
+
+    @Override
+    public long getMovesAnsweredByWatchdog() {
+        return movesAnsweredByWatchdog.sum();
+    }
+
+    @Override
+    public Map<String, Long> getQueueDepths() {
+        TreeMap<String, Long> depths = new TreeMap<>();
+        for (Map.Entry<String, LongSupplier> queue : queueDepths.entrySet()) {
+            depths.put(queue.getKey(), queue.getValue().getAsLong());
+        }
+
+        return depths;
+    }
+
+    @Override
+    public Map<String, String> getGameSummaries() {
+        TreeMap<String, String> summaries = new TreeMap<>();
+        for (GameMetrics gameMetrics : gameMetricsFromId.values()) {
+            summaries.put(gameMetrics.getGameId(), gameMetrics.getSummary());
+        }
+
+        return summaries;
+    }
+
+    @Override
+    public String getSummary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("Metrics: %d moves (%d answered by the watchdog), %d rule checks, %d tile rule exceptions, %d settlement exceptions, %d settlement merges%n",
+                getMovesMade(), getMovesAnsweredByWatchdog(), getRuleChecks(), getTileRuleExceptions(), getSettlementExceptions(), getSettlementMerges()));
+        summary.append(String.format("  chooseMove %s%n", chooseMoveTimes.getSummary()));
+        summary.append(String.format("  turnaround %s%n", moveTurnaroundTimes.getSummary()));
+        summary.append(String.format("  parse %s%n", parseTimes.getSummaryInMicroseconds()));
+        summary.append(String.format("  encode %s%n", encodeTimes.getSummaryInMicroseconds()));
+        summary.append(String.format("  queue depths %s", getQueueDepths()));
+
+        for (String gameSummary : getGameSummaries().values()) {
+            summary.append(String.format("%n  %s", gameSummary));
+        }
+
+        return summary.toString();
+    }
+
+    @Override
+    public void reset() {
+        this.ruleChecks = new LongAdder();
+        this.tileRuleExceptions = new LongAdder();
+        this.settlementExceptions = new LongAdder();
+        this.settlementMerges = new LongAdder();
+        this.movesAnsweredByWatchdog = new LongAdder();
+        this.chooseMoveTimes = new LatencyHistogram();
+        this.moveTurnaroundTimes = new LatencyHistogram();
+        this.parseTimes = new LatencyHistogram();
+        this.encodeTimes = new LatencyHistogram();
+
+        this.gameMetricsFromId = new ConcurrentHashMap<>();
+        this.pendingReplies = new ConcurrentHashMap<>();
+    }
+
+    private static class PendingReply {
+        private String gameId;
+        private long commandReceivedTime;
+
+        private PendingReply(String gameId, long commandReceivedTime) {
+            this.gameId = gameId;
+            this.commandReceivedTime = commandReceivedTime;
+        }
+    }
+}
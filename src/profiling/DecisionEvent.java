@@ -0,0 +1,16 @@
+package profiling;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("tigerisland.Decision")
+@Label("Decision")
+@Description("Choosing and applying our move for a MAKE YOUR MOVE command")
+public class DecisionEvent extends GameEvent {
+    @Label("Search Depth Completed")
+    public int depthCompleted;
+
+    @Label("Nodes Searched")
+    public long nodesSearched;
+}
@@ -0,0 +1,26 @@
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+@Category("TigerIsland")
+public abstract class GameEvent extends Event {
+    @Label("Game Id")
+    public String gameId;
+
+    @Label("Move Number")
+    public int moveNumber;
+
+    public void commitForCurrentMove() {
+        end();
+
+        if (shouldCommit()) {
+            if (gameId == null) {
+                gameId = MoveContext.getGameId();
+                moveNumber = MoveContext.getMoveNumber();
+            }
+            commit();
+        }
+    }
+}
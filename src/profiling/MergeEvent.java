@@ -0,0 +1,15 @@
+package profiling;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+@Name("tigerisland.Merge")
+@Label("Settlement Merge")
+@Description("Merging a settlement that was founded or grew with its neighbours")
+@Threshold("100 us")
+public class MergeEvent extends GameEvent {
+    @Label("Settlement Size")
+    public int settlementSize;
+}
@@ -0,0 +1,33 @@
+package profiling;
+
+public class MoveContext {
+    public static final int NO_MOVE = -1;
+
+    private static final ThreadLocal<MoveContext> currentContext = ThreadLocal.withInitial(MoveContext::new);
+
+    private String gameId;
+    private int moveNumber;
+
+    private MoveContext() {
+        this.gameId = null;
+        this.moveNumber = NO_MOVE;
+    }
+
+    public static void enter(String gameId, int moveNumber) {
+        MoveContext context = currentContext.get();
+        context.gameId = gameId;
+        context.moveNumber = moveNumber;
+    }
+
+    public static void exit() {
+        enter(null, NO_MOVE);
+    }
+
+    public static String getGameId() {
+        return currentContext.get().gameId;
+    }
+
+    public static int getMoveNumber() {
+        return currentContext.get().moveNumber;
+    }
+}
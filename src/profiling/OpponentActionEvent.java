@@ -0,0 +1,13 @@
+package profiling;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("tigerisland.OpponentAction")
+@Label("Opponent Action")
+@Description("Applying the opponent's move to our copy of the game")
+public class OpponentActionEvent extends GameEvent {
+    @Label("Applied")
+    public boolean applied;
+}
@@ -0,0 +1,13 @@
+package profiling;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("tigerisland.Parse")
+@Label("Parse")
+@Description("Turning a line from the server into a message")
+public class ParseEvent extends GameEvent {
+    @Label("Message Type")
+    public String messageType;
+}
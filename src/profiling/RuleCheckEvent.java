@@ -0,0 +1,15 @@
+package profiling;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+@Name("tigerisland.RuleCheck")
+@Label("Rule Check")
+@Description("Checking whether a tile may be placed")
+@Threshold("1 ms")
+public class RuleCheckEvent extends GameEvent {
+    @Label("Result")
+    public String result;
+}
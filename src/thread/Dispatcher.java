@@ -0,0 +1,201 @@
+package thread;
+
+import io.ServerStringEncoder;
+import io.ServerToClientParser;
+import logging.Log;
+import metrics.MetricsRegistry;
+import thread.message.*;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+
+public class Dispatcher {
+    public static final int GAME_MESSAGE_QUEUE_CAPACITY = 64;
+
+    private BlockingQueue<String> stringsFromServerQueue;
+    private BlockingQueue<String> stringsToServerQueue;
+    private BlockingQueue<Message> gameResponseQueue;
+    private Runnable disconnectAction;
+
+    private String myPlayerId;
+    private String currentOpponentPlayerId;
+
+    private GameRunner gameRunner;
+    private ConcurrentHashMap<String, GameThreadCommunication> getGameThreadCommunicationFromId;
+
+    private Thread responseWriter;
+
+    public Dispatcher(BlockingQueue<String> stringsFromServerQueue, BlockingQueue<String> stringsToServerQueue, Runnable disconnectAction) {
+        this.stringsFromServerQueue = stringsFromServerQueue;
+        this.stringsToServerQueue = stringsToServerQueue;
+        this.gameResponseQueue = new LinkedBlockingQueue<>();
+        this.disconnectAction = disconnectAction;
+
+        this.gameRunner = new GameRunner();
+        this.getGameThreadCommunicationFromId = new ConcurrentHashMap<>();
+
+        this.responseWriter = new Thread(this::writeResponsesToServer);
+        this.responseWriter.setDaemon(true);
+
+        registerQueueDepths();
+    }
+
+    public void run() {
+        startResponseWriter();
+
+        while (true) {
+            dispatch(waitForMessageFromServer());
+        }
+    }
+
+    public void startResponseWriter() {
+        responseWriter.start();
+    }
+
+    public void dispatch(String stringFromServer) {
+        long parseStartTime = System.nanoTime();
+        Message actionToTake = ServerToClientParser.parseServerInputAndComposeMessage(stringFromServer);
+        MetricsRegistry.get().serverLineParsed(System.nanoTime() - parseStartTime);
+
+        if (actionToTake instanceof ClientMessage) {
+            gameResponseQueue.add(actionToTake);
+        }
+
+        else if (actionToTake instanceof PlayerIdMessage) {
+            myPlayerId = ((PlayerIdMessage) actionToTake).getPlayerId();
+        }
+
+        else if (actionToTake instanceof NewMatchMessage) {
+            currentOpponentPlayerId = ((NewMatchMessage) actionToTake).getOpponentId();
+        }
+
+        else if (actionToTake instanceof GameCommandMessage) {
+            String gameId = ((GameCommandMessage) actionToTake).getGameId();
+            sendToGame(gameId, actionToTake);
+        }
+
+        else if (actionToTake instanceof GameEndMessage) {
+            endGame(((GameEndMessage) actionToTake).getGameId());
+        }
+
+        else if (actionToTake instanceof GameActionMessage) {
+            GameActionMessage gameActionMessage = (GameActionMessage) actionToTake;
+
+            if (!gameActionMessage.getPlayerId().equals(myPlayerId)) {
+                sendToGame(gameActionMessage.getGameId(), actionToTake);
+            }
+        }
+
+        else if (actionToTake instanceof DisconnectMessage) {
+            Log.info(MetricsRegistry.get().getSummary());
+
+            gameRunner.shutdown();
+            getGameThreadCommunicationFromId.clear();
+
+            disconnectAction.run();
+        }
+
+        else if (actionToTake instanceof GameOverMessage) {
+            String gameId = ((GameOverMessage) actionToTake).getGameId();
+
+            if (!gameHasNotBeenCreated(gameId)) {
+                getGameThreadCommunicationFromId.get(gameId).sendMessageToGame(actionToTake);
+            }
+        }
+    }
+
+    public int getNumberOfGames() {
+        return gameRunner.getNumberOfGames();
+    }
+
+    private void sendToGame(String gameId, Message message) {
+        if (gameHasNotBeenCreated(gameId)) {
+            createGameAndUpdateMaps(gameId);
+        }
+
+        getGameThreadCommunicationFromId.get(gameId).sendMessageToGame(message);
+    }
+
+    private void endGame(String gameId) {
+        if (gameHasNotBeenCreated(gameId)) {
+            return;
+        }
+
+        gameRunner.endGame(gameId);
+        getGameThreadCommunicationFromId.remove(gameId);
+    }
+
+    private void writeResponsesToServer() {
+        ServerStringEncoder encoder = new ServerStringEncoder();
+
+        try {
+            while (true) {
+                Message response = gameResponseQueue.take();
+
+                if (response instanceof ClientMessage) {
+                    stringsToServerQueue.put(((ClientMessage) response).getInformation());
+                }
+                else if (response instanceof GameActionMessage) {
+                    writeMoveToServer(encoder, (GameActionMessage) response);
+                }
+                else if (response instanceof PlayerScoreMessage) {
+                    stringsToServerQueue.put(encoder.encode((PlayerScoreMessage) response));
+                }
+            }
+        }
+        catch (InterruptedException e) {
+            return;
+        }
+    }
+
+    private void writeMoveToServer(ServerStringEncoder encoder, GameActionMessage move) throws InterruptedException {
+        long encodeStartTime = System.nanoTime();
+        String line = encoder.encode(move);
+        MetricsRegistry.get().moveEncoded(System.nanoTime() - encodeStartTime);
+
+        if (move.getCommandReceivedTime() != 0) {
+            MetricsRegistry.get().replyEncoded(line, move.getGameId(), move.getCommandReceivedTime());
+        }
+
+        stringsToServerQueue.put(line);
+    }
+
+    private void registerQueueDepths() {
+        MetricsRegistry registry = MetricsRegistry.get();
+
+        registry.registerQueue("stringsFromServer", () -> stringsFromServerQueue.size());
+        registry.registerQueue("stringsToServer", () -> stringsToServerQueue.size());
+        registry.registerQueue("gameResponses", () -> gameResponseQueue.size());
+        registry.registerQueue("gameMessages", () -> {
+            long depth = 0;
+            for (GameThreadCommunication communication : getGameThreadCommunicationFromId.values()) {
+                depth += communication.getMessageQueueDepth();
+            }
+            return depth;
+        });
+    }
+
+    private String waitForMessageFromServer() {
+        while (true) {
+            try {
+                return stringsFromServerQueue.take();
+            }
+            catch (InterruptedException e) {
+            }
+        }
+    }
+
+    private void createGameAndUpdateMaps(String gameId) {
+        BlockingQueue<Message> gameMessageQueue = new RingBufferQueue<>(GAME_MESSAGE_QUEUE_CAPACITY, WaitStrategy.BLOCK);
+
+        GameThreadCommunication gameThreadCommunication = new GameThreadCommunication(gameMessageQueue, gameResponseQueue);
+
+        getGameThreadCommunicationFromId.put(gameId, gameThreadCommunication);
+        gameRunner.startGame(gameThreadCommunication, myPlayerId, currentOpponentPlayerId, gameId);
+    }
+
+    private boolean gameHasNotBeenCreated(String gameId) {
+        return !getGameThreadCommunicationFromId.containsKey(gameId);
+    }
+}
@@ -0,0 +1,74 @@
+package thread;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class GameRunner {
+    public static final int DEFAULT_NUMBER_OF_CARRIERS = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    private static final long SHUTDOWN_TIMEOUT_IN_MILLISECONDS = 1000;
+
+    private ExecutorService carrierPool;
+    private ConcurrentHashMap<String, GameThread> games;
+
+    public GameRunner() {
+        this(DEFAULT_NUMBER_OF_CARRIERS);
+    }
+
+    public GameRunner(int numberOfCarriers) {
+        AtomicInteger carrierNumber = new AtomicInteger(0);
+
+        this.carrierPool = Executors.newFixedThreadPool(numberOfCarriers, runnable -> {
+            Thread carrier = new Thread(runnable, "game-carrier-" + carrierNumber.incrementAndGet());
+            carrier.setDaemon(true);
+            return carrier;
+        });
+        this.games = new ConcurrentHashMap<>();
+    }
+
+    public GameThread startGame(GameThreadCommunication communication, String myPlayerId, String opponentPlayerId, String gameId) {
+        GameThread game = new GameThread(communication, myPlayerId, opponentPlayerId, gameId);
+
+        GameThread previousGame = games.put(gameId, game);
+        if (previousGame != null) {
+            previousGame.cancel();
+        }
+
+        game.start(carrierPool);
+        return game;
+    }
+
+    public void endGame(String gameId) {
+        GameThread game = games.remove(gameId);
+
+        if (game != null) {
+            game.cancel();
+        }
+    }
+
+    public boolean isRunning(String gameId) {
+        return games.containsKey(gameId);
+    }
+
+    public int getNumberOfGames() {
+        return games.size();
+    }
+
+    public void shutdown() {
+        for (GameThread game : games.values()) {
+            game.cancel();
+        }
+        games.clear();
+
+        carrierPool.shutdownNow();
+        try {
+            carrierPool.awaitTermination(SHUTDOWN_TIMEOUT_IN_MILLISECONDS, TimeUnit.MILLISECONDS);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
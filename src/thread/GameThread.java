@@ -1,29 +1,34 @@
 package thread;
 
 import game.Game;
-import game.player.Player;
-import game.settlements.BuildAction;
-import game.settlements.Settlement;
-import game.tile.Hex;
-import game.tile.Location;
-import game.tile.Terrain;
+import game.search.SearchAi;
 import game.tile.Tile;
-import game.tile.orientation.TileOrientation;
-import game.world.CoordinateSystemHelper;
-import game.world.World;
 import game.world.rules.exceptions.IllegalTilePlacementException;
+import logging.Log;
+import profiling.DecisionEvent;
+import profiling.MoveContext;
+import profiling.OpponentActionEvent;
 import thread.message.*;
 
-import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 
-public class GameThread extends MyThread {
+public class GameThread {
     public static final int MILLISECONDS_PER_SECOND = 1000;
     public static final double TIME_TO_TAKE_ACTION_SAFETY_BUFFER = 0.8;
 
-    private BlockingQueue<Message> gameMessageQueue;
-    private BlockingQueue<Message> gameResponseQueue;
+    private GameThreadCommunication communication;
+    private Executor carrierPool;
+    private AtomicBoolean scheduled;
+    private ReentrantLock processing;
+    private volatile boolean cancelled;
 
     private Game game;
+    private SearchAi searchAi;
+    private MoveWatchdog watchdog;
 
     private String myPlayerId;
     private String opponentPlayerId;
@@ -31,12 +36,20 @@ public class GameThread extends MyThread {
     private String gameId;
 
     public GameThread(GameThreadCommunication communication, String myPlayerId, String opponentPlayerId, String gameId) {
-        super();
+        this(communication, myPlayerId, opponentPlayerId, gameId, SearchAi::new);
+    }
 
-        this.gameMessageQueue = communication.getGameMessageQueue();
-        this.gameResponseQueue = communication.getGameResponseQueue();
+    GameThread(GameThreadCommunication communication, String myPlayerId, String opponentPlayerId, String gameId,
+               Function<Game, SearchAi> createSearchAi) {
+        this.communication = communication;
+        this.carrierPool = null;
+        this.scheduled = new AtomicBoolean(false);
+        this.processing = new ReentrantLock();
+        this.cancelled = false;
 
         this.game = new Game();
+        this.searchAi = createSearchAi.apply(game);
+        this.watchdog = new MoveWatchdog(communication, searchAi::getBestMoveSoFar, this::answerWithoutCarrier);
 
         this.myPlayerId = myPlayerId;
         this.opponentPlayerId = opponentPlayerId;
@@ -44,38 +57,99 @@ public class GameThread extends MyThread {
         this.gameId = gameId;
     }
 
-    @Override
-    public void run()  {
-        while(!stop) {
-            Message message = null;
-            try {
-                message = gameMessageQueue.take();
-            }
-            catch(Exception e) {
+    public void start(Executor carrierPool) {
+        this.carrierPool = carrierPool;
+        communication.setMessageListener(this::messageArrived);
+        schedule();
+    }
 
-            }
+    public void cancel() {
+        cancelled = true;
+        communication.setMessageListener(null);
+        searchAi.cancel();
+        watchdog.cancel();
+    }
 
-            if(message != null) {
-                processMessage(message);
-            }
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    private void messageArrived(Message message) {
+        if (message instanceof GameCommandMessage) {
+            GameCommandMessage command = (GameCommandMessage) message;
+            watchdog.arm(command.getMoveNumber(), command.getTimeReceived(), getDeadline(command));
+        }
+
+        schedule();
+    }
+
+    private void schedule() {
+        if (cancelled || carrierPool == null || !scheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            carrierPool.execute(this::processPendingMessages);
+        }
+        catch (RejectedExecutionException e) {
+            scheduled.set(false);
+        }
+    }
+
+    private void processPendingMessages() {
+        processing.lock();
+        try {
+            processQueuedMessages();
+        }
+        finally {
+            processing.unlock();
+        }
+
+        scheduled.set(false);
+
+        if (communication.hasMessagesForGame()) {
+            schedule();
+        }
+    }
+
+    private void answerWithoutCarrier() {
+        if (cancelled || !communication.hasMessagesForGame() || !processing.tryLock()) {
+            return;
+        }
+
+        try {
+            Log.warn("Game %s: no carrier was free before the deadline, answering from the watchdog", gameId);
+            processQueuedMessages();
+        }
+        finally {
+            processing.unlock();
+        }
+    }
+
+    private void processQueuedMessages() {
+        Message message;
+        while (!cancelled && (message = communication.pollMessageForGame()) != null) {
+            processMessage(message);
         }
     }
 
     private void processMessage(Message message) {
         Message response = null;
         if (message instanceof GameCommandMessage) {
-            System.out.println("Game " + gameId + " received command");
-            response = processCommand((GameCommandMessage) message);
-
-            gameResponseQueue.add(response);
+            Log.debug("Game %s received command", gameId);
+            processCommand((GameCommandMessage) message);
         }
 
         if (message instanceof GameActionMessage) {
-            System.out.println("Game " + gameId + " received opponent action");
+            Log.debug("Game %s received opponent action", gameId);
             try {
                 processOpponentAction((GameActionMessage) message);
             } catch (IllegalTilePlacementException e) {
-                e.printStackTrace();
+                Log.error(String.format("Game %s: the opponent's move could not be applied", gameId), e);
             }
         }
 
@@ -85,67 +159,85 @@ public class GameThread extends MyThread {
 
             response = new PlayerScoreMessage(gameId, myPlayerId, playerOneScore, opponentPlayerId, playerTwoScore);
 
-            gameResponseQueue.add(response);
+            communication.sendResponse(response);
         }
 
 
     }
 
-    private Message processCommand(GameCommandMessage message) {
+    private void processCommand(GameCommandMessage message) {
         String gameId = message.getGameId();
         int moveNumber = message.getMoveNumber();
-        Message aiResponse = null;
+
+        long deadline = getDeadline(message);
+
+        DecisionEvent event = new DecisionEvent();
+        event.begin();
+        MoveContext.enter(gameId, moveNumber);
+        watchdog.arm(moveNumber, message.getTimeReceived(), deadline);
+
+        GameActionMessage searchedMove = null;
         try {
-            aiResponse = game.ai.chooseMove(gameId, moveNumber, myPlayerId, message.getTileToPlace());
-            return aiResponse;
+            searchedMove = searchAi.searchMove(gameId, moveNumber, myPlayerId, message.getTileToPlace(), deadline);
+        }
+        catch (RuntimeException e) {
+            Log.error(String.format("Game %s: the search failed, answering with a fallback move", gameId), e);
+            searchedMove = findMoveAfterFailedSearch(moveNumber, message.getTileToPlace());
         }
-        catch (IllegalTilePlacementException e) {
-            e.printStackTrace();
-            return aiResponse;
+        finally {
+            GameActionMessage sentMove = watchdog.answer(moveNumber, searchedMove);
+            if (sentMove != null) {
+                searchAi.applyChosenMove(gameId, sentMove);
+            }
+            MoveContext.exit();
         }
+
+        event.gameId = gameId;
+        event.moveNumber = moveNumber;
+        event.depthCompleted = searchAi.getDepthCompleted();
+        event.nodesSearched = searchAi.getNodesSearched();
+        event.commitForCurrentMove();
     }
 
-    private void processOpponentAction(GameActionMessage message) throws IllegalTilePlacementException {
-        World world = game.world;
-        Player playerMakingMove = game.opponent;
+    private long getDeadline(GameCommandMessage message) {
+        long timeToTakeAction = (long) (message.getMoveTime() * MILLISECONDS_PER_SECOND * TIME_TO_TAKE_ACTION_SAFETY_BUFFER * SearchAi.NANOSECONDS_PER_MILLISECOND);
+        return message.getTimeReceived() + timeToTakeAction;
+    }
 
-        Tile tilePlaced = message.getTilePlaced();
-        Location locationOfVolcano = message.getLocationOfVolcano();
-        TileOrientation orientationOfTilePlaced = message.getTileOrientationPlaced();
-        world.insertTileIntoTileManager(tilePlaced, locationOfVolcano, orientationOfTilePlaced);
+    private GameActionMessage findMoveAfterFailedSearch(int moveNumber, Tile tileToPlace) {
+        GameActionMessage bestMoveSoFar = searchAi.getBestMoveSoFar();
+        if (bestMoveSoFar != null && bestMoveSoFar.getMoveNumber() == moveNumber) {
+            return bestMoveSoFar;
+        }
 
-        Location fakeLocationOfBuildAction = message.getLocationOfBuildAction();
+        try {
+            return searchAi.createFallbackMove(gameId, moveNumber, myPlayerId, tileToPlace);
+        }
+        catch (RuntimeException e) {
+            Log.error(String.format("Game %s: no fallback move could be found for move %d", gameId, moveNumber), e);
+            return null;
+        }
+    }
 
-        int xCoordinateOfBuild = fakeLocationOfBuildAction.getxCoordinate();
-        int yCoordinateOfBuild = fakeLocationOfBuildAction.getyCoordinate();
+    private void processOpponentAction(GameActionMessage message) throws IllegalTilePlacementException {
+        OpponentActionEvent event = new OpponentActionEvent();
+        event.begin();
+        MoveContext.enter(gameId, message.getMoveNumber());
 
-        Hex hexBeingBuiltOn = world.getHexRegardlessOfHeight(xCoordinateOfBuild, yCoordinateOfBuild);
         try {
-            switch (message.getBuildActionPerformed()) {
-                case FOUNDED_SETTLEMENT:
-                    game.foundSettlement(playerMakingMove, hexBeingBuiltOn);
-                    break;
-                case EXPANDED_SETTLEMENT:
-                    Settlement settlementBeingExpanded = playerMakingMove.settlementManager.getSettlementFromHex(hexBeingBuiltOn);
-                    Terrain terrainExpandedOnto = message.getTerrainExpandedOnto();
-                    game.expandSettlement(playerMakingMove, settlementBeingExpanded, terrainExpandedOnto);
-                    break;
-                case BUILT_TIGER_PLAYGROUND:
-                    game.buildTigerPlayground(playerMakingMove, hexBeingBuiltOn);
-                    break;
-                case BUILT_TOTORO_SANCTUARY:
-                    game.buildTotoroSanctuary(playerMakingMove, hexBeingBuiltOn);
-                    break;
-                case SHANGRILA:
-                    game.buildShangrila(playerMakingMove, hexBeingBuiltOn);
-                    break;
-                case UNABLE_TO_BUILD:
-                    break;
+            event.applied = game.applyAction(game.opponent, message);
+            if (!event.applied) {
+                Log.warn(String.format("Game %s: the build of the opponent's move %d could not be applied, our board may be out of sync",
+                        gameId, message.getMoveNumber()));
             }
-        } catch (Exception e) {
-            System.out.println(e.getMessage());
         }
+        finally {
+            MoveContext.exit();
 
+            event.gameId = gameId;
+            event.moveNumber = message.getMoveNumber();
+            event.commitForCurrentMove();
+        }
     }
 
 }
@@ -3,14 +3,18 @@ package thread;
 import thread.message.Message;
 
 import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
 
 public class GameThreadCommunication {
     private BlockingQueue<Message> gameMessageQueue;
     private BlockingQueue<Message> gameResponseQueue;
 
+    private volatile Consumer<Message> messageListener;
+
     public GameThreadCommunication(BlockingQueue<Message> gameMessageQueue, BlockingQueue<Message> gameResponseQueue) {
         this.gameMessageQueue = gameMessageQueue;
         this.gameResponseQueue = gameResponseQueue;
+        this.messageListener = null;
     }
 
     public BlockingQueue<Message> getGameMessageQueue() {
@@ -20,4 +24,67 @@ public class GameThreadCommunication {
     public BlockingQueue<Message> getGameResponseQueue() {
         return gameResponseQueue;
     }
+
+    public void sendMessageToGame(Message message) {
+        putUninterruptibly(gameMessageQueue, message);
+
+        Consumer<Message> listener = messageListener;
+        if (listener != null) {
+            listener.accept(message);
+        }
+    }
+
+    public Message pollMessageForGame() {
+        return gameMessageQueue.poll();
+    }
+
+    public boolean hasMessagesForGame() {
+        return !gameMessageQueue.isEmpty();
+    }
+
+    public void sendResponse(Message response) {
+        putUninterruptibly(gameResponseQueue, response);
+    }
+
+    void setMessageListener(Consumer<Message> messageListener) {
+        this.messageListener = messageListener;
+    }
+
+    public int getMessageQueueDepth() {
+        return gameMessageQueue.size();
+    }
+
+    public long getAverageMessageHandoffNanoseconds() {
+        if (gameMessageQueue instanceof RingBufferQueue) {
+            return ((RingBufferQueue<Message>) gameMessageQueue).getAverageHandoffNanoseconds();
+        }
+
+        return 0;
+    }
+
+    public long getMaximumMessageHandoffNanoseconds() {
+        if (gameMessageQueue instanceof RingBufferQueue) {
+            return ((RingBufferQueue<Message>) gameMessageQueue).getMaximumHandoffNanoseconds();
+        }
+
+        return 0;
+    }
+
+    private static void putUninterruptibly(BlockingQueue<Message> queue, Message message) {
+        boolean interrupted = false;
+
+        while (true) {
+            try {
+                queue.put(message);
+                break;
+            }
+            catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
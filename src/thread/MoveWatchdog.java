@@ -0,0 +1,153 @@
+package thread;
+
+import logging.Log;
+import metrics.MetricsRegistry;
+import thread.message.GameActionMessage;
+
+import java.util.HashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+public class MoveWatchdog {
+    private static final ScheduledThreadPoolExecutor TIMER = createTimer();
+    private static final long RETRY_IN_NANOSECONDS = 200_000;
+
+    private GameThreadCommunication communication;
+    private Supplier<GameActionMessage> bestMoveSoFar;
+    private Runnable answerWithoutCarrier;
+
+    private HashMap<Integer, PendingMove> pendingMoves;
+    private int lastMoveAnswered;
+    private volatile boolean cancelled;
+
+    public MoveWatchdog(GameThreadCommunication communication, Supplier<GameActionMessage> bestMoveSoFar) {
+        this(communication, bestMoveSoFar, () -> { });
+    }
+
+    public MoveWatchdog(GameThreadCommunication communication, Supplier<GameActionMessage> bestMoveSoFar,
+                        Runnable answerWithoutCarrier) {
+        this.communication = communication;
+        this.bestMoveSoFar = bestMoveSoFar;
+        this.answerWithoutCarrier = answerWithoutCarrier;
+        this.pendingMoves = new HashMap<>();
+        this.lastMoveAnswered = Integer.MIN_VALUE;
+        this.cancelled = false;
+    }
+
+    public synchronized void arm(int moveNumber, long commandReceivedTime, long deadline) {
+        if (cancelled || moveNumber <= lastMoveAnswered || pendingMoves.containsKey(moveNumber)) {
+            return;
+        }
+
+        PendingMove pendingMove = new PendingMove(moveNumber, commandReceivedTime);
+        pendingMoves.put(moveNumber, pendingMove);
+        schedule(pendingMove, deadline - System.nanoTime());
+    }
+
+    public GameActionMessage answer(int moveNumber, GameActionMessage move) {
+        PendingMove pendingMove;
+        synchronized (this) {
+            pendingMove = pendingMoves.remove(moveNumber);
+            lastMoveAnswered = Math.max(lastMoveAnswered, moveNumber);
+        }
+
+        if (pendingMove == null) {
+            return null;
+        }
+
+        pendingMove.close();
+        if (move != null && move.getMoveNumber() == moveNumber && send(pendingMove, move)) {
+            return move;
+        }
+
+        return pendingMove.answer.get();
+    }
+
+    public synchronized void cancel() {
+        cancelled = true;
+
+        for (PendingMove pendingMove : pendingMoves.values()) {
+            pendingMove.disarm();
+        }
+    }
+
+    public synchronized boolean isArmed(int moveNumber) {
+        return pendingMoves.containsKey(moveNumber);
+    }
+
+    private void schedule(PendingMove pendingMove, long delay) {
+        pendingMove.timeout = TIMER.schedule(() -> answerInTime(pendingMove), delay, TimeUnit.NANOSECONDS);
+    }
+
+    private void answerInTime(PendingMove pendingMove) {
+        if (cancelled || pendingMove.closed || pendingMove.answer.get() != null) {
+            return;
+        }
+
+        GameActionMessage move = bestMoveSoFar.get();
+        if (move == null || move.getMoveNumber() != pendingMove.moveNumber) {
+            answerWithoutCarrier.run();
+
+            if (!cancelled && !pendingMove.closed && pendingMove.answer.get() == null) {
+                schedule(pendingMove, RETRY_IN_NANOSECONDS);
+            }
+            return;
+        }
+
+        if (send(pendingMove, move)) {
+            MetricsRegistry.get().moveAnsweredByWatchdog();
+            Log.warn("Game %s: out of time, sent the best move found so far", move.getGameId());
+        }
+    }
+
+    private boolean send(PendingMove pendingMove, GameActionMessage move) {
+        if (cancelled || !pendingMove.answer.compareAndSet(null, move)) {
+            return false;
+        }
+
+        move.setCommandReceivedTime(pendingMove.commandReceivedTime);
+        communication.sendResponse(move);
+        return true;
+    }
+
+    private static ScheduledThreadPoolExecutor createTimer() {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread timerThread = new Thread(runnable, "move-watchdog");
+            timerThread.setDaemon(true);
+            return timerThread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+
+        return timer;
+    }
+
+    private static class PendingMove {
+        private final int moveNumber;
+        private final long commandReceivedTime;
+        private final AtomicReference<GameActionMessage> answer;
+        private volatile ScheduledFuture<?> timeout;
+        private volatile boolean closed;
+
+        private PendingMove(int moveNumber, long commandReceivedTime) {
+            this.moveNumber = moveNumber;
+            this.commandReceivedTime = commandReceivedTime;
+            this.answer = new AtomicReference<>();
+            this.closed = false;
+        }
+
+        private void close() {
+            closed = true;
+            disarm();
+        }
+
+        private void disarm() {
+            ScheduledFuture<?> currentTimeout = timeout;
+            if (currentTimeout != null) {
+                currentTimeout.cancel(false);
+            }
+        }
+    }
+}
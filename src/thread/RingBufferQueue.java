@@ -0,0 +1,279 @@
+package thread;
+
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Only one producer and one consumer may use the queue at a time.
+ */
+public class RingBufferQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private Object[] elements;
+    private long[] offerTimes;
+    private int mask;
+    private WaitStrategy waitStrategy;
+
+    private AtomicLong head;
+    private AtomicLong tail;
+    private volatile Thread waitingConsumer;
+
+    private volatile int highWaterMark;
+    private volatile long numberOfHandoffs;
+    private volatile long totalHandoffNanoseconds;
+    private volatile long maximumHandoffNanoseconds;
+
+    public RingBufferQueue() {
+        this(DEFAULT_CAPACITY, WaitStrategy.BLOCK);
+    }
+
+    public RingBufferQueue(int capacity, WaitStrategy waitStrategy) {
+        int roundedCapacity = 2;
+        while (roundedCapacity < capacity) {
+            roundedCapacity <<= 1;
+        }
+
+        this.elements = new Object[roundedCapacity];
+        this.offerTimes = new long[roundedCapacity];
+        this.mask = roundedCapacity - 1;
+        this.waitStrategy = waitStrategy;
+
+        this.head = new AtomicLong(0);
+        this.tail = new AtomicLong(0);
+        this.waitingConsumer = null;
+    }
+
+    @Override
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new NullPointerException();
+        }
+
+        long currentTail = tail.get();
+        if (currentTail - head.get() == elements.length) {
+            return false;
+        }
+
+        int slot = (int) currentTail & mask;
+        elements[slot] = element;
+        offerTimes[slot] = System.nanoTime();
+        tail.set(currentTail + 1);
+
+        int depth = (int) (currentTail + 1 - head.get());
+        if (depth > highWaterMark) {
+            highWaterMark = depth;
+        }
+
+        Thread consumer = waitingConsumer;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+        }
+
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long currentHead = head.get();
+        if (currentHead == tail.get()) {
+            return null;
+        }
+
+        int slot = (int) currentHead & mask;
+        E element = (E) elements[slot];
+        long handoffNanoseconds = System.nanoTime() - offerTimes[slot];
+        elements[slot] = null;
+        head.lazySet(currentHead + 1);
+
+        numberOfHandoffs++;
+        totalHandoffNanoseconds += handoffNanoseconds;
+        if (handoffNanoseconds > maximumHandoffNanoseconds) {
+            maximumHandoffNanoseconds = handoffNanoseconds;
+        }
+
+        return element;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        long currentHead = head.get();
+        if (currentHead == tail.get()) {
+            return null;
+        }
+
+        return (E) elements[(int) currentHead & mask];
+    }
+
+    @Override
+    public void put(E element) throws InterruptedException {
+        int attempt = 0;
+        while (!offer(element)) {
+            checkInterrupted();
+            waitStrategy.waitWhileFull(attempt++);
+        }
+    }
+
+    @Override
+    public boolean offer(E element, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+        int attempt = 0;
+        while (!offer(element)) {
+            checkInterrupted();
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            waitStrategy.waitWhileFull(attempt++);
+        }
+
+        return true;
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        E element;
+        int attempt = 0;
+
+        while ((element = poll()) == null) {
+            checkInterrupted();
+            if (waitStrategy.shouldPark(attempt++)) {
+                park(0);
+            }
+        }
+
+        return element;
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        E element;
+        int attempt = 0;
+
+        while ((element = poll()) == null) {
+            checkInterrupted();
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return null;
+            }
+
+            if (waitStrategy.shouldPark(attempt++)) {
+                park(remaining);
+            }
+        }
+
+        return element;
+    }
+
+    private void park(long nanoseconds) {
+        waitingConsumer = Thread.currentThread();
+
+        if (isEmpty()) {
+            if (nanoseconds > 0) {
+                LockSupport.parkNanos(this, nanoseconds);
+            }
+            else {
+                LockSupport.park(this);
+            }
+        }
+
+        waitingConsumer = null;
+    }
+
+    private static void checkInterrupted() throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+
+    @Override
+    public int size() {
+        return (int) (tail.get() - head.get());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return head.get() == tail.get();
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return elements.length - size();
+    }
+
+    public int getCapacity() {
+        return elements.length;
+    }
+
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    public int getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    public long getNumberOfHandoffs() {
+        return numberOfHandoffs;
+    }
+
+    public long getAverageHandoffNanoseconds() {
+        long handoffs = numberOfHandoffs;
+        return handoffs == 0 ? 0 : totalHandoffNanoseconds / handoffs;
+    }
+
+    public long getMaximumHandoffNanoseconds() {
+        return maximumHandoffNanoseconds;
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> collection) {
+        return drainTo(collection, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> collection, int maxElements) {
+        int drained = 0;
+        E element;
+
+        while (drained < maxElements && (element = poll()) != null) {
+            collection.add(element);
+            drained++;
+        }
+
+        return drained;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        long start = head.get();
+        long end = tail.get();
+
+        return new Iterator<E>() {
+            private long position = start;
+
+            @Override
+            public boolean hasNext() {
+                return position < end && position >= head.get();
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return (E) elements[(int) position++ & mask];
+            }
+        };
+    }
+}
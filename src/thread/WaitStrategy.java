@@ -0,0 +1,41 @@
+package thread;
+
+import java.util.concurrent.locks.LockSupport;
+
+public enum WaitStrategy {
+    BLOCK(0, 0),
+    SPIN_THEN_PARK(2000, 100),
+    BUSY_SPIN(Integer.MAX_VALUE, 0);
+
+    private static final long PARK_WHILE_FULL_IN_NANOSECONDS = 50_000;
+
+    private int spins;
+    private int yields;
+
+    WaitStrategy(int spins, int yields) {
+        this.spins = spins;
+        this.yields = yields;
+    }
+
+    boolean shouldPark(int attempt) {
+        if (attempt < spins) {
+            Thread.onSpinWait();
+            return false;
+        }
+
+        if (attempt - spins < yields) {
+            Thread.yield();
+            return false;
+        }
+
+        return true;
+    }
+
+    void waitWhileFull(int attempt) {
+        if (!shouldPark(attempt)) {
+            return;
+        }
+
+        LockSupport.parkNanos(this, PARK_WHILE_FULL_IN_NANOSECONDS);
+    }
+}
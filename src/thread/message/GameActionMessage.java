@@ -16,6 +16,7 @@ public class GameActionMessage extends Message {
     private BuildAction buildActionPerformed;
     private Location locationOfBuildAction;
     private Terrain terrainExpandedOnto;
+    private long commandReceivedTime;
 
     public GameActionMessage(String gameId, int moveNumber, String playerId,  Tile tilePlaced,
                              Location locationOfVolcano, TileOrientation tileOrientationPlaced,
@@ -68,5 +69,13 @@ public class GameActionMessage extends Message {
         return terrainExpandedOnto;
     }
 
+    public long getCommandReceivedTime() {
+        return commandReceivedTime;
+    }
+
+    public void setCommandReceivedTime(long commandReceivedTime) {
+        this.commandReceivedTime = commandReceivedTime;
+    }
+
 
 }
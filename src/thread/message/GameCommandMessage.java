@@ -7,12 +7,14 @@ public class GameCommandMessage extends Message {
     private double moveTime;
     private int moveNumber;
     private Tile tileToPlace;
+    private long timeReceived;
 
     public GameCommandMessage(String gameId, double moveTime, int moveNumber, Tile tileToPlace) {
         this.gameId = gameId;
         this.moveTime = moveTime;
         this.moveNumber = moveNumber;
         this.tileToPlace = tileToPlace;
+        this.timeReceived = System.nanoTime();
     }
 
     public String getGameId() {
@@ -30,4 +32,8 @@ public class GameCommandMessage extends Message {
     public Tile getTileToPlace() {
         return tileToPlace;
     }
+
+    public long getTimeReceived() {
+        return timeReceived;
+    }
 }
@@ -0,0 +1,188 @@
+package game;
+
+import game.settlements.BuildAction;
+import game.settlements.Settlement;
+import game.tile.Hex;
+import game.tile.Location;
+import game.tile.Terrain;
+import game.tile.Tile;
+import game.tile.orientation.TileOrientation;
+import game.world.TilePlacement;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import thread.message.GameActionMessage;
+
+public class GameTest {
+    private Game game;
+
+    @Before
+    public void setupGame() {
+        game = new Game();
+    }
+
+    @Test
+    public void testApplyActionPlacesTileAndBuilds() throws Exception {
+        GameActionMessage action = new GameActionMessage("game", 1, "opponent", new Tile(Terrain.JUNGLE, Terrain.LAKE),
+                new Location(1,0,0), TileOrientation.EAST_NORTHEAST, BuildAction.FOUNDED_SETTLEMENT, new Location(0,1,0), null);
+
+        Assert.assertTrue(game.applyAction(game.opponent, action));
+        Assert.assertEquals(1, game.opponent.getScore());
+        Assert.assertNotNull(game.world.getHexByCoordinate(0,1,0).getSettlement());
+    }
+
+    @Test
+    public void testApplyActionUsesHeightOfBoardForVolcano() throws Exception {
+        game.applyAction(game.opponent, new GameActionMessage("game", 1, "opponent", new Tile(Terrain.JUNGLE, Terrain.LAKE),
+                new Location(1,0,0), TileOrientation.EAST_NORTHEAST, BuildAction.UNABLE_TO_BUILD, null, null));
+
+        game.applyAction(game.theAI, new GameActionMessage("game", 2, "ai", new Tile(Terrain.ROCKY, Terrain.GRASSLANDS),
+                new Location(1,0,0), TileOrientation.WEST_SOUTHWEST, BuildAction.UNABLE_TO_BUILD, null, null));
+
+        Assert.assertEquals(1, game.world.getHeightOfHexByCoordinates(1,0));
+    }
+
+    @Test
+    public void testCopyReplaysActionsWithoutSharingState() throws Exception {
+        GameActionMessage action = new GameActionMessage("game", 1, "opponent", new Tile(Terrain.JUNGLE, Terrain.LAKE),
+                new Location(1,0,0), TileOrientation.EAST_NORTHEAST, BuildAction.FOUNDED_SETTLEMENT, new Location(0,1,0), null);
+        game.applyAction(game.opponent, action);
+
+        Game copy = game.copy();
+
+        Assert.assertEquals(game.world.getAllHexesInWorld().size(), copy.world.getAllHexesInWorld().size());
+        Assert.assertEquals(1, copy.opponent.getScore());
+        Assert.assertEquals(0, copy.theAI.getScore());
+        Assert.assertNotSame(game.world.getHexByCoordinate(2,0,0), copy.world.getHexByCoordinate(2,0,0));
+
+        copy.foundSettlement(copy.theAI, copy.world.getHexByCoordinate(2,0,0));
+
+        Assert.assertNull(game.world.getHexByCoordinate(2,0,0).getSettlement());
+        Assert.assertEquals(0, game.theAI.getScore());
+    }
+
+    @Test
+    public void testUnmakeMoveRestoresNukedSettlementAndScores() throws Exception {
+        setupTwoHexOpponentSettlement();
+        int numberOfHexes = game.world.getAllHexesInWorld().size();
+        int numberOfPlacements = game.world.getLegalTilePlacements().size();
+        int opponentScore = game.opponent.getScore();
+
+        GameActionMessage nukingMove = new GameActionMessage("game", 2, "ai", new Tile(Terrain.ROCKY, Terrain.GRASSLANDS),
+                new Location(0,0,1), TileOrientation.EAST_NORTHEAST, BuildAction.FOUNDED_SETTLEMENT, new Location(2,0,0), null);
+
+        Assert.assertTrue(game.makeMove(game.theAI, nukingMove));
+        Assert.assertEquals(1, game.opponent.getSizeOfLargestSettlement());
+        Assert.assertEquals(1, game.theAI.getScore());
+
+        game.unmakeMove();
+
+        Hex lakeHex = game.world.getHexByCoordinate(1,1,0);
+        Assert.assertEquals(lakeHex, game.world.findHexRegardlessOfHeight(1,1));
+        Assert.assertEquals(numberOfHexes, game.world.getAllHexesInWorld().size());
+        Assert.assertEquals(numberOfPlacements, game.world.getLegalTilePlacements().size());
+        Assert.assertEquals(2, game.opponent.getSizeOfLargestSettlement());
+        Assert.assertEquals(game.world.getHexByCoordinate(0,1,0).getSettlement(), lakeHex.getSettlement());
+        Assert.assertNull(game.world.getHexByCoordinate(2,0,0).getSettlement());
+        Assert.assertEquals(opponentScore, game.opponent.getScore());
+        Assert.assertEquals(0, game.theAI.getScore());
+        Assert.assertEquals(Settings.STARTING_VILLAGER_COUNT, game.theAI.getVillagerCount());
+        Assert.assertEquals(1, game.getNumberOfPlayedActions());
+    }
+
+    @Test
+    public void testUnmakeMoveUndoesMerge() throws Exception {
+        setupTwoHexOpponentSettlement();
+        Settlement settlement = game.world.getHexByCoordinate(0,1,0).getSettlement();
+        TilePlacement placement = firstBaseLayerPlacement();
+
+        GameActionMessage mergingMove = new GameActionMessage("game", 2, "opponent", new Tile(Terrain.ROCKY, Terrain.GRASSLANDS),
+                placement.getLocationOfVolcano(), placement.getTileOrientation(), BuildAction.FOUNDED_SETTLEMENT, new Location(2,1,0), null);
+
+        Assert.assertTrue(game.makeMove(game.opponent, mergingMove));
+        Assert.assertEquals(3, game.opponent.getSizeOfLargestSettlement());
+        Assert.assertEquals(1, game.opponent.settlementManager.settlements.size());
+
+        game.unmakeMove();
+
+        Assert.assertNull(game.world.getHexByCoordinate(2,1,0).getSettlement());
+        Assert.assertEquals(1, game.opponent.settlementManager.settlements.size());
+        Assert.assertEquals(settlement, game.opponent.settlementManager.settlements.get(0));
+        Assert.assertEquals(2, settlement.getSettlementSize());
+        Assert.assertEquals(2, game.opponent.getSizeOfLargestSettlement());
+    }
+
+    @Test
+    public void testFailedMakeMoveLeavesGameUnchanged() throws Exception {
+        int numberOfHexes = game.world.getAllHexesInWorld().size();
+
+        GameActionMessage illegalMove = new GameActionMessage("game", 1, "ai", new Tile(Terrain.ROCKY, Terrain.GRASSLANDS),
+                new Location(0,0,1), TileOrientation.EAST_NORTHEAST, BuildAction.UNABLE_TO_BUILD, null, null);
+
+        try {
+            game.makeMove(game.theAI, illegalMove);
+            Assert.fail();
+        }
+        catch (Exception e) {
+            Assert.assertEquals(numberOfHexes, game.world.getAllHexesInWorld().size());
+            Assert.assertEquals(0, game.getNumberOfPlayedActions());
+        }
+
+        game.makeMove(game.theAI, new GameActionMessage("game", 1, "ai", new Tile(Terrain.ROCKY, Terrain.GRASSLANDS),
+                new Location(1,0,0), TileOrientation.EAST_NORTHEAST, BuildAction.UNABLE_TO_BUILD, null, null));
+        game.unmakeMove();
+
+        Assert.assertEquals(numberOfHexes, game.world.getAllHexesInWorld().size());
+    }
+
+    @Test
+    public void testPositionHashIsRestoredByUnmakeMove() throws Exception {
+        setupTwoHexOpponentSettlement();
+        long positionHash = game.getPositionHash();
+
+        game.makeMove(game.theAI, new GameActionMessage("game", 2, "ai", new Tile(Terrain.ROCKY, Terrain.GRASSLANDS),
+                new Location(0,0,1), TileOrientation.EAST_NORTHEAST, BuildAction.FOUNDED_SETTLEMENT, new Location(2,0,0), null));
+        Assert.assertNotEquals(positionHash, game.getPositionHash());
+
+        game.unmakeMove();
+        Assert.assertEquals(positionHash, game.getPositionHash());
+    }
+
+    @Test
+    public void testPositionHashIsSameForTransposedMoves() throws Exception {
+        Game transposedGame = new Game();
+
+        game.foundSettlement(game.theAI, game.world.getHexByCoordinate(0,1,0));
+        game.foundSettlement(game.opponent, game.world.getHexByCoordinate(0,-1,0));
+        transposedGame.foundSettlement(transposedGame.opponent, transposedGame.world.getHexByCoordinate(0,-1,0));
+        transposedGame.foundSettlement(transposedGame.theAI, transposedGame.world.getHexByCoordinate(0,1,0));
+
+        Assert.assertEquals(game.getPositionHash(), transposedGame.getPositionHash());
+    }
+
+    @Test
+    public void testPositionHashDependsOnWhoOwnsSettlement() throws Exception {
+        Game otherGame = new Game();
+
+        game.foundSettlement(game.theAI, game.world.getHexByCoordinate(0,1,0));
+        otherGame.foundSettlement(otherGame.opponent, otherGame.world.getHexByCoordinate(0,1,0));
+
+        Assert.assertNotEquals(game.getPositionHash(), otherGame.getPositionHash());
+    }
+
+    private void setupTwoHexOpponentSettlement() throws Exception {
+        game.applyAction(game.opponent, new GameActionMessage("game", 1, "opponent", new Tile(Terrain.JUNGLE, Terrain.LAKE),
+                new Location(1,0,0), TileOrientation.EAST_NORTHEAST, BuildAction.FOUNDED_SETTLEMENT, new Location(0,1,0), null));
+        game.foundSettlement(game.opponent, game.world.getHexByCoordinate(1,1,0));
+    }
+
+    private TilePlacement firstBaseLayerPlacement() {
+        for (TilePlacement placement : game.world.getLegalTilePlacements()) {
+            if (placement.getLocationOfVolcano().getHeight() == 0) {
+                return placement;
+            }
+        }
+
+        return null;
+    }
+}
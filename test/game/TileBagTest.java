@@ -0,0 +1,52 @@
+package game;
+
+import game.tile.Tile;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+
+public class TileBagTest {
+    @Test
+    public void testBagHoldsThreeOfEveryTerrainPair() {
+        TileBag tileBag = new TileBag(7L);
+        HashMap<String, Integer> countOfTile = new HashMap<>();
+
+        while (!tileBag.isEmpty()) {
+            Tile tile = tileBag.drawTile();
+            countOfTile.merge(tile.getLeftHexTerrain() + "+" + tile.getRightHexTerrain(), 1, Integer::sum);
+        }
+
+        Assert.assertEquals(16, countOfTile.size());
+        for (int count : countOfTile.values()) {
+            Assert.assertEquals(TileBag.COPIES_OF_EACH_TILE, count);
+        }
+    }
+
+    @Test
+    public void testSameSeedDealsSameTiles() {
+        TileBag firstBag = new TileBag(11L);
+        TileBag secondBag = new TileBag(11L);
+
+        for (int i = 0; i < TileBag.NUMBER_OF_TILES; i++) {
+            Tile firstTile = firstBag.drawTile();
+            Tile secondTile = secondBag.drawTile();
+
+            Assert.assertEquals(firstTile.getLeftHexTerrain(), secondTile.getLeftHexTerrain());
+            Assert.assertEquals(firstTile.getRightHexTerrain(), secondTile.getRightHexTerrain());
+        }
+
+        Assert.assertTrue(firstBag.isEmpty());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testDrawingFromEmptyBagThrows() {
+        TileBag tileBag = new TileBag(1L);
+
+        while (!tileBag.isEmpty()) {
+            tileBag.drawTile();
+        }
+
+        tileBag.drawTile();
+    }
+}
@@ -0,0 +1,163 @@
+package game.search;
+
+import game.Game;
+import game.settlements.BuildAction;
+import game.settlements.Settlement;
+import game.settlements.SettlementManager;
+import game.tile.Location;
+import game.tile.Terrain;
+import game.tile.Tile;
+import game.tile.orientation.TileOrientation;
+import logging.AsyncAppender;
+import logging.Log;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import thread.message.GameActionMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+public class SearchAiTest {
+    private static final long BUDGET = 100 * SearchAi.NANOSECONDS_PER_MILLISECOND;
+    private static final long BUDGET_TO_COMPLETE_FIRST_DEPTH = 2000 * SearchAi.NANOSECONDS_PER_MILLISECOND;
+
+    private Game game;
+    private SearchAi searchAi;
+
+    @Before
+    public void setupSearch() {
+        game = new Game();
+        searchAi = new SearchAi(game);
+    }
+
+    @Test
+    public void testChooseMoveReturnsBeforeDeadline() {
+        long deadline = System.nanoTime() + BUDGET;
+
+        GameActionMessage move = searchAi.chooseMove("game", 1, "ai", new Tile(Terrain.GRASSLANDS, Terrain.LAKE), deadline);
+
+        Assert.assertTrue(System.nanoTime() < deadline);
+        Assert.assertNotNull(move);
+        Assert.assertEquals("game", move.getGameId());
+        Assert.assertEquals(1, move.getMoveNumber());
+        Assert.assertTrue(searchAi.getDepthCompleted() >= 1);
+    }
+
+    @Test
+    public void testChosenMoveIsAppliedToGame() {
+        GameActionMessage move = searchAi.chooseMove("game", 1, "ai", new Tile(Terrain.GRASSLANDS, Terrain.LAKE), System.nanoTime() + BUDGET);
+
+        Assert.assertEquals(1, game.getNumberOfPlayedActions());
+        Assert.assertEquals(BuildAction.FOUNDED_SETTLEMENT, move.getBuildActionPerformed());
+        Assert.assertEquals(1, game.theAI.getScore());
+    }
+
+    @Test
+    public void testExpiredDeadlineStillReturnsLegalMove() {
+        GameActionMessage move = searchAi.chooseMove("game", 1, "ai", new Tile(Terrain.GRASSLANDS, Terrain.LAKE), System.nanoTime());
+
+        Assert.assertEquals(0, searchAi.getDepthCompleted());
+        Assert.assertEquals(BuildAction.FOUNDED_SETTLEMENT, move.getBuildActionPerformed());
+        Assert.assertEquals(1, game.theAI.getScore());
+    }
+
+    @Test
+    public void testRepeatedPositionsAreFoundInTranspositionTable() {
+        searchAi.chooseMove("game", 1, "ai", new Tile(Terrain.GRASSLANDS, Terrain.LAKE), System.nanoTime() + BUDGET_TO_COMPLETE_FIRST_DEPTH);
+
+        Assert.assertTrue(searchAi.getDepthCompleted() >= 2);
+        Assert.assertTrue(searchAi.getTranspositionHits() > 0);
+    }
+
+    @Test
+    public void testRootMovesAreSharedBetweenWorkers() {
+        SearchAi parallelSearchAi = new SearchAi(game, 3);
+
+        GameActionMessage move = parallelSearchAi.chooseMove("game", 1, "ai", new Tile(Terrain.GRASSLANDS, Terrain.LAKE),
+                System.nanoTime() + BUDGET_TO_COMPLETE_FIRST_DEPTH);
+
+        Assert.assertEquals(3, parallelSearchAi.getNumberOfWorkersUsed());
+        Assert.assertTrue(parallelSearchAi.getDepthCompleted() >= 2);
+        Assert.assertEquals(BuildAction.FOUNDED_SETTLEMENT, move.getBuildActionPerformed());
+        Assert.assertEquals(1, game.getNumberOfPlayedActions());
+        Assert.assertEquals(1, game.theAI.getScore());
+    }
+
+    @Test
+    public void testWorkerCapIsAtLeastOne() {
+        Assert.assertEquals(1, new SearchAi(game, 0).getMaximumWorkers());
+    }
+
+    @Test
+    public void testExpandsWhenWorthMoreThanFounding() throws Exception {
+        game.applyAction(game.theAI, new GameActionMessage("game", 1, "ai", new Tile(Terrain.LAKE, Terrain.LAKE),
+                new Location(1,0,0), TileOrientation.EAST_NORTHEAST, BuildAction.FOUNDED_SETTLEMENT, new Location(1,1,0), null));
+
+        GameActionMessage move = searchAi.chooseMove("game", 2, "ai", new Tile(Terrain.ROCKY, Terrain.ROCKY), System.nanoTime() + BUDGET_TO_COMPLETE_FIRST_DEPTH);
+
+        Assert.assertTrue(searchAi.getDepthCompleted() >= 1);
+        Assert.assertEquals(BuildAction.EXPANDED_SETTLEMENT, move.getBuildActionPerformed());
+        Assert.assertTrue(game.theAI.getScore() >= 3);
+    }
+
+    @Test
+    public void testFallbackMoveIsLegalAndLeavesTheGameUntouched() throws Exception {
+        long positionBefore = game.getPositionHash();
+
+        GameActionMessage fallback = searchAi.createFallbackMove("game", 1, "ai", new Tile(Terrain.GRASSLANDS, Terrain.LAKE));
+
+        Assert.assertEquals(positionBefore, game.getPositionHash());
+        Assert.assertEquals(BuildAction.FOUNDED_SETTLEMENT, fallback.getBuildActionPerformed());
+        Assert.assertTrue(game.applyAction(game.theAI, fallback));
+    }
+
+    @Test
+    public void testFallbackBuildsATotoroWhenNoVillagersAreLeft() throws Exception {
+        Tile expansionTile1 = new Tile(Terrain.JUNGLE, Terrain.GRASSLANDS);
+        Tile expansionTile2 = new Tile(Terrain.JUNGLE, Terrain.GRASSLANDS);
+        game.world.insertTileIntoTileManager(expansionTile1, new Location(-2,0,0), TileOrientation.EAST_NORTHEAST);
+        game.world.insertTileIntoTileManager(expansionTile2, new Location(2,3,0), TileOrientation.SOUTHWEST_SOUTHEAST);
+
+        SettlementManager settlementManager = game.theAI.settlementManager;
+        Settlement settlement = settlementManager.foundSettlement(expansionTile1.getRightHexRelativeToVolcano());
+        settlementManager.expandSettlement(settlement, Terrain.JUNGLE);
+        settlementManager.expandSettlement(settlement, Terrain.GRASSLANDS);
+        game.theAI.useVillagers(game.theAI.getVillagerCount());
+
+        GameActionMessage fallback = searchAi.createFallbackMove("game", 1, "ai", new Tile(Terrain.GRASSLANDS, Terrain.LAKE));
+
+        Assert.assertEquals(BuildAction.BUILT_TOTORO_SANCTUARY, fallback.getBuildActionPerformed());
+        Assert.assertTrue(game.applyAction(game.theAI, fallback));
+    }
+
+    @Test
+    public void testSearchMoveDoesNotPlayTheMove() {
+        long positionBefore = game.getPositionHash();
+
+        GameActionMessage move = searchAi.searchMove("game", 1, "ai", new Tile(Terrain.GRASSLANDS, Terrain.LAKE), System.nanoTime() + BUDGET);
+
+        Assert.assertNotNull(move);
+        Assert.assertEquals(positionBefore, game.getPositionHash());
+
+        searchAi.applyChosenMove("game", move);
+        Assert.assertNotEquals(positionBefore, game.getPositionHash());
+    }
+
+    @Test
+    public void testChosenMoveWhoseBuildFailsIsLoggedAsAWarning() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Log.setAppender(new AsyncAppender(new PrintStream(output)));
+
+        try {
+            searchAi.applyChosenMove("game", new GameActionMessage("game", 3, "ai", new Tile(Terrain.JUNGLE, Terrain.LAKE),
+                    new Location(1,0,0), TileOrientation.EAST_NORTHEAST, BuildAction.EXPANDED_SETTLEMENT, new Location(0,1,0), Terrain.LAKE));
+            Log.flush();
+        }
+        finally {
+            Log.setAppender(new AsyncAppender(System.out));
+        }
+
+        Assert.assertTrue(output.toString().contains("Game game: the build of our move 3 could not be applied"));
+    }
+}
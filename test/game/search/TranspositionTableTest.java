@@ -0,0 +1,54 @@
+package game.search;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TranspositionTableTest {
+    private TranspositionTable transpositionTable;
+
+    @Before
+    public void setupTable() {
+        transpositionTable = new TranspositionTable(1000);
+    }
+
+    @Test
+    public void testCapacityIsRoundedUpToPowerOfTwo() {
+        Assert.assertEquals(1024, transpositionTable.capacity());
+    }
+
+    @Test
+    public void testStoreThenProbe() {
+        transpositionTable.store(42L, 3, 17, TranspositionTable.Bound.LOWER, null);
+
+        TranspositionTable.Entry entry = transpositionTable.probe(42L);
+
+        Assert.assertEquals(3, entry.getDepth());
+        Assert.assertEquals(17, entry.getScore());
+        Assert.assertEquals(TranspositionTable.Bound.LOWER, entry.getBound());
+    }
+
+    @Test
+    public void testProbeWithCollidingKeyMisses() {
+        transpositionTable.store(42L, 3, 17, TranspositionTable.Bound.EXACT, null);
+
+        Assert.assertNull(transpositionTable.probe(42L + transpositionTable.capacity()));
+    }
+
+    @Test
+    public void testShallowerResultDoesNotReplaceDeeperResult() {
+        transpositionTable.store(42L, 3, 17, TranspositionTable.Bound.EXACT, null);
+        transpositionTable.store(42L, 1, 5, TranspositionTable.Bound.EXACT, null);
+
+        Assert.assertEquals(17, transpositionTable.probe(42L).getScore());
+    }
+
+    @Test
+    public void testOtherPositionReplacesSlot() {
+        transpositionTable.store(42L, 3, 17, TranspositionTable.Bound.EXACT, null);
+        transpositionTable.store(42L + transpositionTable.capacity(), 1, 5, TranspositionTable.Bound.EXACT, null);
+
+        Assert.assertNull(transpositionTable.probe(42L));
+        Assert.assertEquals(5, transpositionTable.probe(42L + transpositionTable.capacity()).getScore());
+    }
+}
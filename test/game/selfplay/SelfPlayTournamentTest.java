@@ -0,0 +1,38 @@
+package game.selfplay;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SelfPlayTournamentTest {
+    @Test
+    public void testSameSeedPlaysSameGame() {
+        SelfPlaySettings settings = new SelfPlaySettings();
+
+        SelfPlayResult firstResult = new SelfPlayGame("a", 5L, settings, true).play();
+        SelfPlayResult secondResult = new SelfPlayGame("b", 5L, settings, true).play();
+
+        Assert.assertEquals(firstResult.getOutcome(), secondResult.getOutcome());
+        Assert.assertEquals(firstResult.getReason(), secondResult.getReason());
+        Assert.assertEquals(firstResult.getFirstScore(), secondResult.getFirstScore());
+        Assert.assertEquals(firstResult.getSecondScore(), secondResult.getSecondScore());
+        Assert.assertEquals(firstResult.getNumberOfMoves(), secondResult.getNumberOfMoves());
+    }
+
+    @Test
+    public void testEveryGameIsCountedOnce() throws Exception {
+        SelfPlaySettings settings = new SelfPlaySettings();
+        settings.numberOfGames = 4;
+
+        SelfPlayTournament tournament = new SelfPlayTournament(settings);
+        tournament.run();
+
+        Assert.assertEquals(4, tournament.getResults().size());
+        Assert.assertEquals(4, tournament.count(SelfPlayResult.Outcome.FIRST_AI_WON)
+                + tournament.count(SelfPlayResult.Outcome.SECOND_AI_WON) + tournament.count(SelfPlayResult.Outcome.DRAW));
+        Assert.assertEquals(0, tournament.count(SelfPlayResult.Reason.ILLEGAL_MOVE));
+
+        for (SelfPlayResult result : tournament.getResults()) {
+            Assert.assertEquals(result.getNumberOfMoves(), result.getFirstMoveTimes().length + result.getSecondMoveTimes().length);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package game.settlements;
+
+import game.tile.*;
+import game.tile.orientation.*;
+import game.world.*;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.Random;
+
+public class ExpansionIndexTest {
+    private static final Terrain[] EXPANDABLE_TERRAINS = {Terrain.JUNGLE, Terrain.LAKE, Terrain.GRASSLANDS, Terrain.ROCKY};
+
+    private World world;
+    private SettlementManager settlementManager;
+    private Tile expansionTile;
+    private Settlement settlement;
+
+    @Before
+    public void setUp() throws Exception {
+        this.world = new World();
+        this.settlementManager = new SettlementManager(this.world);
+
+        this.expansionTile = new Tile(Terrain.JUNGLE, Terrain.GRASSLANDS);
+        this.world.insertTileIntoTileManager(expansionTile, new Location(-2, 0, 0), TileOrientation.EAST_NORTHEAST);
+        this.world.insertTileIntoTileManager(new Tile(Terrain.JUNGLE, Terrain.GRASSLANDS), new Location(2, 3, 0), TileOrientation.SOUTHWEST_SOUTHEAST);
+
+        this.settlement = settlementManager.foundSettlement(expansionTile.getRightHexRelativeToVolcano());
+    }
+
+    @Test
+    public void testIndexIsReusedWhileTheBoardDoesNotChange() {
+        ExpansionIndex expansionIndex = settlement.getExpansionIndex(world);
+
+        Assert.assertSame(expansionIndex, settlement.getExpansionIndex(world));
+    }
+
+    @Test
+    public void testIndexCostAndScoreMatchTheHexes() {
+        ExpansionIndex expansionIndex = settlement.getExpansionIndex(world);
+
+        for (Terrain terrain : EXPANDABLE_TERRAINS) {
+            int villagers = 0;
+            int score = 0;
+            for (Hex hex : expansionIndex.getHexes(terrain)) {
+                villagers += hex.getHeight() + 1;
+                score += (hex.getHeight() + 1) * (hex.getHeight() + 1);
+            }
+
+            Assert.assertEquals(villagers, expansionIndex.getVillagersRequired(terrain));
+            Assert.assertEquals(score, expansionIndex.getScore(terrain));
+        }
+    }
+
+    @Test
+    public void testIndexIsRebuiltAfterExpanding() throws Exception {
+        ExpansionIndex expansionIndex = settlement.getExpansionIndex(world);
+        Assert.assertTrue(expansionIndex.getVillagersRequired(Terrain.JUNGLE) > 0);
+
+        settlementManager.expandSettlement(settlement, Terrain.JUNGLE);
+
+        Assert.assertNotSame(expansionIndex, settlement.getExpansionIndex(world));
+        Assert.assertEquals(0, settlement.getExpansionIndex(world).getVillagersRequired(Terrain.JUNGLE));
+    }
+
+    @Test
+    public void testUndoBringsTheRegionBack() throws Exception {
+        int villagersBefore = settlement.getExpansionIndex(world).getVillagersRequired(Terrain.JUNGLE);
+
+        int mark = world.undoJournal.mark();
+        settlementManager.expandSettlement(settlement, Terrain.JUNGLE);
+        world.undoJournal.undoTo(mark);
+
+        Assert.assertEquals(villagersBefore, settlement.getExpansionIndex(world).getVillagersRequired(Terrain.JUNGLE));
+    }
+
+    @Test
+    public void testIndexMatchesASearchOfTheHexesAsTheBoardGrows() throws Exception {
+        Random random = new Random(5);
+
+        for (int turn = 0; turn < 20; turn++) {
+            ArrayList<TilePlacement> placements = world.getLegalTilePlacements();
+            TilePlacement placement = placements.get(random.nextInt(placements.size()));
+            Terrain left = EXPANDABLE_TERRAINS[random.nextInt(EXPANDABLE_TERRAINS.length)];
+            Terrain right = EXPANDABLE_TERRAINS[random.nextInt(EXPANDABLE_TERRAINS.length)];
+            world.insertTileIntoTileManager(new Tile(left, right), placement.getLocationOfVolcano(), placement.getTileOrientation());
+
+            for (Settlement existingSettlement : settlementManager.settlements) {
+                for (Terrain terrain : EXPANDABLE_TERRAINS) {
+                    Assert.assertEquals(searchHexesToExpandTo(existingSettlement, terrain),
+                            new HashSet<>(existingSettlement.getExpansionIndex(world).getHexes(terrain)));
+                }
+            }
+        }
+    }
+
+    private HashSet<Hex> searchHexesToExpandTo(Settlement existingSettlement, Terrain terrain) {
+        HashSet<Hex> reached = new HashSet<>();
+        LinkedList<Hex> queue = new LinkedList<>(existingSettlement.getHexesFromSettlement());
+
+        while (!queue.isEmpty()) {
+            Hex hex = queue.poll();
+            for (int orientation = 0; orientation < CoordinateSystemHelper.NUMBER_OF_ADJACENT_HEXES; orientation++) {
+                Hex adjacentHex = world.findHexRegardlessOfHeight(CoordinateSystemHelper.getAdjacentPackedLocation(hex.getPackedLocation(), orientation));
+                if (adjacentHex != null && adjacentHex.getTerrain() == terrain && adjacentHex.getSettlement() == null && reached.add(adjacentHex)) {
+                    queue.add(adjacentHex);
+                }
+            }
+        }
+
+        return reached;
+    }
+}
@@ -456,6 +456,68 @@ public class SettlementManagerTest {
         Assert.assertEquals(newSettlement3, newSettlement4);
     }
 
+    @Test
+    public void testMergingFoundingSettlementsLeavesOneSettlement() throws
+            IllegalTilePlacementException,
+            BuildConditionsNotMetException
+    {
+        Tile expansionTile1 = new Tile(Terrain.JUNGLE, Terrain.GRASSLANDS);
+        Tile expansionTile2 = new Tile(Terrain.JUNGLE, Terrain.GRASSLANDS);
+        Tile expansionTile3 = new Tile(Terrain.JUNGLE, Terrain.GRASSLANDS);
+        Tile expansionTile4 = new Tile(Terrain.JUNGLE, Terrain.GRASSLANDS);
+
+        this.world.insertTileIntoTileManager(expansionTile1, new Location(-2, 0, 0), TileOrientation.EAST_NORTHEAST);
+        this.world.insertTileIntoTileManager(expansionTile2, new Location(2, 3, 0), TileOrientation.SOUTHWEST_SOUTHEAST);
+        this.world.insertTileIntoTileManager(expansionTile3, new Location(0, 3, 0), TileOrientation.SOUTHEAST_EAST);
+        this.world.insertTileIntoTileManager(expansionTile4, new Location(-2, 1, 0), TileOrientation.NORTHEAST_NORTHWEST);
+
+        this.settlementManager.foundSettlement(expansionTile2.getLeftHexRelativeToVolcano());
+        this.settlementManager.foundSettlement(expansionTile3.getLeftHexRelativeToVolcano());
+        Settlement mergedSettlement = this.settlementManager.foundSettlement(expansionTile4.getLeftHexRelativeToVolcano());
+
+        Assert.assertEquals(1, this.settlementManager.settlements.size());
+        Assert.assertEquals(3, mergedSettlement.getSettlementSize());
+        Assert.assertEquals(3, this.settlementManager.sizeOfLargestContainedSettlement());
+        Assert.assertSame(mergedSettlement, this.settlementManager.getLargestContainedSettlement());
+        Assert.assertTrue(mergedSettlement.containsHex(expansionTile2.getLeftHexRelativeToVolcano()));
+    }
+
+    @Test
+    public void testLargestContainedSettlementAfterSettlementShrinks() throws Exception {
+        Tile tile1 = new Tile(Terrain.JUNGLE, Terrain.GRASSLANDS);
+        Tile tile2 = new Tile(Terrain.JUNGLE, Terrain.GRASSLANDS);
+
+        this.world.insertTileIntoTileManager(tile1, new Location(-2, 0, 0), TileOrientation.EAST_NORTHEAST);
+        this.world.insertTileIntoTileManager(tile2, new Location(2, 3, 0), TileOrientation.SOUTHWEST_SOUTHEAST);
+
+        Settlement largerSettlement = this.settlementManager.foundSettlement(tile1.getLeftHexRelativeToVolcano());
+        largerSettlement.addHexToSettlement(tile1.getRightHexRelativeToVolcano());
+        Settlement smallerSettlement = this.settlementManager.foundSettlement(tile2.getLeftHexRelativeToVolcano());
+
+        Assert.assertSame(largerSettlement, this.settlementManager.getLargestContainedSettlement());
+
+        largerSettlement.removeHexFromSettlement(tile1.getRightHexRelativeToVolcano());
+        smallerSettlement.addHexToSettlement(tile2.getRightHexRelativeToVolcano());
+
+        Assert.assertSame(smallerSettlement, this.settlementManager.getLargestContainedSettlement());
+        Assert.assertEquals(2, this.settlementManager.sizeOfLargestContainedSettlement());
+    }
+
+    @Test
+    public void testSettlementsOfDifferentPlayersDoNotMerge() throws Exception {
+        SettlementManager opponentSettlementManager = new SettlementManager(this.world);
+        Tile tile = new Tile(Terrain.JUNGLE, Terrain.GRASSLANDS);
+
+        this.world.insertTileIntoTileManager(tile, new Location(-2, 0, 0), TileOrientation.EAST_NORTHEAST);
+
+        Settlement settlement = this.settlementManager.foundSettlement(tile.getLeftHexRelativeToVolcano());
+        Settlement opponentSettlement = opponentSettlementManager.foundSettlement(tile.getRightHexRelativeToVolcano());
+
+        Assert.assertNotSame(settlement, opponentSettlement);
+        Assert.assertEquals(1, settlement.getSettlementSize());
+        Assert.assertEquals(1, opponentSettlement.getSettlementSize());
+    }
+
     @Test
     public void ableToBuildTotoroOnPaddyTerrain() throws Exception {
         Tile paddyTile = new Tile(Terrain.PADDY, Terrain.ROCKY);
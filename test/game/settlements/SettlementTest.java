@@ -256,6 +256,25 @@ public class SettlementTest {
         }
     }
 
+    @Test
+    public void testGetPotentialSettlementHexesGivesTheSameHexesEveryCall() throws Exception {
+        World world = new World();
+        Tile expansionTile1 = new Tile(Terrain.JUNGLE, Terrain.GRASSLANDS);
+        Tile expansionTile2 = new Tile(Terrain.JUNGLE, Terrain.GRASSLANDS);
+        Tile expansionTile3 = new Tile(Terrain.JUNGLE, Terrain.GRASSLANDS);
+        world.insertTileIntoTileManager(expansionTile1, new Location(-2, 0, 0), TileOrientation.EAST_NORTHEAST);
+        Hex foundingHex = expansionTile1.getLeftHexRelativeToVolcano();
+        Settlement newSettlement = new Settlement(foundingHex);
+        world.insertTileIntoTileManager(expansionTile2, new Location(2, 3, 0), TileOrientation.SOUTHWEST_SOUTHEAST);
+        world.insertTileIntoTileManager(expansionTile3, new Location(0, 3, 0), TileOrientation.SOUTHEAST_EAST);
+
+        ArrayList<Hex> firstCall = newSettlement.getPotentialSettlementHexes(foundingHex, world, foundingHex.getTerrain());
+        ArrayList<Hex> secondCall = newSettlement.getPotentialSettlementHexes(foundingHex, world, foundingHex.getTerrain());
+
+        Assert.assertEquals(1, firstCall.size());
+        Assert.assertEquals(firstCall, secondCall);
+    }
+
     @Test
     public void testGetHexesToExpandTo() throws
             IllegalTilePlacementException,
@@ -311,4 +330,16 @@ public class SettlementTest {
         Settlement newSettlement = new Settlement(foundingHex);
         newSettlement.getHexesToExpandTo(this.world, foundingHex.getTerrain());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testUnionKeepsLargerSettlementAsRepresentative() throws Exception {
+        this.settlement1.addHexToSettlement(this.hex5);
+
+        Settlement mergedSettlement = Settlement.union(this.settlement2, this.settlement1);
+
+        Assert.assertSame(this.settlement1, mergedSettlement);
+        Assert.assertSame(this.settlement1, this.settlement2.getRepresentative());
+        Assert.assertEquals(3, this.settlement2.getSettlementSize());
+        Assert.assertTrue(this.settlement1.containsHex(this.hex2));
+    }
+}
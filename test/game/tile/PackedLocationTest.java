@@ -0,0 +1,43 @@
+package game.tile;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PackedLocationTest {
+
+    @Test
+    public void testPackAndUnpackRoundTrip() {
+        int[] coordinates = {0, 1, -1, 100, -100, Integer.MAX_VALUE, Integer.MIN_VALUE};
+
+        for (int x : coordinates) {
+            for (int y : coordinates) {
+                long packedLocation = PackedLocation.pack(x, y);
+
+                Assert.assertEquals(x, PackedLocation.getxCoordinate(packedLocation));
+                Assert.assertEquals(y, PackedLocation.getyCoordinate(packedLocation));
+            }
+        }
+    }
+
+    @Test
+    public void testDifferentCoordinatesPackDifferently() {
+        Assert.assertNotEquals(PackedLocation.pack(1,-1), PackedLocation.pack(-1,1));
+        Assert.assertNotEquals(PackedLocation.pack(0,-1), PackedLocation.pack(-1,0));
+    }
+
+    @Test
+    public void testOffsetAcrossZero() {
+        long packedLocation = PackedLocation.pack(0,0);
+
+        Assert.assertEquals(PackedLocation.pack(-1,-1), PackedLocation.offset(packedLocation, -1, -1));
+        Assert.assertEquals(PackedLocation.pack(1,1), PackedLocation.offset(PackedLocation.pack(0,0), 1, 1));
+    }
+
+    @Test
+    public void testLocationViewMatchesPackedLocation() {
+        Location location = new Location(-7, 12, 3);
+
+        Assert.assertEquals(PackedLocation.pack(-7, 12), location.getPackedLocation());
+        Assert.assertEquals(location, PackedLocation.toLocation(location.getPackedLocation(), 3));
+    }
+}
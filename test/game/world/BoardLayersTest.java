@@ -0,0 +1,137 @@
+package game.world;
+
+import game.player.Player;
+import game.settlements.Settlement;
+import game.tile.Hex;
+import game.tile.Location;
+import game.tile.Terrain;
+import game.tile.Tile;
+import game.tile.orientation.TileOrientation;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+public class BoardLayersTest {
+    private World world;
+    private BoardLayers boardLayers;
+
+    @Before
+    public void setup() {
+        world = new World();
+        boardLayers = world.tileManager.getBoardLayers();
+    }
+
+    @Test
+    public void testFirstTileFillsFiveCellsOfOneTile() {
+        Assert.assertEquals(5, boardLayers.getNumberOfCells());
+
+        int volcanoCell = boardLayers.findCell(0, 0);
+        Assert.assertEquals(Terrain.VOLCANO, boardLayers.getTerrain(volcanoCell));
+        Assert.assertEquals(0, boardLayers.getHeight(volcanoCell));
+        Assert.assertEquals(boardLayers.getTileId(volcanoCell), boardLayers.getTileId(boardLayers.findCell(-1, -1)));
+        Assert.assertEquals(BoardLayers.NO_CELL, boardLayers.findCell(5, 5));
+        Assert.assertEquals(BoardLayers.NO_HEX, boardLayers.getHeight(boardLayers.findCell(5, 5)));
+    }
+
+    @Test
+    public void testLayersMatchTopHexesAsBoardGrows() throws Exception {
+        Random random = new Random(11);
+
+        for (int turn = 0; turn < 25; turn++) {
+            ArrayList<TilePlacement> placements = world.getLegalTilePlacements();
+            TilePlacement placement = placements.get(random.nextInt(placements.size()));
+            world.insertTileIntoTileManager(new Tile(Terrain.LAKE, Terrain.ROCKY), placement.getLocationOfVolcano(), placement.getTileOrientation());
+
+            assertLayersMatchTopHexes();
+        }
+    }
+
+    @Test
+    public void testUndoRestoresCoveredCells() throws Exception {
+        world.insertTileIntoTileManager(new Tile(Terrain.LAKE, Terrain.ROCKY), new Location(1,-1,0), TileOrientation.SOUTHWEST_SOUTHEAST);
+
+        TilePlacement stackedPlacement = null;
+        for (TilePlacement placement : world.getLegalTilePlacements()) {
+            if (placement.getLocationOfVolcano().getHeight() == 1) {
+                stackedPlacement = placement;
+            }
+        }
+
+        Location stackedVolcano = stackedPlacement.getLocationOfVolcano();
+        int volcanoCell = boardLayers.findCell(stackedVolcano.getPackedLocation());
+        int tileIdBefore = boardLayers.getTileId(volcanoCell);
+
+        int mark = world.undoJournal.mark();
+        world.insertTileIntoTileManager(new Tile(Terrain.JUNGLE, Terrain.GRASSLANDS), stackedVolcano, stackedPlacement.getTileOrientation());
+        Assert.assertEquals(1, boardLayers.getHeight(volcanoCell));
+        Assert.assertNotEquals(tileIdBefore, boardLayers.getTileId(volcanoCell));
+
+        world.undoJournal.undoTo(mark);
+        Assert.assertEquals(0, boardLayers.getHeight(volcanoCell));
+        Assert.assertEquals(tileIdBefore, boardLayers.getTileId(volcanoCell));
+        assertLayersMatchTopHexes();
+    }
+
+    @Test
+    public void testFoundingRecordsVillagerAndOwner() throws Exception {
+        Player player = new Player(world);
+        Player opponent = new Player(world);
+        Hex jungle = world.getHexByCoordinate(0,1,0);
+        Hex lake = world.getHexByCoordinate(1,1,0);
+
+        player.settlementManager.foundSettlement(jungle);
+        opponent.settlementManager.foundSettlement(lake);
+
+        Assert.assertEquals(BoardLayers.VILLAGER, boardLayers.getOccupant(jungle.getCell()));
+        Assert.assertEquals(player.settlementManager.getOwnerId(), boardLayers.getOwner(jungle.getCell()));
+        Assert.assertEquals(opponent.settlementManager.getOwnerId(), boardLayers.getOwner(lake.getCell()));
+        Assert.assertNotEquals(player.settlementManager.getOwnerId(), opponent.settlementManager.getOwnerId());
+    }
+
+    @Test
+    public void testUndoingAFoundingEmptiesTheCell() throws Exception {
+        Player player = new Player(world);
+        Hex jungle = world.getHexByCoordinate(0,1,0);
+
+        int mark = world.undoJournal.mark();
+        player.settlementManager.foundSettlement(jungle);
+        world.undoJournal.undoTo(mark);
+
+        Assert.assertEquals(BoardLayers.EMPTY, boardLayers.getOccupant(jungle.getCell()));
+        Assert.assertEquals(BoardLayers.NO_OWNER, boardLayers.getOwner(jungle.getCell()));
+        Assert.assertTrue(boardLayers.isEmptyHabitable(jungle.getCell()));
+    }
+
+    @Test
+    public void testTotoroIsRecordedOnItsCell() throws Exception {
+        Tile expansionTile1 = new Tile(Terrain.JUNGLE, Terrain.GRASSLANDS);
+        Tile expansionTile2 = new Tile(Terrain.JUNGLE, Terrain.GRASSLANDS);
+        world.insertTileIntoTileManager(expansionTile1, new Location(-2,0,0), TileOrientation.EAST_NORTHEAST);
+        world.insertTileIntoTileManager(expansionTile2, new Location(2,3,0), TileOrientation.SOUTHWEST_SOUTHEAST);
+
+        Player player = new Player(world);
+        Settlement settlement = player.settlementManager.foundSettlement(expansionTile1.getRightHexRelativeToVolcano());
+        player.settlementManager.expandSettlement(settlement, Terrain.JUNGLE);
+        player.settlementManager.expandSettlement(settlement, Terrain.GRASSLANDS);
+
+        Hex sanctuaryHex = world.getHexByCoordinate(1,1,0);
+        player.settlementManager.buildTotoroSanctuary(sanctuaryHex);
+
+        Assert.assertEquals(BoardLayers.TOTORO, boardLayers.getOccupant(sanctuaryHex.getCell()));
+        Assert.assertEquals(player.settlementManager.getOwnerId(), boardLayers.getOwner(sanctuaryHex.getCell()));
+    }
+
+    private void assertLayersMatchTopHexes() {
+        for (Hex hex : world.getAllHexesInWorld()) {
+            Hex topHex = world.findHexRegardlessOfHeight(hex.getPackedLocation());
+            int cell = boardLayers.findCell(hex.getPackedLocation());
+
+            Assert.assertSame(topHex, boardLayers.getTopHex(cell));
+            Assert.assertEquals(topHex.getHeight(), boardLayers.getHeight(cell));
+            Assert.assertEquals(topHex.getTerrain(), boardLayers.getTerrain(cell));
+        }
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import game.tile.Location;
+import game.tile.PackedLocation;
 import game.tile.orientation.HexOrientation;
 import game.tile.orientation.TileOrientation;
 
@@ -234,4 +235,16 @@ public class CoordinateSystemHelperTest {
         CoordinateSystemHelper coordinateSystemHelper = new CoordinateSystemHelper();
     }
 
+    @Test
+    public void testPackedAdjacentLocationsMatchBoxedAdjacentLocations() {
+        Location[] adjacentLocations = CoordinateSystemHelper.getHexLocationsAdjacentToCenter(arbitraryLocation);
+        long packedCenter = arbitraryLocation.getPackedLocation();
+
+        for (int orientation = 0; orientation < CoordinateSystemHelper.NUMBER_OF_ADJACENT_HEXES; orientation++) {
+            long packedAdjacent = CoordinateSystemHelper.getAdjacentPackedLocation(packedCenter, orientation);
+
+            Assert.assertEquals(adjacentLocations[orientation], PackedLocation.toLocation(packedAdjacent, arbitraryLocation.getHeight()));
+        }
+    }
+
 }
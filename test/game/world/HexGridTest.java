@@ -0,0 +1,99 @@
+package game.world;
+
+import game.tile.Hex;
+import game.tile.PackedLocation;
+import game.tile.Terrain;
+import game.tile.Tile;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HexGridTest {
+    private HexGrid hexGrid;
+    private Tile tile;
+
+    @Before
+    public void setup() {
+        hexGrid = new HexGrid();
+        tile = new Tile(Terrain.GRASSLANDS, Terrain.LAKE);
+    }
+
+    @Test
+    public void testEmptyGridHasNoHexes() {
+        Assert.assertNull(hexGrid.get(0,0));
+        Assert.assertFalse(hexGrid.contains(0,0));
+        Assert.assertEquals(0, hexGrid.size());
+    }
+
+    @Test
+    public void testPutThenGet() {
+        Hex hex = tile.getVolcanoHex();
+        hexGrid.put(3,-4, hex);
+
+        Assert.assertEquals(hex, hexGrid.get(3,-4));
+        Assert.assertNull(hexGrid.get(-4,3));
+        Assert.assertEquals(1, hexGrid.size());
+    }
+
+    @Test
+    public void testPutOnSameCoordinatesReplacesHex() {
+        hexGrid.put(1,1, tile.getVolcanoHex());
+        hexGrid.put(1,1, tile.getLeftHexRelativeToVolcano());
+
+        Assert.assertEquals(tile.getLeftHexRelativeToVolcano(), hexGrid.get(1,1));
+        Assert.assertEquals(1, hexGrid.size());
+    }
+
+    @Test
+    public void testNegativeAndExtremeCoordinates() {
+        hexGrid.put(Integer.MIN_VALUE, Integer.MAX_VALUE, tile.getVolcanoHex());
+        hexGrid.put(-1,-1, tile.getLeftHexRelativeToVolcano());
+
+        Assert.assertEquals(tile.getVolcanoHex(), hexGrid.get(Integer.MIN_VALUE, Integer.MAX_VALUE));
+        Assert.assertEquals(tile.getLeftHexRelativeToVolcano(), hexGrid.get(-1,-1));
+        Assert.assertNull(hexGrid.get(Integer.MAX_VALUE, Integer.MIN_VALUE));
+    }
+
+    @Test
+    public void testGridGrowsAndKeepsAllHexes() {
+        int initialCapacity = hexGrid.capacity();
+        Hex[][] inserted = new Hex[60][60];
+
+        for (int x = 0; x < 60; x++) {
+            for (int y = 0; y < 60; y++) {
+                inserted[x][y] = new Hex(tile, Terrain.JUNGLE);
+                hexGrid.put(x - 30, y - 30, inserted[x][y]);
+            }
+        }
+
+        Assert.assertTrue(hexGrid.capacity() > initialCapacity);
+        Assert.assertEquals(3600, hexGrid.size());
+
+        for (int x = 0; x < 60; x++) {
+            for (int y = 0; y < 60; y++) {
+                Assert.assertEquals(inserted[x][y], hexGrid.get(x - 30, y - 30));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPuttingNullHexThrowsException() {
+        hexGrid.put(0,0, null);
+    }
+
+    @Test
+    public void testRemoveKeepsOtherHexesReachable() {
+        for (int x = 0; x < 40; x++) {
+            hexGrid.put(x, -x, new Tile(Terrain.GRASSLANDS, Terrain.LAKE).getVolcanoHex());
+        }
+
+        for (int x = 0; x < 40; x += 2) {
+            hexGrid.remove(PackedLocation.pack(x, -x));
+        }
+
+        Assert.assertEquals(20, hexGrid.size());
+        for (int x = 0; x < 40; x++) {
+            Assert.assertEquals(x % 2 == 1, hexGrid.contains(x, -x));
+        }
+    }
+}
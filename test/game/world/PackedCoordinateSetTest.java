@@ -0,0 +1,56 @@
+package game.world;
+
+import game.tile.PackedLocation;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+
+public class PackedCoordinateSetTest {
+    private PackedCoordinateSet set;
+
+    @Before
+    public void setup() {
+        set = new PackedCoordinateSet();
+    }
+
+    @Test
+    public void testAddContainsRemove() {
+        Assert.assertTrue(set.add(1,-2));
+        Assert.assertFalse(set.add(1,-2));
+        Assert.assertTrue(set.contains(1,-2));
+        Assert.assertFalse(set.contains(-2,1));
+
+        Assert.assertTrue(set.remove(1,-2));
+        Assert.assertFalse(set.remove(1,-2));
+        Assert.assertFalse(set.contains(1,-2));
+        Assert.assertEquals(0, set.size());
+    }
+
+    @Test
+    public void testMatchesHashSetUnderRandomAddsAndRemoves() {
+        Random random = new Random(11);
+        HashSet<Long> expected = new HashSet<>();
+
+        for (int i = 0; i < 20000; i++) {
+            int x = random.nextInt(40) - 20;
+            int y = random.nextInt(40) - 20;
+            long key = PackedLocation.pack(x, y);
+
+            if (random.nextBoolean()) {
+                Assert.assertEquals(expected.add(key), set.add(x, y));
+            }
+            else {
+                Assert.assertEquals(expected.remove(key), set.remove(x, y));
+            }
+        }
+
+        Assert.assertEquals(expected.size(), set.size());
+
+        HashSet<Long> actual = new HashSet<>();
+        set.forEach(actual::add);
+        Assert.assertEquals(expected, actual);
+    }
+}
@@ -0,0 +1,116 @@
+package game.world;
+
+import game.tile.Hex;
+import game.tile.Location;
+import game.tile.Terrain;
+import game.tile.Tile;
+import game.tile.orientation.TileOrientation;
+import game.world.rules.exceptions.IllegalTilePlacementException;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Random;
+
+public class PlacementGeneratorTest {
+    private World world;
+
+    @Before
+    public void setup() {
+        world = new World();
+    }
+
+    @Test
+    public void testFrontierOfFirstTile() {
+        PlacementGenerator placementGenerator = world.tileManager.getPlacementGenerator();
+
+        Assert.assertEquals(12, placementGenerator.getFrontierSize());
+        Assert.assertEquals(1, placementGenerator.getNumberOfExposedVolcanoes());
+    }
+
+    @Test
+    public void testLegalPlacementsAroundFirstTileMatchBruteForce() {
+        Assert.assertEquals(bruteForceLegalPlacements(), new HashSet<>(world.getLegalTilePlacements()));
+    }
+
+    @Test
+    public void testNoPlacementIsReportedTwice() {
+        ArrayList<TilePlacement> placements = world.getLegalTilePlacements();
+
+        Assert.assertEquals(placements.size(), new HashSet<>(placements).size());
+    }
+
+    @Test
+    public void testStackingOnFirstTileIsNotLegalUntilAnotherTileIsAdjacent() throws IllegalTilePlacementException {
+        for (TilePlacement placement : world.getLegalTilePlacements()) {
+            Assert.assertEquals(0, placement.getLocationOfVolcano().getHeight());
+        }
+
+        world.insertTileIntoTileManager(new Tile(Terrain.LAKE, Terrain.ROCKY), new Location(1,-1,0), TileOrientation.SOUTHWEST_SOUTHEAST);
+
+        boolean foundStackedPlacement = false;
+        for (TilePlacement placement : world.getLegalTilePlacements()) {
+            if (placement.getLocationOfVolcano().getHeight() == 1) {
+                foundStackedPlacement = true;
+            }
+        }
+
+        Assert.assertTrue(foundStackedPlacement);
+    }
+
+    @Test
+    public void testLegalPlacementsMatchBruteForceAsBoardGrows() throws IllegalTilePlacementException {
+        Random random = new Random(7);
+
+        for (int turn = 0; turn < 25; turn++) {
+            ArrayList<TilePlacement> placements = world.getLegalTilePlacements();
+            Assert.assertEquals(bruteForceLegalPlacements(), new HashSet<>(placements));
+
+            TilePlacement placement = placements.get(random.nextInt(placements.size()));
+            world.insertTileIntoTileManager(new Tile(Terrain.JUNGLE, Terrain.GRASSLANDS), placement.getLocationOfVolcano(), placement.getTileOrientation());
+        }
+    }
+
+    private HashSet<TilePlacement> bruteForceLegalPlacements() {
+        int minX = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, minY = Integer.MAX_VALUE, maxY = Integer.MIN_VALUE;
+        for (Hex hex : world.getAllHexesInWorld()) {
+            minX = Math.min(minX, hex.getLocation().getxCoordinate());
+            maxX = Math.max(maxX, hex.getLocation().getxCoordinate());
+            minY = Math.min(minY, hex.getLocation().getyCoordinate());
+            maxY = Math.max(maxY, hex.getLocation().getyCoordinate());
+        }
+
+        HashSet<TilePlacement> legalPlacements = new HashSet<>();
+        Tile tile = new Tile(Terrain.JUNGLE, Terrain.GRASSLANDS);
+
+        for (int x = minX - 3; x <= maxX + 3; x++) {
+            for (int y = minY - 3; y <= maxY + 3; y++) {
+                int height = world.tileManager.findHexRegardlessOfHeight(x, y) == null ? 0 : world.tileManager.findHexRegardlessOfHeight(x, y).getHeight() + 1;
+
+                for (TileOrientation tileOrientation : TileOrientation.values()) {
+                    Location locationOfVolcano = new Location(x, y, height);
+
+                    if (height == 0 && !tileCoversOnlyEmptyCells(locationOfVolcano, tileOrientation)) {
+                        continue;
+                    }
+
+                    if (world.ableToInsertTileIntoTileManager(tile, locationOfVolcano, tileOrientation)) {
+                        legalPlacements.add(new TilePlacement(locationOfVolcano, tileOrientation));
+                    }
+                }
+            }
+        }
+
+        return legalPlacements;
+    }
+
+    private boolean tileCoversOnlyEmptyCells(Location locationOfVolcano, TileOrientation tileOrientation) {
+        Location left = CoordinateSystemHelper.getTentativeLeftHexLocation(locationOfVolcano, tileOrientation);
+        Location right = CoordinateSystemHelper.getTentativeRightHexLocation(locationOfVolcano, tileOrientation);
+
+        return world.tileManager.findHexRegardlessOfHeight(left.getxCoordinate(), left.getyCoordinate()) == null
+                && world.tileManager.findHexRegardlessOfHeight(right.getxCoordinate(), right.getyCoordinate()) == null;
+    }
+}
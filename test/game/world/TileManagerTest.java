@@ -175,4 +175,14 @@ public class TileManagerTest {
         tileManager.getHexByCoordinate(2,0,2);
     }
 
+    @Test
+    public void testPlacementOfTileFarBeyondTheOriginalBoardEdge() throws NoHexAtLocationException {
+        Location[] locationsFarFromOrigin = new Location[] {new Location(500,-350,0), new Location(499,-351,0), new Location(500,-351,0)};
+
+        tileManager.insertTileIntoCoordinateSystemAndAddHexesToList(tileZero, locationsFarFromOrigin);
+
+        Assert.assertEquals(tileZero.getVolcanoHex(), tileManager.getHexByCoordinate(500,-350,0));
+        Assert.assertEquals(tileZero.getRightHexRelativeToVolcano(), tileManager.getHexRegardlessOfHeight(500,-351));
+    }
+
 }
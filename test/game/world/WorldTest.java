@@ -1,5 +1,7 @@
 package game.world;
 
+import game.settlements.Settlement;
+import game.settlements.SettlementManager;
 import game.tile.*;
 import game.world.rules.exceptions.*;
 import org.junit.Assert;
@@ -300,4 +302,70 @@ public class WorldTest {
 
 
 
-}
\ No newline at end of file
+
+    @Test
+    public void testNukingMiddleOfSettlementSplitsIt() throws Exception {
+        setupBaseForHigherTiles();
+        SettlementManager settlementManager = new SettlementManager(world);
+
+        Hex westHex = world.getHexByCoordinate(0,1,0);
+        Hex nukedHex = world.getHexByCoordinate(1,1,0);
+        Hex eastHex = world.getHexByCoordinate(2,1,0);
+
+        settlementManager.foundSettlement(westHex);
+        settlementManager.foundSettlement(nukedHex);
+        Settlement settlement = settlementManager.foundSettlement(eastHex);
+        settlement.setShamanLocation(westHex.getLocation());
+        settlement.setHasShaman(true);
+        settlement.setTigerLocation(eastHex.getLocation());
+        settlement.setHasTigerPlayground();
+
+        Assert.assertEquals(3, settlement.getSettlementSize());
+
+        world.insertTileIntoTileManager(tileThree, new Location(0,0,1), TileOrientation.EAST_NORTHEAST);
+
+        Assert.assertNull(nukedHex.getSettlement());
+        Assert.assertEquals(2, settlementManager.settlements.size());
+        Assert.assertNotSame(westHex.getSettlement(), eastHex.getSettlement());
+        Assert.assertEquals(1, westHex.getSettlement().getSettlementSize());
+        Assert.assertEquals(1, eastHex.getSettlement().getSettlementSize());
+
+        Assert.assertTrue(westHex.getSettlement().getHasShaman());
+        Assert.assertFalse(westHex.getSettlement().hasTigerPlayground());
+        Assert.assertTrue(eastHex.getSettlement().hasTigerPlayground());
+        Assert.assertFalse(eastHex.getSettlement().getHasShaman());
+        Assert.assertEquals(1, settlementManager.sizeOfLargestContainedSettlement());
+    }
+
+    @Test
+    public void testNukingEndOfSettlementShrinksIt() throws Exception {
+        setupBaseForHigherTiles();
+        SettlementManager settlementManager = new SettlementManager(world);
+
+        Hex westHex = world.getHexByCoordinate(0,1,0);
+        Hex nukedHex = world.getHexByCoordinate(1,1,0);
+
+        settlementManager.foundSettlement(westHex);
+        Settlement settlement = settlementManager.foundSettlement(nukedHex);
+        settlement.setShamanLocation(nukedHex.getLocation());
+        settlement.setHasShaman(true);
+
+        world.insertTileIntoTileManager(tileThree, new Location(0,0,1), TileOrientation.EAST_NORTHEAST);
+
+        Assert.assertEquals(1, settlementManager.settlements.size());
+        Assert.assertSame(settlement.getRepresentative(), westHex.getSettlement());
+        Assert.assertEquals(1, settlement.getSettlementSize());
+        Assert.assertFalse(settlement.getHasShaman());
+        Assert.assertNull(settlement.getShamanLocation());
+    }
+
+    @Test (expected = SettlementWouldBeDestroyedException.class)
+    public void testCannotNukeEntireSettlement() throws Exception {
+        setupBaseForHigherTiles();
+        SettlementManager settlementManager = new SettlementManager(world);
+
+        settlementManager.foundSettlement(world.getHexByCoordinate(1,1,0));
+
+        world.insertTileIntoTileManager(tileThree, new Location(0,0,1), TileOrientation.EAST_NORTHEAST);
+    }
+}
@@ -8,6 +8,7 @@ import org.junit.Test;
 import game.tile.Location;
 import game.tile.Terrain;
 import game.tile.Tile;
+import game.tile.orientation.TileOrientation;
 
 public class TileRulesManagerTest {
     private TileManager tileManager;
@@ -202,4 +203,35 @@ public class TileRulesManagerTest {
 
     }
 
+    @Test
+    public void testCheckTilePlacementReportsFirstTileNotPlaced() {
+        Assert.assertEquals(TilePlacementResult.FIRST_TILE_NOT_PLACED, tileRulesManager.checkTilePlacement(locationsAdjacentToSpecialFirstTile));
+    }
+
+    @Test
+    public void testCheckTilePlacementReportsLegalPlacementOnLowestLevel() {
+        tileManager.placeFirstTile();
+
+        Assert.assertEquals(TilePlacementResult.LEGAL, tileRulesManager.checkTilePlacement(locationsAdjacentToSpecialFirstTile));
+        Assert.assertEquals(TilePlacementResult.LEGAL, tileRulesManager.checkTilePlacement(1,0,0, TileOrientation.SOUTHEAST_EAST));
+    }
+
+    @Test
+    public void testCheckTilePlacementReportsReasonForIllegalPlacementOnLowestLevel() {
+        tileManager.placeFirstTile();
+
+        Assert.assertEquals(TilePlacementResult.HEX_ALREADY_AT_LOCATION, tileRulesManager.checkTilePlacement(locationsOverlappingSpecialFirstTile));
+        Assert.assertEquals(TilePlacementResult.TILE_NOT_ADJACENT_TO_ANOTHER, tileRulesManager.checkTilePlacement(locationsNotAdjacentToSpecialFirtTile));
+    }
+
+    @Test
+    public void testCheckTilePlacementReportsReasonForIllegalPlacementOnUpperLevel() {
+        alsoSetUpValidLowestLevelLocations();
+
+        Assert.assertEquals(TilePlacementResult.AIR_BELOW_TILE, tileRulesManager.checkTilePlacement(locationsOnAHigherLevelAndHasGapBelow));
+        Assert.assertEquals(TilePlacementResult.TILE_COMPLETELY_OVERLAPS_ANOTHER, tileRulesManager.checkTilePlacement(locationsOnAHigherLevelThatCompletelyOverlapsBottomTile));
+        Assert.assertEquals(TilePlacementResult.TOP_VOLCANO_DOES_NOT_COVER_BOTTOM_VOLCANO, tileRulesManager.checkTilePlacement(locationsOnAHigherLevelWhereVolcanoDoesNotCoverLowerOne));
+        Assert.assertEquals(TilePlacementResult.LEGAL, tileRulesManager.checkTilePlacement(locationsOnAHigherLevelAndAreValid));
+    }
+
 }
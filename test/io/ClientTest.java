@@ -5,8 +5,14 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 public class ClientTest {
     private Client client;
@@ -63,6 +69,32 @@ public class ClientTest {
 
 */
 
+    @Test
+    public void testClientReadsLinesWithoutWaitingForResponses() throws Exception {
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            Client duplexClient = new Client("localhost", serverSocket.getLocalPort(), stringsFromServerQueue, stringsToServerQueue);
+            duplexClient.setDaemon(true);
+            duplexClient.start();
+
+            try (
+                    Socket clientSocket = serverSocket.accept();
+                    PrintWriter out = new PrintWriter(clientSocket.getOutputStream(), true);
+                    BufferedReader in = new BufferedReader(new InputStreamReader(clientSocket.getInputStream()));
+            ) {
+                out.println("BEGIN ROUND 1 OF 2");
+                out.println("NEW MATCH BEGINNING NOW YOUR OPPONENT IS PLAYER 8");
+
+                Assert.assertEquals("BEGIN ROUND 1 OF 2", stringsFromServerQueue.poll(5, TimeUnit.SECONDS));
+                Assert.assertEquals("NEW MATCH BEGINNING NOW YOUR OPPONENT IS PLAYER 8", stringsFromServerQueue.poll(5, TimeUnit.SECONDS));
+
+                stringsToServerQueue.add("GAME A MOVE 1 PLACE LAKE+JUNGLE AT 0 0 0 1 FOUND SETTLEMENT AT 1 -1 0");
+                Assert.assertEquals("GAME A MOVE 1 PLACE LAKE+JUNGLE AT 0 0 0 1 FOUND SETTLEMENT AT 1 -1 0", in.readLine());
+            }
+
+            duplexClient.disconnect();
+        }
+    }
+
     @After
     public void teardown() throws Exception{
         server = null;
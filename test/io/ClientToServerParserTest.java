@@ -91,4 +91,23 @@ public class ClientToServerParserTest {
         Assert.assertEquals("GAME gameOne OVER PLAYER spagett 100 PLAYER playerTwo 95", serverString);
     }
 
+    @Test
+    public void testEncoderReusedAcrossMovesDoesNotLeakPreviousLine() {
+        ServerStringEncoder encoder = new ServerStringEncoder();
+
+        GameActionMessage longMove =
+                new GameActionMessage("longGameId", 12, "spagett", new Tile(Terrain.PADDY, Terrain.ROCKY),
+                        new Location(2,1,0), TileOrientation.NORTHEAST_NORTHWEST, BuildAction.EXPANDED_SETTLEMENT,
+                        new Location(3,4,0), Terrain.PADDY);
+        GameActionMessage shortMove =
+                new GameActionMessage("1", 4, "spag", new Tile(Terrain.GRASSLANDS, Terrain.ROCKY),
+                        new Location(1,2,3), TileOrientation.NORTHWEST_WEST, BuildAction.UNABLE_TO_BUILD,
+                        new Location(0,0,0), null);
+
+        encoder.encode(longMove);
+        String serverString = encoder.encode(shortMove);
+
+        Assert.assertEquals("GAME 1 MOVE 4 PLACE ROCK+GRASS AT 1 1 -2 6 UNABLE TO BUILD", serverString);
+    }
+
 }
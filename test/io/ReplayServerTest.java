@@ -0,0 +1,78 @@
+package io;
+
+import org.junit.Assert;
+import org.junit.Test;
+import thread.Dispatcher;
+
+import java.net.ServerSocket;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+public class ReplayServerTest {
+    private ReplayReport playAgainstClient(ReplaySettings settings) throws Exception {
+        ReplayServer server = new ReplayServer(new ServerSocket(0), settings);
+        server.setDaemon(true);
+        server.start();
+
+        BlockingQueue<String> stringsFromServerQueue = new LinkedBlockingQueue<>();
+        BlockingQueue<String> stringsToServerQueue = new LinkedBlockingQueue<>();
+
+        Client client = new Client("localhost", server.getPort(), stringsFromServerQueue, stringsToServerQueue);
+        client.setDaemon(true);
+        client.start();
+
+        Dispatcher dispatcher = new Dispatcher(stringsFromServerQueue, stringsToServerQueue, client::disconnect);
+        Thread dispatcherThread = new Thread(dispatcher::run);
+        dispatcherThread.setDaemon(true);
+        dispatcherThread.start();
+
+        server.join(60000);
+        Assert.assertFalse(server.isAlive());
+
+        return server.getReport();
+    }
+
+    @Test
+    public void testMadeUpTournamentTimesEveryMoveOfEveryGame() throws Exception {
+        ReplaySettings settings = new ReplaySettings();
+        settings.numberOfMatches = 2;
+        settings.gamesPerMatch = 2;
+        settings.movesPerGame = 3;
+
+        ReplayReport report = playAgainstClient(settings);
+
+        Assert.assertEquals(12, report.getNumberOfDecisions());
+        Assert.assertEquals(0, report.getIllegalMoves());
+        Assert.assertEquals(4, report.getOutcomesReceived());
+        Assert.assertTrue(report.getDecisionLatencyPercentile(50) > 0);
+        Assert.assertTrue(report.getDecisionLatencyPercentile(50) <= report.getDecisionLatencyPercentile(100));
+        Assert.assertTrue(report.getClientTurnaroundTimes().getCount() > 0);
+        Assert.assertTrue(report.toString().contains("client command to reply"));
+        Assert.assertTrue(report.getClientParseTimes().getCount() > 0);
+        Assert.assertTrue(report.getClientEncodeTimes().getCount() > 0);
+        Assert.assertTrue(report.toString().contains("client parse"));
+        Assert.assertTrue(report.toString().contains("client encode"));
+    }
+
+    @Test
+    public void testRecordedLinesAreReplayedAndAnswered() throws Exception {
+        ReplaySettings settings = new ReplaySettings();
+        settings.recordedLines = Arrays.asList(
+                ServerStrings.WELCOME,
+                ServerStrings.TWO_SHALL_ENTER,
+                "WAIT FOR THE TOURNAMENT TO BEGIN 7",
+                "NEW CHALLENGE 1 YOU WILL PLAY 1 MATCHES",
+                "BEGIN ROUND 1 OF 1",
+                "NEW MATCH BEGINNING NOW YOUR OPPONENT: PLAYER 12",
+                "MAKE YOUR MOVE IN GAME A WITHIN 1.5 SECONDS: MOVE 1 PLACE LAKE+JUNGLE",
+                "GAME A OVER SEND OUTCOME",
+                "THANK YOU FOR PLAYING! GOODBYE");
+
+        ReplayReport report = playAgainstClient(settings);
+
+        Assert.assertEquals(1, report.getNumberOfDecisions());
+        Assert.assertEquals(1, report.getOutcomesReceived());
+        Assert.assertEquals(9, report.getLinesSent());
+    }
+}
@@ -388,4 +388,40 @@ public class ServerToClientParserTest {
 
         Assert.assertEquals("69", ((GameOverMessage) messageParsed).getGameId());
     }
+
+    @Test
+    public void testParsesLineHeldInStringBuilder() {
+        StringBuilder line = new StringBuilder("GAME ght MOVE 8 PLAYER yoyo PLACE ROCK+LAKE AT 2 1 -3 2 UNABLE TO BUILD");
+
+        GameActionMessage gameActionMessage = (GameActionMessage) ServerToClientParser.parseServerInputAndComposeMessage(line);
+
+        Assert.assertEquals("ght", gameActionMessage.getGameId());
+        Assert.assertEquals(new Location(2,3,0), gameActionMessage.getLocationOfVolcano());
+    }
+
+    @Test
+    public void testMalformedNumberThrowsNumberFormatException() {
+        String message = "MAKE YOUR MOVE IN GAME 3 WITHIN 1.5 SECONDS: MOVE ten PLACE LAKE+ROCK";
+
+        try {
+            ServerToClientParser.parseServerInputAndComposeMessage(message);
+            Assert.fail();
+        }
+        catch (NumberFormatException e) {
+            Assert.assertTrue(e.getMessage().contains("ten"));
+        }
+    }
+
+    @Test
+    public void testTruncatedLineThrowsIllegalArgumentException() {
+        String message = "GAME 3 MOVE 5 PLAYER spagett PLACED ROCK+LAKE AT 2";
+
+        try {
+            ServerToClientParser.parseServerInputAndComposeMessage(message);
+            Assert.fail();
+        }
+        catch (IllegalArgumentException e) {
+            Assert.assertTrue(e.getMessage().contains(message));
+        }
+    }
 }
@@ -0,0 +1,84 @@
+package logging;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+
+public class AsyncAppenderTest {
+    private ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    @Test
+    public void testEventsAreFormattedByTheWriterInOrder() {
+        AsyncAppender appender = new AsyncAppender(new PrintStream(output), 16);
+
+        appender.append(LogLevel.INFO, "Server: %s", 1, "WELCOME", null, null);
+        appender.append(LogLevel.INFO, "Game %s move %s", 2, "A", 3, null);
+        appender.append(LogLevel.INFO, "100% plain", 0, null, null, null);
+        appender.close();
+
+        Assert.assertEquals(String.format("Server: WELCOME%nGame A move 3%n100%% plain%n"), output.toString());
+    }
+
+    @Test
+    public void testWarningsAndErrorsArePrefixedWithTheirLevel() {
+        AsyncAppender appender = new AsyncAppender(new PrintStream(output), 16);
+
+        appender.append(LogLevel.ERROR, "broken", 0, null, null, null);
+        appender.close();
+
+        Assert.assertEquals(String.format("ERROR broken%n"), output.toString());
+    }
+
+    @Test
+    public void testEventsAreDroppedAndCountedWhenTheRingIsFull() throws InterruptedException {
+        PrintStream blockedOut = new PrintStream(output) {
+            @Override
+            public void println(String line) {
+                synchronized (AsyncAppenderTest.this) {
+                    super.println(line);
+                }
+            }
+        };
+
+        AsyncAppender appender;
+        synchronized (this) {
+            appender = new AsyncAppender(blockedOut, 4);
+            for (int i = 0; i < 20; i++) {
+                appender.append(LogLevel.INFO, "line", 0, null, null, null);
+            }
+        }
+        appender.close();
+
+        Assert.assertTrue(appender.getDroppedEvents() > 0);
+        Assert.assertEquals(20 - appender.getDroppedEvents(), output.toString().split(System.lineSeparator()).length);
+    }
+
+    @Test
+    public void testNothingIsLostBetweenManyProducers() throws InterruptedException {
+        AsyncAppender appender = new AsyncAppender(new PrintStream(output), 1 << 16);
+        int linesPerProducer = 5000;
+
+        ArrayList<Thread> producers = new ArrayList<>();
+        for (int producer = 0; producer < 4; producer++) {
+            String name = "producer" + producer;
+            producers.add(new Thread(() -> {
+                for (int i = 0; i < linesPerProducer; i++) {
+                    appender.append(LogLevel.DEBUG, "%s %s", 2, name, i, null);
+                }
+            }));
+        }
+        for (Thread producer : producers) {
+            producer.start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        appender.close();
+
+        Assert.assertEquals(0, appender.getDroppedEvents());
+        Assert.assertEquals(4 * linesPerProducer, output.toString().split(System.lineSeparator()).length);
+    }
+}
@@ -0,0 +1,60 @@
+package logging;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+public class LogTest {
+    private ByteArrayOutputStream output;
+    private LogLevel previousLevel;
+
+    @Before
+    public void setUp() {
+        output = new ByteArrayOutputStream();
+        previousLevel = Log.getLevel();
+        Log.setAppender(new AsyncAppender(new PrintStream(output)));
+    }
+
+    @After
+    public void tearDown() {
+        Log.setLevel(previousLevel);
+        Log.setAppender(new AsyncAppender(System.out));
+    }
+
+    @Test
+    public void testMessagesBelowTheLevelAreSkipped() {
+        Log.setLevel(LogLevel.INFO);
+
+        Log.debug("Game %s received command", "A");
+        Log.info("Server: %s", "WELCOME");
+        Log.flush();
+
+        Assert.assertEquals(String.format("Server: WELCOME%n"), output.toString());
+    }
+
+    @Test
+    public void testDebugIsWrittenWhenEnabled() {
+        Log.setLevel(LogLevel.DEBUG);
+
+        Log.debug("Game %s received command", "A");
+        Log.flush();
+
+        Assert.assertEquals(String.format("Game A received command%n"), output.toString());
+        Assert.assertTrue(Log.isEnabled(LogLevel.DEBUG));
+        Assert.assertFalse(Log.isEnabled(LogLevel.TRACE));
+    }
+
+    @Test
+    public void testOffSilencesErrors() {
+        Log.setLevel(LogLevel.OFF);
+
+        Log.error("broken");
+        Log.flush();
+
+        Assert.assertEquals("", output.toString());
+    }
+}
@@ -0,0 +1,54 @@
+package metrics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+    @Test
+    public void testEmptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        Assert.assertEquals(0, histogram.getCount());
+        Assert.assertEquals(0, histogram.getMeanNanoseconds());
+        Assert.assertEquals(0, histogram.getPercentileNanoseconds(99));
+    }
+
+    @Test
+    public void testEveryValueFallsInsideItsBucket() {
+        for (long value = 0; value < 100_000; value++) {
+            int bucket = LatencyHistogram.bucketOf(value);
+
+            Assert.assertTrue(value <= LatencyHistogram.upperBoundOf(bucket));
+            Assert.assertTrue(bucket == 0 || value > LatencyHistogram.upperBoundOf(bucket - 1));
+        }
+    }
+
+    @Test
+    public void testPercentilesAreWithinAQuarterOfTheRecordedValue() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        for (long millisecond = 1; millisecond <= 100; millisecond++) {
+            histogram.record(millisecond * 1_000_000);
+        }
+
+        Assert.assertEquals(100, histogram.getCount());
+        Assert.assertEquals(50_500_000, histogram.getMeanNanoseconds());
+        Assert.assertEquals(100_000_000, histogram.getMaximumNanoseconds());
+
+        long median = histogram.getPercentileNanoseconds(50);
+        Assert.assertTrue(median >= 50_000_000 && median <= 50_000_000 * 5 / 4);
+
+        long ninetyNinth = histogram.getPercentileNanoseconds(99);
+        Assert.assertTrue(ninetyNinth >= 99_000_000 && ninetyNinth <= 100_000_000);
+    }
+
+    @Test
+    public void testNegativeDurationsAreRecordedAsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(-5);
+
+        Assert.assertEquals(1, histogram.getCount());
+        Assert.assertEquals(0, histogram.getMaximumNanoseconds());
+    }
+}
@@ -0,0 +1,85 @@
+package metrics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MetricsRegistryTest {
+    @Test
+    public void testTurnaroundIsRecordedOnceTheReplyIsWritten() {
+        MetricsRegistry registry = new MetricsRegistry();
+
+        registry.replyEncoded("GAME A MOVE 1 PLACE", "A", System.nanoTime());
+        Assert.assertEquals(0, registry.getMoveTurnaroundTimes().getCount());
+
+        registry.replyWritten("GAME A MOVE 1 PLACE");
+        registry.replyWritten("GAME A MOVE 1 PLACE");
+
+        Assert.assertEquals(1, registry.getMoveTurnaroundTimes().getCount());
+        Assert.assertEquals(1, registry.getGameMetrics("A").getMoveTurnaroundTimes().getCount());
+    }
+
+    @Test
+    public void testRepliesWithoutACommandAreNotTimed() {
+        MetricsRegistry registry = new MetricsRegistry();
+
+        registry.replyWritten("ENTER THUNDERDOME");
+
+        Assert.assertEquals(0, registry.getMoveTurnaroundTimes().getCount());
+    }
+
+    @Test
+    public void testMovesAreCountedGloballyAndPerGame() {
+        MetricsRegistry registry = new MetricsRegistry();
+
+        registry.moveChosen("A", 2_000_000);
+        registry.moveChosen("A", 4_000_000);
+        registry.moveChosen("B", 1_000_000);
+
+        Assert.assertEquals(3, registry.getMovesMade());
+        Assert.assertEquals(2, registry.getGameMetrics("A").getChooseMoveTimes().getCount());
+        Assert.assertEquals(4.0, registry.getChooseMoveMaximumMilliseconds(), 0.0);
+        Assert.assertEquals(2, registry.getGameSummaries().size());
+    }
+
+    @Test
+    public void testSummaryIncludesCountersAndQueueDepths() {
+        MetricsRegistry registry = new MetricsRegistry();
+
+        registry.ruleChecked();
+        registry.settlementsMerged();
+        registry.registerQueue("gameResponses", () -> 3);
+
+        String summary = registry.getSummary();
+
+        Assert.assertTrue(summary.contains("1 rule checks"));
+        Assert.assertTrue(summary.contains("1 settlement merges"));
+        Assert.assertTrue(summary.contains("gameResponses=3"));
+    }
+
+    @Test
+    public void testParseAndEncodeTimesAreSummarizedInMicroseconds() {
+        MetricsRegistry registry = new MetricsRegistry();
+
+        registry.serverLineParsed(2_000);
+        registry.moveEncoded(1_000);
+        registry.moveEncoded(1_000);
+
+        Assert.assertEquals(1, registry.getParseTimes().getCount());
+        Assert.assertEquals(2, registry.getEncodeTimes().getCount());
+        Assert.assertTrue(registry.getSummary().contains("parse n=1"));
+        Assert.assertTrue(registry.getSummary().contains("encode n=2"));
+    }
+
+    @Test
+    public void testResetClearsEverything() {
+        MetricsRegistry registry = new MetricsRegistry();
+
+        registry.ruleChecked();
+        registry.moveChosen("A", 1_000);
+        registry.reset();
+
+        Assert.assertEquals(0, registry.getRuleChecks());
+        Assert.assertEquals(0, registry.getMovesMade());
+        Assert.assertTrue(registry.getGameSummaries().isEmpty());
+    }
+}
@@ -0,0 +1,80 @@
+package profiling;
+
+import io.ServerToClientParser;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+public class GameEventTest {
+    @Test
+    public void testParseEventIsTaggedWithGameAndMove() throws IOException {
+        List<RecordedEvent> events = record("tigerisland.Parse", () ->
+                ServerToClientParser.parseServerInputAndComposeMessage("MAKE YOUR MOVE IN GAME A WITHIN 1.5 SECONDS: MOVE 7 PLACE LAKE+GRASS"));
+
+        Assert.assertEquals(1, events.size());
+        Assert.assertEquals("A", events.get(0).getString("gameId"));
+        Assert.assertEquals(7, events.get(0).getInt("moveNumber"));
+        Assert.assertEquals("GameCommandMessage", events.get(0).getString("messageType"));
+    }
+
+    @Test
+    public void testEventsRaisedInsideAMoveTakeItsContext() throws IOException {
+        List<RecordedEvent> events = record("tigerisland.Merge", () -> {
+            MoveContext.enter("B", 3);
+            try {
+                MergeEvent event = new MergeEvent();
+                event.begin();
+                event.settlementSize = 4;
+                event.commitForCurrentMove();
+            }
+            finally {
+                MoveContext.exit();
+            }
+        });
+
+        Assert.assertEquals(1, events.size());
+        Assert.assertEquals("B", events.get(0).getString("gameId"));
+        Assert.assertEquals(3, events.get(0).getInt("moveNumber"));
+        Assert.assertEquals(4, events.get(0).getInt("settlementSize"));
+    }
+
+    @Test
+    public void testContextIsClearedOnExit() {
+        MoveContext.enter("C", 1);
+        MoveContext.exit();
+
+        Assert.assertNull(MoveContext.getGameId());
+        Assert.assertEquals(MoveContext.NO_MOVE, MoveContext.getMoveNumber());
+    }
+
+    private List<RecordedEvent> record(String eventName, Runnable action) throws IOException {
+        Path recordingFile = Files.createTempFile("tigerisland", ".jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable(eventName).withThreshold(Duration.ZERO);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        List<RecordedEvent> events = new ArrayList<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(recordingFile)) {
+            if (event.getEventType().getName().equals(eventName)) {
+                events.add(event);
+            }
+        }
+        Files.delete(recordingFile);
+
+        return events;
+    }
+}
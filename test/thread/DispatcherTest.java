@@ -0,0 +1,85 @@
+package thread;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class DispatcherTest {
+    private BlockingQueue<String> stringsFromServerQueue;
+    private BlockingQueue<String> stringsToServerQueue;
+    private Dispatcher dispatcher;
+    private boolean disconnected;
+
+    @Before
+    public void setupDispatcher() {
+        stringsFromServerQueue = new LinkedBlockingQueue<>();
+        stringsToServerQueue = new LinkedBlockingQueue<>();
+        disconnected = false;
+
+        dispatcher = new Dispatcher(stringsFromServerQueue, stringsToServerQueue, () -> disconnected = true);
+        dispatcher.startResponseWriter();
+
+        dispatcher.dispatch("WAIT FOR THE TOURNAMENT TO BEGIN 7");
+        dispatcher.dispatch("NEW MATCH BEGINNING NOW YOUR OPPONENT IS PLAYER 8");
+    }
+
+    @Test
+    public void testCommandsForTwoGamesAreBothAnswered() throws Exception {
+        dispatcher.dispatch("MAKE YOUR MOVE IN GAME A WITHIN 0.2 SECONDS: MOVE 1 PLACE LAKE+JUNGLE");
+        dispatcher.dispatch("MAKE YOUR MOVE IN GAME B WITHIN 0.2 SECONDS: MOVE 1 PLACE ROCK+GRASS");
+
+        ArrayList<String> moves = waitForMoves(2);
+
+        Assert.assertEquals(2, dispatcher.getNumberOfGames());
+        Assert.assertTrue(moves.stream().anyMatch(move -> move.startsWith("GAME A MOVE 1 PLACE")));
+        Assert.assertTrue(moves.stream().anyMatch(move -> move.startsWith("GAME B MOVE 1 PLACE")));
+    }
+
+    @Test
+    public void testOpponentMoveIsAppliedBeforeLaterCommand() throws Exception {
+        dispatcher.dispatch("GAME A MOVE 1 PLAYER 8 PLACED LAKE+JUNGLE AT 1 -1 0 1 FOUNDED SETTLEMENT AT 0 -1 1");
+        dispatcher.dispatch("MAKE YOUR MOVE IN GAME A WITHIN 0.2 SECONDS: MOVE 2 PLACE LAKE+JUNGLE");
+
+        ArrayList<String> moves = waitForMoves(1);
+
+        Assert.assertTrue(moves.get(0).startsWith("GAME A MOVE 2 PLACE"));
+        Assert.assertFalse(moves.get(0).contains("AT 0 -1 1"));
+    }
+
+    @Test
+    public void testGameEndRemovesGame() throws Exception {
+        dispatcher.dispatch("MAKE YOUR MOVE IN GAME A WITHIN 0.2 SECONDS: MOVE 1 PLACE LAKE+JUNGLE");
+        waitForMoves(1);
+
+        dispatcher.dispatch("GAME A OVER PLAYER 7 1 PLAYER 8 0");
+
+        Assert.assertEquals(0, dispatcher.getNumberOfGames());
+    }
+
+    @Test
+    public void testDisconnectRunsDisconnectAction() {
+        dispatcher.dispatch("THANK YOU FOR PLAYING! GOODBYE");
+
+        Assert.assertTrue(disconnected);
+    }
+
+    private ArrayList<String> waitForMoves(int numberOfMoves) throws InterruptedException {
+        ArrayList<String> moves = new ArrayList<>();
+
+        while (moves.size() < numberOfMoves) {
+            String stringToServer = stringsToServerQueue.poll(5, TimeUnit.SECONDS);
+            Assert.assertNotNull(stringToServer);
+
+            if (stringToServer.startsWith("GAME")) {
+                moves.add(stringToServer);
+            }
+        }
+
+        return moves;
+    }
+}
@@ -0,0 +1,79 @@
+package thread;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import thread.message.GameOverMessage;
+import thread.message.Message;
+import thread.message.PlayerScoreMessage;
+
+import java.util.HashSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class GameRunnerTest {
+    private static final int NUMBER_OF_GAMES = 200;
+
+    private GameRunner gameRunner;
+    private BlockingQueue<Message> gameResponseQueue;
+
+    @Before
+    public void setupGameRunner() {
+        gameRunner = new GameRunner(4);
+        gameResponseQueue = new LinkedBlockingQueue<>();
+    }
+
+    @After
+    public void shutdownGameRunner() {
+        gameRunner.shutdown();
+    }
+
+    @Test
+    public void testHundredsOfGamesShareFewCarriers() throws Exception {
+        for (int i = 0; i < NUMBER_OF_GAMES; i++) {
+            GameThreadCommunication communication = startGame("game" + i);
+            communication.sendMessageToGame(new GameOverMessage("game" + i));
+        }
+
+        HashSet<String> gamesThatAnswered = new HashSet<>();
+        for (int i = 0; i < NUMBER_OF_GAMES; i++) {
+            PlayerScoreMessage response = (PlayerScoreMessage) gameResponseQueue.poll(5, TimeUnit.SECONDS);
+            gamesThatAnswered.add(response.getGameId());
+        }
+
+        Assert.assertEquals(NUMBER_OF_GAMES, gameRunner.getNumberOfGames());
+        Assert.assertEquals(NUMBER_OF_GAMES, gamesThatAnswered.size());
+    }
+
+    @Test
+    public void testEndedGameIsCancelled() throws Exception {
+        GameThreadCommunication communication = startGame("A");
+
+        gameRunner.endGame("A");
+        communication.sendMessageToGame(new GameOverMessage("A"));
+
+        Assert.assertFalse(gameRunner.isRunning("A"));
+        Assert.assertNull(gameResponseQueue.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testShutdownCancelsEveryGame() throws Exception {
+        GameThreadCommunication firstCommunication = startGame("A");
+        GameThreadCommunication secondCommunication = startGame("B");
+
+        gameRunner.shutdown();
+        firstCommunication.sendMessageToGame(new GameOverMessage("A"));
+        secondCommunication.sendMessageToGame(new GameOverMessage("B"));
+
+        Assert.assertEquals(0, gameRunner.getNumberOfGames());
+        Assert.assertNull(gameResponseQueue.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    private GameThreadCommunication startGame(String gameId) {
+        GameThreadCommunication communication = new GameThreadCommunication(new LinkedBlockingQueue<>(), gameResponseQueue);
+        gameRunner.startGame(communication, "7", "8", gameId);
+        return communication;
+    }
+}
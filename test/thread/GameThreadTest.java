@@ -1,8 +1,14 @@
 package thread;
 
+import game.Game;
+import game.search.SearchAi;
 import game.settlements.BuildAction;
 import game.tile.Location;
 import game.tile.orientation.TileOrientation;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -10,8 +16,16 @@ import game.tile.Terrain;
 import game.tile.Tile;
 import thread.message.*;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 public class GameThreadTest {
     private String gameId;
@@ -23,7 +37,9 @@ public class GameThreadTest {
     private BlockingQueue<Message> gameMessageQueue;
     private BlockingQueue<Message> gameResponseQueue;
 
+    private GameThreadCommunication communication;
     private GameThread gameThread;
+    private ExecutorService carrierPool;
 
     private GameCommandMessage message;
 
@@ -46,9 +62,10 @@ public class GameThreadTest {
         gameMessageQueue = new LinkedBlockingQueue<>();
         gameResponseQueue = new LinkedBlockingQueue<>();
 
-        GameThreadCommunication gameThreadCommunication = new GameThreadCommunication(gameMessageQueue, gameResponseQueue);
+        communication = new GameThreadCommunication(gameMessageQueue, gameResponseQueue);
 
-        gameThread = new GameThread(gameThreadCommunication, myPlayerId, opponentPlayerId, gameId);
+        gameThread = new GameThread(communication, myPlayerId, opponentPlayerId, gameId);
+        carrierPool = Executors.newSingleThreadExecutor();
 
         moveTimeInSeconds = 0.10;
 
@@ -64,13 +81,18 @@ public class GameThreadTest {
 
     }
 
+    @After
+    public void stopCarrierPool() {
+        carrierPool.shutdownNow();
+    }
+
     @Test
     public void testGameThreadObtainsMessage() throws InterruptedException{
         Assert.assertTrue(gameMessageQueue.isEmpty());
 
-        gameMessageQueue.add(gameCommandMessage);
+        communication.sendMessageToGame(gameCommandMessage);
 
-        gameThread.start();
+        gameThread.start(carrierPool);
 
         Thread.sleep(50);
 
@@ -83,13 +105,13 @@ public class GameThreadTest {
         Assert.assertTrue(gameMessageQueue.isEmpty());
         Assert.assertTrue(gameResponseQueue.isEmpty());
 
-        gameMessageQueue.add(gameCommandMessage);
+        communication.sendMessageToGame(gameCommandMessage);
 
         double moveTimeInMilliseconds = moveTimeInSeconds * GameThread.MILLISECONDS_PER_SECOND;
         double safetyMarginWithTestOverhead = GameThread.TIME_TO_TAKE_ACTION_SAFETY_BUFFER * 1.2;
         double moveTimeWithSafetyAndTestOverhead = moveTimeInMilliseconds * safetyMarginWithTestOverhead;
 
-        gameThread.start();
+        gameThread.start(carrierPool);
 
         Thread.sleep((int) Math.floor(moveTimeWithSafetyAndTestOverhead));
 
@@ -99,8 +121,8 @@ public class GameThreadTest {
 
     @Test
     public void testSameGameIdPassedIsReturned() {
-        gameThread.start();
-        gameMessageQueue.add(gameCommandMessage);
+        gameThread.start(carrierPool);
+        communication.sendMessageToGame(gameCommandMessage);
 
         Message gameResponse = waitForMessage();
 
@@ -110,8 +132,8 @@ public class GameThreadTest {
 
     @Test
     public void testSameMoveNumberPassedIsReturned() {
-        gameThread.start();
-        gameMessageQueue.add(gameCommandMessage);
+        gameThread.start(carrierPool);
+        communication.sendMessageToGame(gameCommandMessage);
 
         GameActionMessage gameResponse = (GameActionMessage) waitForMessage();
 
@@ -120,16 +142,16 @@ public class GameThreadTest {
 
     @Test
     public void testGameOverMessageReturnsPlayerScoreMessage() {
-        gameThread.start();
+        gameThread.start(carrierPool);
 
-        gameMessageQueue.add(gameCommandMessage);
-        waitForMessage();
+        communication.sendMessageToGame(gameOpponentActionMessage);
 
-        gameMessageQueue.add(gameOpponentActionMessage);
+        communication.sendMessageToGame(gameOpponentExpansionMessage);
 
-        gameMessageQueue.add(gameOpponentExpansionMessage);
+        communication.sendMessageToGame(new GameCommandMessage(gameId, moveTimeInSeconds, moveNumber + 2, tileToPlace));
+        waitForMessage();
 
-        gameMessageQueue.add(new GameOverMessage(gameId));
+        communication.sendMessageToGame(new GameOverMessage(gameId));
         PlayerScoreMessage message = (PlayerScoreMessage) waitForMessage();
 
         Assert.assertEquals("Spaghetti", message.getGameId());
@@ -141,6 +163,160 @@ public class GameThreadTest {
 
     }
 
+    @Test
+    public void testCancelledGameIgnoresMessages() throws InterruptedException {
+        gameThread.start(carrierPool);
+        gameThread.cancel();
+
+        communication.sendMessageToGame(gameCommandMessage);
+        Thread.sleep(50);
+
+        Assert.assertTrue(gameThread.isCancelled());
+        Assert.assertFalse(gameMessageQueue.isEmpty());
+        Assert.assertTrue(gameResponseQueue.isEmpty());
+    }
+
+    @Test
+    public void testFailedSearchAnswersWithAFallbackForTheCurrentMove() throws InterruptedException {
+        FailingSearchAi failingSearchAi = startGameWithFailingSearch();
+
+        communication.sendMessageToGame(gameCommandMessage);
+        Assert.assertEquals(moveNumber, ((GameActionMessage) waitForMessage()).getMoveNumber());
+
+        failingSearchAi.fallbackFailures = 1;
+        communication.sendMessageToGame(new GameCommandMessage(gameId, moveTimeInSeconds, moveNumber + 2, tileToPlace));
+
+        GameActionMessage response = (GameActionMessage) gameResponseQueue.poll(1, TimeUnit.SECONDS);
+        Assert.assertNotNull(response);
+        Assert.assertEquals(moveNumber + 2, response.getMoveNumber());
+    }
+
+    @Test
+    public void testFailedSearchNeverAnswersWithTheMoveOfAnEarlierTurn() throws InterruptedException {
+        FailingSearchAi failingSearchAi = startGameWithFailingSearch();
+
+        communication.sendMessageToGame(gameCommandMessage);
+        Assert.assertEquals(moveNumber, ((GameActionMessage) waitForMessage()).getMoveNumber());
+
+        failingSearchAi.fallbackFailures = Integer.MAX_VALUE;
+        communication.sendMessageToGame(new GameCommandMessage(gameId, moveTimeInSeconds, moveNumber + 2, tileToPlace));
+
+        Assert.assertNull(gameResponseQueue.poll(300, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testGameCancelledWhileSearchingStopsTheSearchAndSendsNothing() throws Exception {
+        SearchAi[] searchAi = new SearchAi[1];
+        gameThread = new GameThread(communication, myPlayerId, opponentPlayerId, gameId, game -> {
+            searchAi[0] = new SearchAi(game) {
+                @Override
+                public GameActionMessage createFallbackMove(String gameId, int moveNumber, String playerId, Tile tileToPlace) {
+                    GameActionMessage fallbackMove = super.createFallbackMove(gameId, moveNumber, playerId, tileToPlace);
+                    gameThread.cancel();
+                    return fallbackMove;
+                }
+            };
+            return searchAi[0];
+        });
+        gameThread.start(carrierPool);
+
+        long startTime = System.nanoTime();
+        communication.sendMessageToGame(new GameCommandMessage(gameId, 5, moveNumber, tileToPlace));
+        carrierPool.submit(() -> { }).get(5, TimeUnit.SECONDS);
+
+        Assert.assertTrue(System.nanoTime() - startTime < TimeUnit.SECONDS.toNanos(1));
+        Assert.assertEquals(0, searchAi[0].getNodesSearched());
+        Assert.assertNull(gameResponseQueue.poll(300, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testRejectedOpponentBuildIsRecordedAsNotApplied() throws Exception {
+        GameActionMessage expansionWithoutSettlement = new GameActionMessage(gameId, moveNumber, opponentPlayerId,
+                new Tile(Terrain.JUNGLE, Terrain.LAKE), new Location(1,0,0), TileOrientation.EAST_NORTHEAST,
+                BuildAction.EXPANDED_SETTLEMENT, new Location(0,1,0), Terrain.LAKE);
+        Path recordingFile = Files.createTempFile("tigerisland", ".jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable("tigerisland.OpponentAction");
+            recording.start();
+            gameThread.start(carrierPool);
+            communication.sendMessageToGame(expansionWithoutSettlement);
+            carrierPool.submit(() -> { }).get(5, TimeUnit.SECONDS);
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        List<RecordedEvent> events = new ArrayList<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(recordingFile)) {
+            if (event.getEventType().getName().equals("tigerisland.OpponentAction")) {
+                events.add(event);
+            }
+        }
+        Files.delete(recordingFile);
+
+        Assert.assertEquals(1, events.size());
+        Assert.assertFalse(events.get(0).getBoolean("applied"));
+    }
+
+    @Test
+    public void testCommandIsAnsweredInTimeWhenNoCarrierIsFree() throws Exception {
+        CountDownLatch carrierBusy = new CountDownLatch(1);
+        carrierPool.execute(() -> {
+            try {
+                carrierBusy.await();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        gameThread.start(carrierPool);
+
+        long startTime = System.nanoTime();
+        communication.sendMessageToGame(gameCommandMessage);
+
+        GameActionMessage response = (GameActionMessage) gameResponseQueue.poll(1, TimeUnit.SECONDS);
+        long responseTime = System.nanoTime() - startTime;
+        carrierBusy.countDown();
+
+        Assert.assertNotNull(response);
+        Assert.assertEquals(moveNumber, response.getMoveNumber());
+        Assert.assertTrue(responseTime < (long) (moveTimeInSeconds * TimeUnit.SECONDS.toNanos(1)));
+
+        communication.sendMessageToGame(new GameCommandMessage(gameId, moveTimeInSeconds, moveNumber + 2, tileToPlace));
+        Assert.assertEquals(moveNumber + 2, ((GameActionMessage) waitForMessage()).getMoveNumber());
+        Assert.assertNull(gameResponseQueue.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    private FailingSearchAi startGameWithFailingSearch() {
+        FailingSearchAi[] failingSearchAi = new FailingSearchAi[1];
+        gameThread = new GameThread(communication, myPlayerId, opponentPlayerId, gameId, game -> {
+            failingSearchAi[0] = new FailingSearchAi(game);
+            return failingSearchAi[0];
+        });
+        gameThread.start(carrierPool);
+
+        return failingSearchAi[0];
+    }
+
+    private static class FailingSearchAi extends SearchAi {
+        private volatile int fallbackFailures;
+
+        private FailingSearchAi(Game game) {
+            super(game);
+            this.fallbackFailures = 0;
+        }
+
+        @Override
+        public GameActionMessage createFallbackMove(String gameId, int moveNumber, String playerId, Tile tileToPlace) {
+            if (fallbackFailures > 0) {
+                fallbackFailures--;
+                throw new IllegalStateException("Fallback failed");
+            }
+
+            return super.createFallbackMove(gameId, moveNumber, playerId, tileToPlace);
+        }
+    }
+
     private Message waitForMessage() {
         Message gameResponse = null;
         while(true) {
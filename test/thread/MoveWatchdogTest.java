@@ -0,0 +1,127 @@
+package thread;
+
+import game.settlements.BuildAction;
+import game.tile.Location;
+import game.tile.Terrain;
+import game.tile.Tile;
+import game.tile.orientation.TileOrientation;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import thread.message.GameActionMessage;
+import thread.message.Message;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class MoveWatchdogTest {
+    private static final long MILLISECOND = 1_000_000;
+
+    private BlockingQueue<Message> gameResponseQueue;
+    private GameThreadCommunication communication;
+    private volatile GameActionMessage bestMoveSoFar;
+    private MoveWatchdog watchdog;
+
+    @Before
+    public void setupWatchdog() {
+        gameResponseQueue = new LinkedBlockingQueue<>();
+        communication = new GameThreadCommunication(new LinkedBlockingQueue<>(), gameResponseQueue);
+        bestMoveSoFar = null;
+        watchdog = new MoveWatchdog(communication, () -> bestMoveSoFar);
+    }
+
+    @Test
+    public void testGameAnsweringInTimeSendsItsOwnMove() throws InterruptedException {
+        GameActionMessage searchedMove = createMove(1);
+        bestMoveSoFar = createMove(1);
+
+        watchdog.arm(1, System.nanoTime(), System.nanoTime() + 20 * MILLISECOND);
+
+        Assert.assertSame(searchedMove, watchdog.answer(1, searchedMove));
+        Assert.assertSame(searchedMove, gameResponseQueue.poll(50, TimeUnit.MILLISECONDS));
+        Assert.assertNull(gameResponseQueue.poll(50, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testWatchdogSendsTheBestMoveWhenTheGameIsLate() throws InterruptedException {
+        long commandReceivedTime = System.nanoTime();
+        bestMoveSoFar = createMove(1);
+
+        watchdog.arm(1, commandReceivedTime, System.nanoTime() + 5 * MILLISECOND);
+
+        Assert.assertSame(bestMoveSoFar, gameResponseQueue.poll(1, TimeUnit.SECONDS));
+        Assert.assertEquals(commandReceivedTime, bestMoveSoFar.getCommandReceivedTime());
+
+        Assert.assertSame(bestMoveSoFar, watchdog.answer(1, createMove(1)));
+        Assert.assertTrue(gameResponseQueue.isEmpty());
+    }
+
+    @Test
+    public void testWatchdogNeverSendsAMoveForAnEarlierTurn() throws InterruptedException {
+        bestMoveSoFar = createMove(1);
+
+        watchdog.arm(2, System.nanoTime(), System.nanoTime());
+
+        Assert.assertNull(gameResponseQueue.poll(20, TimeUnit.MILLISECONDS));
+
+        bestMoveSoFar = createMove(2);
+        Assert.assertSame(bestMoveSoFar, gameResponseQueue.poll(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testCancelledWatchdogSendsNothing() throws InterruptedException {
+        bestMoveSoFar = createMove(1);
+
+        watchdog.arm(1, System.nanoTime(), System.nanoTime() + 5 * MILLISECOND);
+        watchdog.cancel();
+
+        Assert.assertNull(gameResponseQueue.poll(30, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testWatchdogAnswersWithoutACarrierWhenTheGameHasNotStartedTheMove() throws InterruptedException {
+        watchdog = new MoveWatchdog(communication, () -> bestMoveSoFar, () -> watchdog.answer(2, createMove(2)));
+        bestMoveSoFar = createMove(1);
+
+        watchdog.arm(2, System.nanoTime(), System.nanoTime());
+
+        GameActionMessage response = (GameActionMessage) gameResponseQueue.poll(1, TimeUnit.SECONDS);
+        Assert.assertNotNull(response);
+        Assert.assertEquals(2, response.getMoveNumber());
+        Assert.assertNull(gameResponseQueue.poll(20, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testEachMoveKeepsItsOwnAnswer() throws InterruptedException {
+        GameActionMessage firstMove = createMove(1);
+        GameActionMessage secondMove = createMove(3);
+
+        watchdog.arm(1, System.nanoTime(), System.nanoTime() + 1000 * MILLISECOND);
+        watchdog.arm(3, System.nanoTime(), System.nanoTime() + 1000 * MILLISECOND);
+
+        Assert.assertSame(firstMove, watchdog.answer(1, firstMove));
+        Assert.assertSame(secondMove, watchdog.answer(3, secondMove));
+        Assert.assertSame(firstMove, gameResponseQueue.poll(50, TimeUnit.MILLISECONDS));
+        Assert.assertSame(secondMove, gameResponseQueue.poll(50, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testAnsweredMoveIsNotArmedAgain() throws InterruptedException {
+        bestMoveSoFar = createMove(1);
+
+        watchdog.arm(1, System.nanoTime(), System.nanoTime() + 1000 * MILLISECOND);
+        watchdog.answer(1, bestMoveSoFar);
+        gameResponseQueue.clear();
+
+        watchdog.arm(1, System.nanoTime(), System.nanoTime());
+
+        Assert.assertFalse(watchdog.isArmed(1));
+        Assert.assertNull(gameResponseQueue.poll(30, TimeUnit.MILLISECONDS));
+    }
+
+    private GameActionMessage createMove(int moveNumber) {
+        return new GameActionMessage("game", moveNumber, "ai", new Tile(Terrain.LAKE, Terrain.GRASSLANDS),
+                new Location(1, 0, 0), TileOrientation.NORTHWEST_WEST, BuildAction.UNABLE_TO_BUILD, null, null);
+    }
+}
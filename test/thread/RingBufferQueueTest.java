@@ -0,0 +1,100 @@
+package thread;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class RingBufferQueueTest {
+    @Test
+    public void testElementsComeOutInOrder() {
+        RingBufferQueue<Integer> queue = new RingBufferQueue<>(8, WaitStrategy.BLOCK);
+
+        for (int i = 0; i < 20; i++) {
+            queue.offer(i);
+            Assert.assertEquals(Integer.valueOf(i), queue.poll());
+        }
+
+        Assert.assertNull(queue.poll());
+    }
+
+    @Test
+    public void testOfferFailsWhenFull() {
+        RingBufferQueue<Integer> queue = new RingBufferQueue<>(4, WaitStrategy.BLOCK);
+
+        for (int i = 0; i < 4; i++) {
+            Assert.assertTrue(queue.offer(i));
+        }
+
+        Assert.assertFalse(queue.offer(4));
+        Assert.assertEquals(4, queue.size());
+        Assert.assertEquals(0, queue.remainingCapacity());
+    }
+
+    @Test (expected = IllegalStateException.class)
+    public void testAddThrowsWhenFull() {
+        RingBufferQueue<Integer> queue = new RingBufferQueue<>(2, WaitStrategy.BLOCK);
+
+        queue.add(0);
+        queue.add(1);
+        queue.add(2);
+    }
+
+    @Test
+    public void testCapacityIsRoundedUpToAPowerOfTwo() {
+        Assert.assertEquals(64, new RingBufferQueue<Integer>(50, WaitStrategy.BLOCK).getCapacity());
+    }
+
+    @Test
+    public void testTimedPollGivesUpWhenNothingArrives() throws InterruptedException {
+        RingBufferQueue<Integer> queue = new RingBufferQueue<>(4, WaitStrategy.SPIN_THEN_PARK);
+
+        Assert.assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testDepthAndHandoffsAreRecorded() {
+        RingBufferQueue<Integer> queue = new RingBufferQueue<>(8, WaitStrategy.BLOCK);
+
+        queue.offer(1);
+        queue.offer(2);
+        queue.offer(3);
+        queue.poll();
+
+        Assert.assertEquals(3, queue.getHighWaterMark());
+        Assert.assertEquals(1, queue.getNumberOfHandoffs());
+        Assert.assertTrue(queue.getMaximumHandoffNanoseconds() >= queue.getAverageHandoffNanoseconds());
+    }
+
+    @Test
+    public void testHandoffBetweenThreadsWithEveryWaitStrategy() throws InterruptedException {
+        for (WaitStrategy waitStrategy : WaitStrategy.values()) {
+            assertHandsOffInOrder(waitStrategy);
+        }
+    }
+
+    private void assertHandsOffInOrder(WaitStrategy waitStrategy) throws InterruptedException {
+        RingBufferQueue<Integer> queue = new RingBufferQueue<>(16, waitStrategy);
+        int numberOfElements = 50_000;
+
+        Thread producer = new Thread(() -> {
+            try {
+                for (int i = 0; i < numberOfElements; i++) {
+                    queue.put(i);
+                }
+            }
+            catch (InterruptedException e) {
+                return;
+            }
+        });
+        producer.start();
+
+        for (int i = 0; i < numberOfElements; i++) {
+            Assert.assertEquals(Integer.valueOf(i), queue.take());
+        }
+
+        producer.join();
+        Assert.assertTrue(queue.isEmpty());
+        Assert.assertEquals(numberOfElements, queue.getNumberOfHandoffs());
+    }
+}